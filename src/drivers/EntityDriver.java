@@ -2,19 +2,29 @@ package drivers;
 
 import java.awt.Graphics;
 import java.awt.Point;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 
+import entities.Enemy;
 import entities.EnemyManager;
+import entities.EnemyStore;
 import entities.Player;
 import entities.Skeleton;
 import entities.SkeletonKing;
+import levels.CollisionMap;
 import levels.Level;
+import levels.SpawnPoint;
+import levels.TileGrid;
+import main.Camera;
 import main.Game;
 import states.Playing;
 import utils.Constants.Directions;
 import utils.Constants.EnemyConstants;
 import utils.Constants.PlayerStates;
 import utils.LoadSave;
+import utils.SpriteAtlas;
 
 /**
  * This will test all classes in the Entity package
@@ -117,20 +127,20 @@ public class EntityDriver implements DriverInterface {
 
         // load in the level data for the default level
         testPlayer.loadLvlData(LoadSave.getLevelData(LoadSave.DEFAULT_LEVEL));
-        int[][] testData = LoadSave.getLevelData(LoadSave.DEFAULT_LEVEL);
-        if (testPlayer.getLevelData().length != testData.length) {
+        TileGrid testData = LoadSave.getLevelData(LoadSave.DEFAULT_LEVEL);
+        if (testPlayer.getLevelData().getHeight() != testData.getHeight()) {
             printPlayerError("Failed to load level data correctly");
             allSuccess = false;
         }
         // make sure it loaded in correctly
-        if (testPlayer.getLevelData()[0].length != testData[0].length) {
+        if (testPlayer.getLevelData().getWidth() != testData.getWidth()) {
             printPlayerError("Failed to load level data correctly");
             allSuccess = false;
         }
         // make sure that every index is the same
-        for (int i = 0; i < testData.length && allSuccess; i++) {
-            for (int j = 0; j < testData[i].length; j++) {
-                if (testData[i][j] != testPlayer.getLevelData()[i][j]) {
+        for (int i = 0; i < testData.getHeight() && allSuccess; i++) {
+            for (int j = 0; j < testData.getWidth(); j++) {
+                if (testData.get(j, i) != testPlayer.getLevelData().get(j, i)) {
                     printPlayerError("Failed to load level data correctly");
                     allSuccess = false;
                     break;
@@ -138,9 +148,9 @@ public class EntityDriver implements DriverInterface {
             }
         }
         int counter = 0;
-        testPlayer.update(0);
+        testPlayer.update(0, 0);
         while (testPlayer.isInAir()) {
-            testPlayer.update(0);
+            testPlayer.update(0, 0);
             counter++;
             if (counter >= buffer) {
                 printPlayerError("Failed to fall");
@@ -155,7 +165,7 @@ public class EntityDriver implements DriverInterface {
         }
 
         // update 1 more time to make it into the IDLE state
-        testPlayer.update(0);
+        testPlayer.update(0, 0);
         if (testPlayer.getState() != PlayerStates.IDLE) {
             printPlayerError("Failed getting state");
             allSuccess = false;
@@ -237,7 +247,7 @@ public class EntityDriver implements DriverInterface {
         }
 
         // update 1 time to make the animation/state progress
-        testPlayer.update(0);
+        testPlayer.update(0, 0);
 
         // should be in attacking state
         if (testPlayer.getState() != PlayerStates.DRAW) {
@@ -257,7 +267,7 @@ public class EntityDriver implements DriverInterface {
 
         // kill and update so the state gets changed
         testPlayer.kill();
-        testPlayer.update(0);
+        testPlayer.update(0, 0);
         if (!testPlayer.isKilled()) {
             printPlayerError("Failed to kill Player");
             allSuccess = false;
@@ -281,28 +291,37 @@ public class EntityDriver implements DriverInterface {
         final int buffer = 500;
 
         // no Enemies have been loaded yet, test getters
-        if (testEM.getSkeletons().size() != 0 || testEM.getSkeletonKings().size() != 0) {
+        if (testEM.getEnemies(EnemyConstants.SKELETON).size() != 0
+                || testEM.getEnemies(EnemyConstants.SKELETON_KING).size() != 0) {
             printEnemyManagerError("Failed initial size test");
             allSuccess = false;
         }
         // this will update the enemyManager
         playing.nextLevel(0);
         // after loading, it should have 2 skeletons and 1 skeleton king in the first level
-        if (testEM.getSkeletons().size() != 6 || testEM.getSkeletonKings().size() != 0) {
+        if (testEM.getEnemies(EnemyConstants.SKELETON).size() != 6
+                || testEM.getEnemies(EnemyConstants.SKELETON_KING).size() != 0) {
             printEnemyManagerError("Failed initial size test after loading level");
             allSuccess = false;
         }
 
+        // every enemy should be in the store of its archetype
+        if (testEM.getEnemyCount() != 6 || testEM.getEnemyCount(EnemyConstants.SKELETON) != 6
+                || testEM.getEnemyCount(EnemyConstants.SKELETON_KING) != 0 || testEM.getEnemyCount(-1) != 0) {
+            printEnemyManagerError("Failed counting enemies by archetype");
+            allSuccess = false;
+        }
+
         // making sure the first skeleton loaded correctly
-        if (!testEM.getSkeletons().get(0).isInAir()) {
+        if (!testEM.getEnemies(EnemyConstants.SKELETON).get(0).isInAir()) {
             printEnemyManagerError("Failed initial inAir test");
             allSuccess = false;
         }
 
         int counter = 0;
         // making sure that the EM can update correctly
-        while (testEM.getSkeletons().get(0).isInAir()) {
-            testEM.update(playing.getLevelManager().getCurrentLevel().getLevelData(), playing.getPlayer());
+        while (testEM.getEnemies(EnemyConstants.SKELETON).get(0).isInAir()) {
+            testEM.update(playing.getLevelManager().getCurrentLevel().getCollisionMap(), playing.getPlayer());
             counter++;
             if (counter > buffer) {
                 printEnemyManagerError("Failed update test");
@@ -311,25 +330,154 @@ public class EntityDriver implements DriverInterface {
         }
 
         // make sure enemy updated correctly
-        if (testEM.getSkeletons().get(0).getState() != EnemyConstants.IDLE) {
+        if (testEM.getEnemies(EnemyConstants.SKELETON).get(0).getState() != EnemyConstants.IDLE) {
             printEnemyManagerError("Failed state test after update");
             allSuccess = false;
         }
-        testEM.update(playing.getLevelManager().getCurrentLevel().getLevelData(), playing.getPlayer());
+        testEM.update(playing.getLevelManager().getCurrentLevel().getCollisionMap(), playing.getPlayer());
         // make sure enemy updated correctly
-        if (testEM.getSkeletons().get(0).getState() != EnemyConstants.RUNNING) {
+        if (testEM.getEnemies(EnemyConstants.SKELETON).get(0).getState() != EnemyConstants.RUNNING) {
             printEnemyManagerError("Failed state test after 2nd update");
             allSuccess = false;
         }
+        // each enemy reads its slot in the store, and its hitbox should be rebuilt from there
+        final EnemyStore skeletonStore = testEM.getStores()[EnemyConstants.SKELETON];
+        for (int i = 0; i < skeletonStore.getCount(); i++) {
+            final Enemy e = skeletonStore.getEnemy(i);
+            if (e.getStore() != skeletonStore || e.getSlot() != i || e.getHitbox().x != skeletonStore.getX(i)
+                    || e.getHitbox().y != skeletonStore.getY(i) || e.getState() != skeletonStore.getState(i)
+                    || e.getHealth() != skeletonStore.getHealth(i)) {
+                printEnemyManagerError("Failed keeping enemies in sync with their store");
+                allSuccess = false;
+                break;
+            }
+        }
 
         // make sure that the EM can draw without errors
         BufferedImage mockImage = new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB);
         Graphics g = mockImage.getGraphics();
-        testEM.draw(g, 0);
+        SpriteAtlas.resetStats();
+        testEM.draw(g, 0, 0);
+        // every enemy should be drawn from the sprite atlas without switching pages each time
+        if (SpriteAtlas.getDrawCount() == 0 || SpriteAtlas.getPageSwitches() > SpriteAtlas.getPageCount()) {
+            printEnemyManagerError("Failed drawing from the sprite atlas");
+            allSuccess = false;
+        }
+
+        // restarting the level should reuse the same enemies, back where they started
+        final Enemy pooled = testEM.getEnemies(EnemyConstants.SKELETON).get(0);
+        pooled.hurt(EnemyConstants.getMaxHealth(EnemyConstants.SKELETON));
+        playing.restartLevel();
+        if (testEM.getEnemies(EnemyConstants.SKELETON).get(0) != pooled || pooled.isKilled() || !pooled.isActive()
+                || !pooled.isInAir() || pooled.getState() != EnemyConstants.IDLE) {
+            printEnemyManagerError("Failed reusing enemies after restart");
+            allSuccess = false;
+        }
+        // loading another level and coming back should spawn into the same stores and handles
+        final Level currentLevel = playing.getLevelManager().getCurrentLevel();
+        testEM.loadEnemies(playing.getLevelManager().getLevelAtIndex(1));
+        testEM.loadEnemies(currentLevel);
+        if (testEM.getStores()[EnemyConstants.SKELETON] != skeletonStore
+                || testEM.getEnemies(EnemyConstants.SKELETON).get(0) != pooled) {
+            printEnemyManagerError("Failed reusing enemy handles after loading another level");
+            allSuccess = false;
+        }
+
+        // enemies far from the camera should be frozen until the camera gets close to them
+        playing.restartLevel();
+        final Camera camera = new Camera();
+        camera.setLevelSize(playing.getLevelManager().getCurrentLevel().getLevelData().getWidth(),
+                playing.getLevelManager().getCurrentLevel().getLevelData().getHeight());
+        camera.snapTo(new Rectangle2D.Float(0, 0, 1, 1));
+        final Enemy farSkeleton = testEM.getEnemies(EnemyConstants.SKELETON).get(2);
+        final float farStartY = farSkeleton.getHitbox().y;
+        final float nearStartY = testEM.getEnemies(EnemyConstants.SKELETON).get(0).getHitbox().y;
+        // falling doesn't move an enemy on the 1st update since it has no speed yet
+        for (int i = 0; i < 3; i++) {
+            testEM.update(playing.getLevelManager().getCurrentLevel().getCollisionMap(), playing.getPlayer(),
+                    camera);
+        }
+        // the 3rd and 5th skeletons are more than half a screen past the right edge
+        if (testEM.getDormantEnemies() != 2 || farSkeleton.getHitbox().y != farStartY
+                || testEM.getEnemies(EnemyConstants.SKELETON).get(0).getHitbox().y == nearStartY
+                || testEM.getEnemiesLeft() != 6) {
+            printEnemyManagerError("Failed leaving far enemies dormant");
+            allSuccess = false;
+        }
+        // moving the camera to the far skeleton should wake it up and put the first one to sleep
+        camera.snapTo(farSkeleton.getHitbox());
+        for (int i = 0; i < 3; i++) {
+            testEM.update(playing.getLevelManager().getCurrentLevel().getCollisionMap(), playing.getPlayer(),
+                    camera);
+        }
+        if (farSkeleton.getHitbox().y == farStartY || testEM.getDormantEnemies() == 0) {
+            printEnemyManagerError("Failed waking an enemy when the camera got close");
+            allSuccess = false;
+        }
+        // a huge margin should keep every enemy awake
+        testEM.setActivityMargin(Integer.MAX_VALUE / 4);
+        testEM.update(playing.getLevelManager().getCurrentLevel().getCollisionMap(), playing.getPlayer(), camera);
+        if (testEM.getDormantEnemies() != 0) {
+            printEnemyManagerError("Failed keeping every enemy awake with a large margin");
+            allSuccess = false;
+        }
+        testEM.setActivityMargin(EnemyManager.DEFAULT_ACTIVITY_MARGIN);
+
+        // an arrow can reach a dormant enemy, it should still die and let the level finish
+        playing.restartLevel();
+        camera.snapTo(new Rectangle2D.Float(0, 0, 1, 1));
+        final Enemy shotSkeleton = testEM.getEnemies(EnemyConstants.SKELETON).get(2);
+        final Rectangle2D.Float shotHitbox = shotSkeleton.getHitbox();
+        for (int i = 0; i < EnemyConstants.getMaxHealth(EnemyConstants.SKELETON); i++) {
+            playing.addPlayerArrow(shotHitbox.x + 1, shotHitbox.y + shotHitbox.height / 2, 0, false);
+            testEM.update(playing.getLevelManager().getCurrentLevel().getCollisionMap(), playing.getPlayer(),
+                    camera);
+        }
+        // kill every other enemy without arrows
+        for (Enemy s : testEM.getEnemies(EnemyConstants.SKELETON)) {
+            if (s != shotSkeleton) {
+                s.hurt(EnemyConstants.getMaxHealth(EnemyConstants.SKELETON));
+            }
+        }
+        counter = 0;
+        while (!playing.isLevelComplete() && counter <= buffer) {
+            testEM.update(playing.getLevelManager().getCurrentLevel().getCollisionMap(), playing.getPlayer(),
+                    camera);
+            counter++;
+        }
+        if (!shotSkeleton.isKilled() || shotSkeleton.isActive() || !playing.isLevelComplete()) {
+            printEnemyManagerError("Failed killing a dormant enemy with arrows");
+            allSuccess = false;
+        }
+
+        // thinking in parallel should give exactly the same result as thinking on 1 thread
+        final Playing serialPlaying = new Playing(null);
+        final Playing parallelPlaying = new Playing(null);
+        serialPlaying.nextLevel(0);
+        parallelPlaying.nextLevel(0);
+        if (!isSameWhenParallel(serialPlaying, parallelPlaying,
+                serialPlaying.getLevelManager().getCurrentLevel().getCollisionMap(), buffer)) {
+            printEnemyManagerError("Failed giving the same result when thinking in parallel");
+            allSuccess = false;
+        }
+        // more than 2 batches of enemies (128 each) so the think phase is really split up
+        final Level serialCrowd = makeCrowdedLevel(50);
+        final Level parallelCrowd = makeCrowdedLevel(50);
+        serialPlaying.restartLevel();
+        parallelPlaying.restartLevel();
+        serialPlaying.getEnemyManager().loadEnemies(serialCrowd);
+        parallelPlaying.getEnemyManager().loadEnemies(parallelCrowd);
+        if (parallelPlaying.getEnemyManager().getEnemyCount() <= 256
+                || !isSameWhenParallel(serialPlaying, parallelPlaying, serialCrowd.getCollisionMap(), buffer)) {
+            printEnemyManagerError("Failed giving the same result when thinking for many enemies in parallel");
+            allSuccess = false;
+        }
 
         testEM.resetAllEnemies();
         // all enemies should be deleted/cleared
-        if (testEM.getSkeletons().size() != 0 || testEM.getSkeletonKings().size() != 0) {
+        if (testEM.getEnemies(EnemyConstants.SKELETON).size() != 0
+                || testEM.getEnemies(EnemyConstants.SKELETON_KING).size() != 0
+                || testEM.getEnemyCount() != 0 || testEM.getEnemyCount(EnemyConstants.SKELETON) != 0) {
             printEnemyManagerError("Failed reset test");
             allSuccess = false;
         }
@@ -337,6 +485,72 @@ public class EntityDriver implements DriverInterface {
         return allSuccess;
     }
 
+    /**
+     * This is a helper method that updates the enemies of 2 Playings side by side, the first
+     * on 1 thread and the second in parallel. After every update, every Enemy and the Player
+     * should be the same in both.
+     * 
+     * @param serialPlaying   - the Playing whose enemies think on 1 thread
+     * @param parallelPlaying - the Playing whose enemies think in parallel
+     * @param collisionMap    - the CollisionMap that both sets of enemies are in
+     * @param ticks           - how many updates to compare
+     * @return true if every update gave the same result, false if not
+     */
+    private boolean isSameWhenParallel(Playing serialPlaying, Playing parallelPlaying, CollisionMap collisionMap,
+            int ticks) {
+        final EnemyManager serialEM = serialPlaying.getEnemyManager();
+        final EnemyManager parallelEM = parallelPlaying.getEnemyManager();
+        serialEM.setParallelThreshold(Integer.MAX_VALUE);
+        parallelEM.setParallelThreshold(1);
+        for (int tick = 0; tick < ticks; tick++) {
+            serialEM.update(collisionMap, serialPlaying.getPlayer());
+            parallelEM.update(collisionMap, parallelPlaying.getPlayer());
+            if (serialEM.wasLastUpdateParallel() || !parallelEM.wasLastUpdateParallel()
+                    || serialEM.getEnemiesLeft() != parallelEM.getEnemiesLeft()
+                    || serialPlaying.getPlayer().getHealth() != parallelPlaying.getPlayer().getHealth()) {
+                return false;
+            }
+            // every slot of every store should hold the same enemy data
+            for (int type = 0; type < serialEM.getStores().length; type++) {
+                final EnemyStore serial = serialEM.getStores()[type];
+                final EnemyStore parallel = parallelEM.getStores()[type];
+                if (serial.getCount() != parallel.getCount()) {
+                    return false;
+                }
+                for (int i = 0; i < serial.getCount(); i++) {
+                    if (serial.getX(i) != parallel.getX(i) || serial.getY(i) != parallel.getY(i)
+                            || serial.getState(i) != parallel.getState(i)
+                            || serial.getAniIndex(i) != parallel.getAniIndex(i)
+                            || serial.getHealth(i) != parallel.getHealth(i)
+                            || serial.isActive(i) != parallel.isActive(i)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This is a helper method that makes the default Level with every Enemy spawning several
+     * times over, so there are enough enemies to split the think phase up
+     * 
+     * @param copies - how many times each Enemy spawns
+     * @return the crowded Level
+     */
+    private Level makeCrowdedLevel(int copies) {
+        return new Level(LoadSave.DEFAULT_LEVEL) {
+            @Override
+            public List<SpawnPoint> getSpawns() {
+                final List<SpawnPoint> spawns = new ArrayList<>();
+                for (int i = 0; i < copies; i++) {
+                    spawns.addAll(super.getSpawns());
+                }
+                return spawns;
+            }
+        };
+    }
+
     /**
      * This will test the all instances of Enemies and return the result the tests. Cannot
      * test Enemy itself since it is an abstract class.
@@ -354,7 +568,8 @@ public class EntityDriver implements DriverInterface {
         // create a Level to have the skeleton and player interact with.
         // it uses the Level 1 Data.
         Level testLvl = new Level(LoadSave.DEFAULT_LEVEL);
-        int[][] lvlData = testLvl.getLevelData();
+        TileGrid lvlData = testLvl.getLevelData();
+        CollisionMap collisionMap = testLvl.getCollisionMap();
 
         // create a Skeleton at a point that is above the ground so they are in air. 4 tiles on x
         // and y is in the air.
@@ -363,8 +578,15 @@ public class EntityDriver implements DriverInterface {
         final int skelKingX = skelX - Game.TILES_SIZE / 2;
         final int skelWidth = 100;
         final int skelHeight = 100;
-        Skeleton testSkel = new Skeleton(skelX, skelY, skelWidth, skelHeight);
-        SkeletonKing testSkelKing = new SkeletonKing(skelKingX, skelY, skelWidth, skelHeight);
+        // enemies are spawned straight into the store of their type
+        final EnemyStore skelStore = new EnemyStore(EnemyConstants.SKELETON, 1);
+        final EnemyStore kingStore = new EnemyStore(EnemyConstants.SKELETON_KING, 1);
+        Skeleton testSkel = (Skeleton) skelStore.spawn(skelX, skelY);
+        SkeletonKing testSkelKing = (SkeletonKing) kingStore.spawn(skelKingX, skelY);
+        if (testSkel.getStore() != skelStore || testSkel.getSlot() != 0 || skelStore.getCount() != 1) {
+            printEnemyError("Failed spawning into a store");
+            allSuccess = false;
+        }
 
         // testing hitbox coordinates
         if (testSkel.getHitbox().x != skelX || testSkel.getHitbox().y != skelY) {
@@ -445,9 +667,10 @@ public class EntityDriver implements DriverInterface {
             allSuccess = false;
         }
 
-        // initially facing left means width x is the width
+        // initially facing left means width x is the hitbox width
         // times 2.5 because that is the scale that offsets the image correctly
-        if (testSkel.xFlipped() != skelWidth * 2.5 || testSkelKing.xFlipped() != skelWidth * 2.5) {
+        if (testSkel.xFlipped() != (int) (EnemyConstants.SKELETON_HITBOX_WIDTH * 2.5)
+                || testSkelKing.xFlipped() != (int) (EnemyConstants.SKELETON_KING_HITBOX_WIDTH * 2.5)) {
             printEnemyError("Failed getting xFlipped, no updates");
             allSuccess = false;
         }
@@ -480,8 +703,8 @@ public class EntityDriver implements DriverInterface {
         testPlayer.loadLvlData(lvlData);
 
         // the first update has different behavior than the rest
-        testSkel.update(lvlData, testPlayer);
-        testSkelKing.update(lvlData, testPlayer);
+        testSkel.update(collisionMap, testPlayer);
+        testSkelKing.update(collisionMap, testPlayer);
 
         // the skeleton should be in the air after the first update
         if (!testSkel.isInAir() || !testSkelKing.isInAir()) {
@@ -498,7 +721,7 @@ public class EntityDriver implements DriverInterface {
         int counter = 0;
         // make the Skeleton drop to the floor
         while (testSkel.isInAir()) {
-            testSkel.update(lvlData, testPlayer);
+            testSkel.update(collisionMap, testPlayer);
             counter++;
             // make sure it's not an infinite loop
             if (counter >= loopBuffer) {
@@ -511,7 +734,7 @@ public class EntityDriver implements DriverInterface {
         counter = 0;
         // make the Skeleton king drop to the floor
         while (testSkelKing.isInAir()) {
-            testSkelKing.update(lvlData, testPlayer);
+            testSkelKing.update(collisionMap, testPlayer);
             counter++;
             // make sure it's not an infinite loop
             if (counter >= loopBuffer) {
@@ -534,8 +757,8 @@ public class EntityDriver implements DriverInterface {
         }
 
         // update once more after falling has been completed
-        testSkel.update(lvlData, testPlayer);
-        testSkelKing.update(lvlData, testPlayer);
+        testSkel.update(collisionMap, testPlayer);
+        testSkelKing.update(collisionMap, testPlayer);
 
         // the skeleton should not be in the air any longer
         if (testSkel.isInAir() || testSkelKing.isInAir()) {
@@ -576,13 +799,13 @@ public class EntityDriver implements DriverInterface {
         }
 
         // update 1 time to make the Player register they are in the air
-        testPlayer.update(0);
+        testPlayer.update(0, 0);
         // bring the player to the ground too
         while (testPlayer.isInAir()) {
-            testPlayer.update(0);
+            testPlayer.update(0, 0);
         }
         // update after landing
-        testPlayer.update(0);
+        testPlayer.update(0, 0);
 
         // check they are both resting on the same tile (should be the y + height, since y is the
         // top of the hitbox)
@@ -613,8 +836,8 @@ public class EntityDriver implements DriverInterface {
 
         // updating the skeleton so it sees the player, and since it is attack range, it now be in
         // the attacking state
-        testSkel.update(lvlData, testPlayer);
-        testSkelKing.update(lvlData, testPlayer);
+        testSkel.update(collisionMap, testPlayer);
+        testSkelKing.update(collisionMap, testPlayer);
         // make sure the skeleton is in attack
         if (testSkel.getState() != EnemyConstants.ATTACK) {
             printEnemyError("Is not in attack state");
@@ -667,7 +890,9 @@ public class EntityDriver implements DriverInterface {
         // once the enemy finishes attacking the Player it will go back to IDLE
         counter = 0;
         while (testSkel.getState() != EnemyConstants.IDLE) {
-            testSkel.update(lvlData, testPlayer);
+            testSkel.update(collisionMap, testPlayer);
+            // hits on the Player are applied after the update, like the EnemyManager does
+            testSkel.applyHit(testPlayer);
             counter++;
             // make sure that it is only in the attack or idle states
             if (!(testSkel.getState() == EnemyConstants.ATTACK || testSkel.getState() == EnemyConstants.IDLE)) {
@@ -691,13 +916,15 @@ public class EntityDriver implements DriverInterface {
 
         // reset the players' hurting boolean so that the second attack can register
         while (testPlayer.isHurting()) {
-            testPlayer.update(0);
+            testPlayer.update(0, 0);
         }
 
         // once the enemy finishes attacking the Player it will go back to IDLE
         counter = 0;
         while (testSkelKing.getState() != EnemyConstants.IDLE) {
-            testSkelKing.update(lvlData, testPlayer);
+            testSkelKing.update(collisionMap, testPlayer);
+            // hits on the Player are applied after the update, like the EnemyManager does
+            testSkelKing.applyHit(testPlayer);
             counter++;
             // make sure that it is only in the attack or idle states
             if (!(testSkelKing.getState() == EnemyConstants.ATTACK || testSkelKing.getState() == EnemyConstants.IDLE)) {
@@ -754,7 +981,7 @@ public class EntityDriver implements DriverInterface {
 
         counter = 0;
         while (testSkel.isActive()) {
-            testSkel.update(lvlData, testPlayer);
+            testSkel.update(collisionMap, testPlayer);
             counter++;
             // make sure that the state is always DEAD
             if (testSkel.getState() != EnemyConstants.DEAD) {
@@ -771,7 +998,7 @@ public class EntityDriver implements DriverInterface {
 
         counter = 0;
         while (testSkelKing.isActive()) {
-            testSkelKing.update(lvlData, testPlayer);
+            testSkelKing.update(collisionMap, testPlayer);
             counter++;
             // make sure that the state is always DEAD
             if (testSkelKing.getState() != EnemyConstants.DEAD) {
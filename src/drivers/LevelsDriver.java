@@ -1,10 +1,27 @@
 package drivers;
 
 import java.awt.Graphics;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
+import entities.Enemy;
+import levels.CollisionMap;
 import levels.Level;
+import levels.LevelChunkCache;
+import levels.LevelFile;
+import levels.LevelInfo;
 import levels.LevelManager;
+import levels.LevelRegistry;
+import levels.TileGrid;
+import levels.Tileset;
+import levels.TilesetCache;
+import main.Camera;
+import main.Game;
+import utils.HelperMethods;
 import utils.LoadSave;
 
 /**
@@ -25,6 +42,9 @@ public class LevelsDriver implements DriverInterface {
         if (!testLevelManager()) {
             allSuccess = false;
         }
+        if (!testLevelRegistry()) {
+            allSuccess = false;
+        }
         return allSuccess;
     }
 
@@ -44,6 +64,14 @@ public class LevelsDriver implements DriverInterface {
             printLevelError("Failed getSpriteIndex");
             allSuccess = false;
         }
+        // a column past the edge shouldn't wrap around into the next row
+        try {
+            level.getSpriteIndex(level.getLevelData().getWidth(), 0);
+            printLevelError("Failed rejecting a tile outside of the level");
+            allSuccess = false;
+        } catch (IndexOutOfBoundsException e) {
+            // this is supposed to happen
+        }
 
         // Test initial completed value - should be false initially
         if (level.getCompleted()) {
@@ -83,6 +111,22 @@ public class LevelsDriver implements DriverInterface {
             allSuccess = false;
         }
 
+        // getEnemies should make every type of enemy, grouped by type, where the typed getters do
+        final List<Enemy> enemies = level.getEnemies();
+        if (enemies.size() != level.getSpawns().size()
+                || enemies.get(0).getHitbox().x != level.getSkeletons().get(0).getHitbox().x
+                || enemies.get(0).getHitbox().y != level.getSkeletons().get(0).getHitbox().y) {
+            printLevelError("Failed getEnemies");
+            allSuccess = false;
+        }
+        for (int i = 1; i < enemies.size(); i++) {
+            if (enemies.get(i).getEnemyType() < enemies.get(i - 1).getEnemyType()) {
+                printLevelError("Failed grouping enemies by type");
+                allSuccess = false;
+                break;
+            }
+        }
+
         // create 2 new levels to test the equals method
         // same level data as the inital level
         final Level sameLevel = new Level(LoadSave.LEVEL1_DATA);
@@ -101,6 +145,158 @@ public class LevelsDriver implements DriverInterface {
             allSuccess = false;
         }
 
+        // the binary level file should have the same tiles as the RGB map
+        if (!level.getLevelData().equals(LoadSave.getLevelData(LoadSave.LEVEL1_DATA))) {
+            printLevelError("Failed binary level file matching the RGB map");
+            allSuccess = false;
+        }
+
+        // the spawns are decoded once with the tiles, so every call gives the same list
+        if (level.getSpawns() != level.getSpawns()
+                || level.getSpawns().size() != level.getSkeletons().size() + level.getSkeletonKings().size()) {
+            printLevelError("Failed cached spawn list");
+            allSuccess = false;
+        }
+
+        // compiling the RGB map, writing it, and reading it back should give the same level
+        final LevelFile compiled = LevelFile.fromImage(LoadSave.getLevelImage(LoadSave.LEVEL1_DATA));
+        try {
+            final LevelFile readBack = LevelFile.read(new ByteArrayInputStream(compiled.toBytes()));
+            if (!readBack.toTileGrid().equals(compiled.toTileGrid())
+                    || readBack.getSpawns().size() != level.getSkeletons().size() + level.getSkeletonKings().size()) {
+                printLevelError("Failed level file round trip");
+                allSuccess = false;
+            }
+        } catch (IOException e) {
+            printLevelError("Failed reading a level file: " + e.getMessage());
+            allSuccess = false;
+        }
+
+        // anything that doesn't fit in 2 bytes can't be written to a level file
+        try {
+            LevelFile.fromImage(new BufferedImage(LevelFile.MAX_UNSIGNED_SHORT + 1, 1, BufferedImage.TYPE_INT_RGB));
+            printLevelError("Failed rejecting a level that is too wide");
+            allSuccess = false;
+        } catch (IllegalArgumentException e) {
+            // this is supposed to happen
+        }
+        // every pixel of this map is a Skeleton, which is more spawns than can be counted
+        final BufferedImage crowded = new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB);
+        final int[] skeletonPixels = new int[300 * 300];
+        Arrays.fill(skeletonPixels, 50 << 8);
+        crowded.setRGB(0, 0, 300, 300, skeletonPixels, 0, 300);
+        try {
+            LevelFile.fromImage(crowded);
+            printLevelError("Failed rejecting a level with too many spawns");
+            allSuccess = false;
+        } catch (IllegalArgumentException e) {
+            // this is supposed to happen
+        }
+
+        // a file that isn't a level file should not be read
+        try {
+            LevelFile.read(new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+            printLevelError("Failed rejecting an invalid level file");
+            allSuccess = false;
+        } catch (IOException e) {
+            // this is supposed to happen
+        }
+
+        // the collision flags should follow the tile rules: 11 is air, 45 is lava, the rest are
+        // solid, and everything outside of the level is solid
+        final CollisionMap collisionMap = new CollisionMap(TileGrid.of(new int[][] { { 11, 45, 0 } }));
+        if (collisionMap.isSolid(0, 0) || !collisionMap.isSolid(1, 0) || !collisionMap.isLava(1, 0)
+                || collisionMap.isWalkableTop(1, 0) || !collisionMap.isWalkableTop(2, 0)
+                || !collisionMap.isSolid(-1, 0) || !collisionMap.isSolid(0, 1)) {
+            printLevelError("Failed collision map flags");
+            allSuccess = false;
+        }
+        // the span index should split platforms at walls and lava: row 1 has a span from 0 to 2,
+        // a wall at 3, a span at 4, lava under 5, and a span at 6. Row 0 has a span on the wall.
+        final CollisionMap spanMap = new CollisionMap(TileGrid.of(new int[][] { { 11, 11, 11, 11, 11, 11, 11 },
+                { 11, 11, 11, 0, 11, 11, 11 }, { 0, 0, 0, 0, 0, 45, 0 } }));
+        if (spanMap.getSpanCount() != 4 || !spanMap.isSameSpan(0, 2, 1) || spanMap.isSameSpan(0, 4, 1)
+                || spanMap.isSameSpan(4, 6, 1) || spanMap.getSpan(5, 1) != 0 || spanMap.getSpanStart(1, 1) != 0
+                || spanMap.getSpanEnd(1, 1) != 2 || spanMap.getSpanStart(5, 1) != -1 || spanMap.getSpan(3, 2) != 0
+                || !spanMap.isSameSpan(3, 3, 0) || spanMap.isSameSpan(-1, -1, 1)) {
+            printLevelError("Failed walkable span index");
+            allSuccess = false;
+        }
+        // the row checks should use the span index, a wall in between blocks walking and sight
+        final Rectangle2D.Float standing = new Rectangle2D.Float(Game.TILES_SIZE + 5, Game.TILES_SIZE + 10, 20, 40);
+        final Rectangle2D.Float sameSpan = new Rectangle2D.Float(Game.TILES_SIZE * 2 + 5, Game.TILES_SIZE + 10, 20,
+                40);
+        final Rectangle2D.Float pastWall = new Rectangle2D.Float(Game.TILES_SIZE * 4 + 5, Game.TILES_SIZE + 10, 20,
+                40);
+        if (!HelperMethods.isAllTilesWalkable(0, 2, 1, spanMap) || HelperMethods.isAllTilesWalkable(0, 4, 1, spanMap)
+                || !HelperMethods.isSightClear(spanMap, standing, sameSpan)
+                || HelperMethods.isSightClear(spanMap, standing, pastWall)
+                || !HelperMethods.isTileWalkable(standing, 5, spanMap)
+                || HelperMethods.isTileWalkable(sameSpan, Game.TILES_SIZE, spanMap)
+                || HelperMethods.isTileWalkable(standing, -Game.TILES_SIZE * 2, spanMap)) {
+            printLevelError("Failed checking walkable spans from hitboxes");
+            allSuccess = false;
+        }
+
+        // the tiles are stored flat, so the checked and unchecked getters should agree, and
+        // anything outside of the level is the transparent tile
+        final TileGrid tiles = level.getLevelData();
+        if (tiles.get(2, 2) != tiles.getUnchecked(2, 2) || tiles.get(-1, 0) != TileGrid.OUTSIDE_TILE
+                || tiles.get(0, tiles.getHeight()) != TileGrid.OUTSIDE_TILE) {
+            printLevelError("Failed tile grid getters");
+            allSuccess = false;
+        }
+        if (level.getCollisionMap().getWidth() != level.getLevelData().getWidth()
+                || level.getCollisionMap().getHeight() != level.getLevelData().getHeight()) {
+            printLevelError("Failed collision map size");
+            allSuccess = false;
+        }
+
+        // a tileset should only be cut up once no matter how many things use it, and it should
+        // be thrown away once nothing is using it
+        final int tilesetLoads = TilesetCache.getLoads();
+        final Tileset world2 = TilesetCache.acquire(LoadSave.WORLD2_SPRITES);
+        final Tileset world2Again = TilesetCache.acquire(LoadSave.WORLD2_SPRITES);
+        if (world2 != world2Again || TilesetCache.getLoads() != tilesetLoads + 1
+                || TilesetCache.getReferences(LoadSave.WORLD2_SPRITES) != 2 || world2.getTileCount() != 48) {
+            printLevelError("Failed sharing a tileset");
+            allSuccess = false;
+        }
+        TilesetCache.release(LoadSave.WORLD2_SPRITES);
+        TilesetCache.release(LoadSave.WORLD2_SPRITES);
+        if (TilesetCache.getReferences(LoadSave.WORLD2_SPRITES) != 0) {
+            printLevelError("Failed releasing a tileset");
+            allSuccess = false;
+        }
+        // 2 levels from the same world should draw with the same tileset
+        final LevelChunkCache firstCache = new LevelChunkCache();
+        final LevelChunkCache secondCache = new LevelChunkCache();
+        firstCache.setLevel(new Level(LoadSave.LEVEL1_DATA, LoadSave.WORLD3_SPRITES));
+        secondCache.setLevel(new Level(LoadSave.LEVEL2_DATA, LoadSave.WORLD3_SPRITES));
+        if (TilesetCache.getReferences(LoadSave.WORLD3_SPRITES) != 2) {
+            printLevelError("Failed sharing a tileset between levels");
+            allSuccess = false;
+        }
+        firstCache.evict();
+        secondCache.evict();
+        if (TilesetCache.getReferences(LoadSave.WORLD3_SPRITES) != 0) {
+            printLevelError("Failed releasing a tileset after changing levels");
+            allSuccess = false;
+        }
+
+        // a level that is taller than the screen should have open air below the screen, and
+        // only the very bottom of the level should be solid
+        final int[][] tallLevel = new int[Game.TILES_IN_HEIGHT * 3][2];
+        for (int[] row : tallLevel) {
+            Arrays.fill(row, 11);
+        }
+        final CollisionMap tallMap = new CollisionMap(TileGrid.of(tallLevel));
+        if (!HelperMethods.canMoveHere(1, Game.GAME_HEIGHT + 10, 10, 10, tallMap)
+                || HelperMethods.canMoveHere(1, tallMap.getHeight() * Game.TILES_SIZE, 10, 10, tallMap)) {
+            printLevelError("Failed collisions in a tall level");
+            allSuccess = false;
+        }
+
         return allSuccess;
     }
 
@@ -115,29 +311,28 @@ public class LevelsDriver implements DriverInterface {
         // Create a LevelManager instance
         // create it without the Game so that a game doesn't start
         LevelManager testLM = new LevelManager(null);
-        Level[] allLevels = testLM.getLevels();
 
-        // Test getting levels (should be exactly 5)
-        if (allLevels.length != 5) {
-            printLevelManagerError("Failed getting/creating levels");
+        // Test getting levels (should be exactly 5), only the first should be loaded to start
+        if (testLM.getLevelCount() != 5 || testLM.getLevelLoads() != 1) {
+            printLevelManagerError("Failed getting/creating levels, loaded " + testLM.getLevelLoads());
             allSuccess = false;
         }
 
         // Test getCurrentLevel method
-        if (!testLM.getCurrentLevel().equals(allLevels[0])) {
+        if (!testLM.getCurrentLevel().equals(new Level(LoadSave.LEVEL1_DATA))) {
             printLevelManagerError("Failed valid getCurrentLevel");
             allSuccess = false;
         }
 
         // Test setCurrentLevel method
         testLM.setCurrentLevel(1);
-        if (!testLM.getCurrentLevel().equals(allLevels[1])) {
+        if (!testLM.getCurrentLevel().equals(new Level(LoadSave.LEVEL2_DATA))) {
             printLevelManagerError("Failed setCurrentLevel, after setting");
             allSuccess = false;
         }
 
         // Test getLevelAtIndex method
-        if (!testLM.getLevelAtIndex(4).equals(allLevels[4])) {
+        if (!testLM.getLevelAtIndex(4).equals(new Level(LoadSave.LEVEL5_DATA))) {
             printLevelManagerError("Failed getLevelAtIndex");
             allSuccess = false;
         }
@@ -147,7 +342,49 @@ public class LevelsDriver implements DriverInterface {
         Graphics g = mockImage.getGraphics();
         // make sure there is not error when drawing an image
         // Assuming no xLevelOffset for simplicity
-        testLM.draw(g, 0);
+        testLM.draw(g, 0, 0);
+
+        // only the tiles on screen should be drawn, not the whole level
+        final int maxTilesOnScreen = (Game.TILES_IN_WIDTH + 1) * Game.TILES_IN_HEIGHT;
+        if (testLM.getDrawCalls() <= 0 || testLM.getDrawCalls() > maxTilesOnScreen) {
+            printLevelManagerError("Failed to cull tiles off screen, drew " + testLM.getDrawCalls());
+            allSuccess = false;
+        }
+
+        // scrolled part way through the level should still only draw the tiles on screen
+        testLM.draw(g, Game.TILES_SIZE * 10 + Game.TILES_SIZE / 2, 0);
+        if (testLM.getDrawCalls() <= 0 || testLM.getDrawCalls() > maxTilesOnScreen) {
+            printLevelManagerError("Failed to cull tiles after scrolling, drew " + testLM.getDrawCalls());
+            allSuccess = false;
+        }
+
+        // the tiles are pre-drawn into chunks, so only the chunks on screen should be drawn
+        if (testLM.getDrawCalls() > LevelChunkCache.MAX_CHUNKS_ON_SCREEN) {
+            printLevelManagerError("Failed to draw from chunks, drew " + testLM.getDrawCalls());
+            allSuccess = false;
+        }
+
+        // scrolling across a whole level with a small cache should never keep more chunks than
+        // it is allowed to, and the columns ahead of the camera should get made in the background
+        final LevelChunkCache smallCache = new LevelChunkCache(LevelChunkCache.MAX_CHUNKS_ON_SCREEN);
+        smallCache.setLevel(testLM.getLevelAtIndex(0));
+        final int levelWidth = testLM.getLevelAtIndex(0).getLevelData().getWidth() * Game.TILES_SIZE;
+        for (int x = 0; x + Game.GAME_WIDTH <= levelWidth; x += Game.TILES_SIZE) {
+            if (smallCache.draw(g, x, 0) <= 0 || smallCache.getBuiltChunks() > smallCache.getMaxResident()) {
+                printLevelManagerError("Failed to stream chunks at " + x + ", kept " + smallCache.getBuiltChunks());
+                allSuccess = false;
+                break;
+            }
+        }
+        final long prefetchDeadline = System.currentTimeMillis() + 2000;
+        while (smallCache.getPrefetchedChunks() == 0 && System.currentTimeMillis() < prefetchDeadline) {
+            Thread.onSpinWait();
+        }
+        if (smallCache.getPrefetchedChunks() == 0) {
+            printLevelManagerError("Failed to prefetch chunks");
+            allSuccess = false;
+        }
+        smallCache.evict();
 
         // Test unhideNextLevel
         testLM.unhideNextLevels();
@@ -157,6 +394,122 @@ public class LevelsDriver implements DriverInterface {
             allSuccess = false;
         }
 
+        // a small cache should never keep more levels than it is allowed to, and the progress of
+        // a level should not be lost when it is dropped from the cache
+        final LevelManager smallLM = new LevelManager(null, 2);
+        smallLM.getCurrentLevel().setCompleted(true);
+        for (int i = 0; i < smallLM.getLevelCount(); i++) {
+            smallLM.setCurrentLevel(i);
+            if (smallLM.getLoadedLevels() > 2) {
+                printLevelManagerError("Failed level cache size, kept " + smallLM.getLoadedLevels());
+                allSuccess = false;
+            }
+        }
+        if (!smallLM.isLevelCompleted(0) || smallLM.isLevelCompleted(1) || smallLM.isLevelHidden(0)
+                || !smallLM.isLevelHidden(3)) {
+            printLevelManagerError("Failed keeping level progress");
+            allSuccess = false;
+        }
+        // a bad index should act like a hidden level that isn't completed, the same as
+        // getLevelAtIndex giving null
+        if (!smallLM.isLevelHidden(-1) || !smallLM.isLevelHidden(smallLM.getLevelCount())
+                || smallLM.isLevelCompleted(-1) || smallLM.isLevelCompleted(smallLM.getLevelCount())) {
+            printLevelManagerError("Failed checking the progress of a level out of bounds");
+            allSuccess = false;
+        }
+        // coming back to a level that was dropped should load it again with its progress
+        final int loadsBefore = smallLM.getLevelLoads();
+        smallLM.setCurrentLevel(0);
+        if (smallLM.getLevelLoads() != loadsBefore + 1 || !smallLM.getCurrentLevel().getCompleted()) {
+            printLevelManagerError("Failed reloading a dropped level");
+            allSuccess = false;
+        }
+
+        // the camera should be able to scroll down a tall level, but not past the bottom of it
+        final Camera camera = new Camera();
+        camera.setLevelSize(Game.TILES_IN_WIDTH * 2, Game.TILES_IN_HEIGHT * 3);
+        final Rectangle2D.Float target = new Rectangle2D.Float(0, Game.GAME_HEIGHT * 3 - 20, 10, 10);
+        camera.snapTo(target);
+        if (camera.getYOffset() != Game.GAME_HEIGHT * 2 || camera.getXOffset() != 0) {
+            printLevelManagerError("Failed camera clamping, at " + camera.getXOffset() + ", " + camera.getYOffset());
+            allSuccess = false;
+        }
+        // moving the target to the top should move the camera up smoothly, not all at once
+        target.y = 0;
+        camera.follow(target);
+        if (camera.getYOffset() <= 0 || camera.getYOffset() >= Game.GAME_HEIGHT * 2) {
+            printLevelManagerError("Failed camera smoothing, at " + camera.getYOffset());
+            allSuccess = false;
+        }
+        // moving inside of the deadzone shouldn't move the camera at all
+        camera.snapTo(target);
+        target.y = Game.GAME_HEIGHT * 0.5f;
+        camera.follow(target);
+        if (camera.getYOffset() != 0 || !camera.isVisible(target.x, target.y, target.width, target.height)) {
+            printLevelManagerError("Failed camera deadzone, at " + camera.getYOffset());
+            allSuccess = false;
+        }
+
+        return allSuccess;
+    }
+
+    /**
+     * This tests the LevelRegistry and the level manifest
+     * 
+     * @return true if all of the tests were passed. False if at least 1 was failed.
+     */
+    private boolean testLevelRegistry() {
+        boolean allSuccess = true;
+
+        // the game's manifest should have every level in stage order
+        final LevelRegistry registry = LevelRegistry.getDefault();
+        if (registry.size() != 5 || !registry.get(0).getMapFile().equals(LoadSave.LEVEL1_DATA)
+                || !registry.get(4).getMapFile().equals(LoadSave.LEVEL5_DATA)) {
+            printLevelRegistryError("Failed reading the level manifest");
+            allSuccess = false;
+        }
+        // looking up by id and by index should give the same info
+        final LevelInfo second = registry.get(1);
+        if (second == null || registry.get(second.getId()) != second || second.getIndex() != 1) {
+            printLevelRegistryError("Failed looking up a level by id");
+            allSuccess = false;
+        }
+        if (registry.get("not a level") != null || registry.get(-1) != null || registry.get(5) != null) {
+            printLevelRegistryError("Failed looking up a level that doesn't exist");
+            allSuccess = false;
+        }
+
+        // comments, blank lines, bad lines, and repeated ids should be skipped
+        final String manifest = "# a comment\n\n" + "a, First, /a.png, /tiles.png, song, 175, 350\n"
+                + "b, Missing values, /b.png\n" + "c, Bad position, /c.png, /tiles.png, song, x, 0\n"
+                + "a, Repeated, /a2.png, /tiles.png, song, 0, 0\n" + "d, Second, /d.png, /tiles.png, song, 0, 0\n";
+        try {
+            final LevelRegistry custom = LevelRegistry.read(new ByteArrayInputStream(manifest.getBytes()));
+            final LevelInfo first = custom.get("a");
+            if (custom.size() != 2 || first == null || !first.getName().equals("First")
+                    || custom.get("d").getIndex() != 1
+                    || first.getOverworldPoint().x != (int) (175 / 1.75f * Game.SCALE)) {
+                printLevelRegistryError("Failed reading a custom manifest, read " + custom.getAll());
+                allSuccess = false;
+            }
+        } catch (IOException e) {
+            printLevelRegistryError("Failed reading a custom manifest: " + e.getMessage());
+            allSuccess = false;
+        }
+
+        // a missing manifest is empty, but the game can't start without any levels
+        if (LevelRegistry.load("/missing_levels.txt").size() != 0) {
+            printLevelRegistryError("Failed loading a missing manifest as empty");
+            allSuccess = false;
+        }
+        try {
+            LevelRegistry.loadRequired("/missing_levels.txt");
+            printLevelRegistryError("Failed rejecting a manifest with no levels");
+            allSuccess = false;
+        } catch (IllegalStateException e) {
+            // this is supposed to happen
+        }
+
         return allSuccess;
     }
 
@@ -177,4 +530,13 @@ public class LevelsDriver implements DriverInterface {
     private void printLevelManagerError(String message) {
         System.err.println("\tLEVEL MANAGER - " + message);
     }
+
+    /**
+     * This prints off a message in the format to make all level registry errors look the same
+     * 
+     * @param message - the error message to be printed
+     */
+    private void printLevelRegistryError(String message) {
+        System.err.println("\tLEVEL REGISTRY - " + message);
+    }
 }
@@ -1,77 +1,210 @@
 package drivers;
 
+import static utils.Constants.ANISPEED;
+import static utils.Constants.EnemyConstants.SKELETON;
 import static utils.Constants.ProjectileConstants.ARROW;
 import static utils.Constants.ProjectileConstants.getProjSpeed;
+import static utils.HelperMethods.raycastTiles;
 
-import projectiles.Arrow;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import entities.Enemy;
+import entities.EnemyStore;
+import levels.CollisionMap;
+import levels.TileGrid;
+import main.Game;
+import projectiles.ProjectileManager;
+import projectiles.ProjectileStore;
+import utils.SpriteAtlas;
+import utils.TileHit;
 
 /**
  * This will test all class in the projectile package
  * 
  * @author Sean-Paul Brown
- *
+ * 
  */
 public class ProjectilesDriver implements DriverInterface {
 
     @Override
     public boolean test() {
         boolean allSuccess = true;
-        if (!testArrow()) {
+        if (!testProjectileStore()) {
+            allSuccess = false;
+        }
+        if (!testProjectileManager()) {
             allSuccess = false;
         }
         return allSuccess;
     }
 
     /**
-     * This will test the methods of the Arrow class
+     * This will test the methods of the ProjectileStore class
      * 
-     * @return ture if Arrrow passed all tests, false if not
+     * @return true if ProjectileStore passed all tests, false if not
      */
-    private boolean testArrow() {
+    private boolean testProjectileStore() {
         boolean allSuccess = true;
-        // arrow is starting at 0,0 moving diagonally to the right-down at 1 pixel per update
+        final int capacity = 3;
+        ProjectileStore testStore = new ProjectileStore(capacity);
+
+        // arrow is starting at 0,0 moving diagonally to the right-down
         final int initX = 0;
         final int initY = 0;
         final int slope = 1;
-        Arrow testArrow = new Arrow(initX, initY, 1, false);
-        if (!testArrow.isActive()) {
-            allSuccess = false;
-            printArrowError("Failed initial active test");
-        }
-        if (testArrow.getAniIndex() != 0) {
+        testStore.add(initX, initY, slope, false);
+        if (testStore.getLiveCount() != 1 || testStore.isSpent(0) || testStore.getAniIndex(0) != 0) {
             allSuccess = false;
-            printArrowError("Failed inital aniIndex test");
+            printStoreError("Failed initial arrow test");
         }
-        if (testArrow.isColliding()) {
+        // the direction decides which (pre-mirrored) images the arrow is drawn with
+        testStore.add(initX, initY, slope, true);
+        if (testStore.isFacingLeft(0) || !testStore.isFacingLeft(1) || testStore.getSpeed(1) >= 0) {
             allSuccess = false;
-            printArrowError("Failed initial colliding test");
+            printStoreError("Failed facing direction test");
         }
+        // the diagonal speed should be the arrow speed no matter the slope
         final float horizSpeed = (float) Math
                 .sqrt((getProjSpeed(ARROW) * (getProjSpeed(ARROW)) / (1 + (slope * slope))));
-        if (testArrow.getSpeed() != horizSpeed) {
+        if (testStore.getSpeed(0) != horizSpeed) {
+            allSuccess = false;
+            printStoreError("Failed Calculating speed");
+        }
+        testStore.advance(0);
+        if (testStore.getX(0) != (initX + horizSpeed)) {
+            allSuccess = false;
+            printStoreError("Failed horizontal movement");
+        }
+        if (testStore.getY(0) != (initY + horizSpeed * slope)) {
+            allSuccess = false;
+            printStoreError("Failed vertical movement");
+        }
+        // the animation should go through every frame and then start over
+        for (int i = 1; i < ANISPEED * ProjectileStore.MAX_SPRITES; i++) {
+            testStore.advance(0);
+        }
+        if (testStore.getAniIndex(0) != 0 || testStore.getAniIndex(1) != 0) {
+            allSuccess = false;
+            printStoreError("Failed restarting the animation");
+        }
+        // only keep the first arrow for the capacity tests
+        testStore.remove(1);
+
+        // once the store is full, new arrows are dropped
+        testStore.add(10, 0, 0, false);
+        testStore.add(20, 0, 0, false);
+        if (testStore.add(30, 0, 0, false) || testStore.getLiveCount() != capacity
+                || testStore.getPeakCount() != capacity || testStore.getDroppedCount() != 1) {
+            allSuccess = false;
+            printStoreError("Failed capacity test");
+        }
+
+        // removing an arrow moves the last arrow into its spot
+        testStore.remove(0);
+        if (testStore.getLiveCount() != capacity - 1 || testStore.getX(0) != 20) {
+            allSuccess = false;
+            printStoreError("Failed swap remove test");
+        }
+
+        // clearing removes every arrow but keeps the peak
+        testStore.clear();
+        if (testStore.getLiveCount() != 0 || testStore.getPeakCount() != capacity) {
+            allSuccess = false;
+            printStoreError("Failed clear test");
+        }
+
+        return allSuccess;
+    }
+
+    /**
+     * This will test how the ProjectileManager finds Arrows hitting Enemies
+     * 
+     * @return true if ProjectileManager passed all tests, false if not
+     */
+    private boolean testProjectileManager() {
+        boolean allSuccess = true;
+        final int farArrows = 100;
+        ProjectileManager testPM = new ProjectileManager(null, farArrows + 1);
+        final Enemy testSkeleton = new EnemyStore(SKELETON, 1).spawn(100, 100);
+        // a level full of air tiles so the arrows don't break on anything
+        final int[][] airLevel = new int[14][125];
+        for (int[] row : airLevel) {
+            Arrays.fill(row, 11);
+        }
+
+        // arrows far away from the skeleton should never hit it
+        for (int i = 0; i < farArrows; i++) {
+            testPM.newArrow(3000 + i * 10, 300, 0, i % 2 == 0);
+        }
+        // every live arrow should be drawn from the sprite atlas
+        final Graphics g = new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB).getGraphics();
+        SpriteAtlas.resetStats();
+        testPM.draw(g, 3000, 0);
+        if (SpriteAtlas.getDrawCount() != farArrows) {
+            allSuccess = false;
+            printManagerError("Failed drawing every arrow");
+        }
+        if (testPM.checkEnemyHit(testSkeleton)) {
+            allSuccess = false;
+            printManagerError("Failed far away arrows test");
+        }
+
+        // an arrow on top of the skeleton should hit it and then break
+        testPM.newArrow(100, 110, 0, false);
+        if (!testPM.checkEnemyHit(testSkeleton) || !testSkeleton.isHurting()) {
             allSuccess = false;
-            printArrowError("Failed Calculating speed");
+            printManagerError("Failed arrow hit test");
         }
-        testArrow.update();
-        if (testArrow.getHitbox().x != (initX + horizSpeed)) {
+        testPM.update(new CollisionMap(TileGrid.of(airLevel)));
+        if (testPM.getLiveCount() != farArrows || testPM.getPeakCount() != farArrows + 1) {
             allSuccess = false;
-            printArrowError("Failed horizontal movement");
+            printManagerError("Failed removing the arrow that hit");
+        }
+
+        // a ray through a 1 tile wall should stop at the wall, no matter how long the ray is
+        final int wallColumn = 5;
+        for (int[] row : airLevel) {
+            row[wallColumn] = 0;
+        }
+        final CollisionMap wallMap = new CollisionMap(TileGrid.of(airLevel));
+        final TileHit hit = new TileHit();
+        if (!raycastTiles(10, 100, 5000, 100, wallMap, hit) || hit.getTileX() != wallColumn
+                || hit.getX() != wallColumn * Game.TILES_SIZE || hit.getY() != 100) {
+            allSuccess = false;
+            printManagerError("Failed raycast through a thin wall");
+        }
+        // an arrow flying at the wall should break instead of going through it
+        testPM.reset();
+        testPM.newArrow(wallColumn * Game.TILES_SIZE - 100, 100, 0, false);
+        for (int i = 0; i < 100; i++) {
+            testPM.update(wallMap);
         }
-        if (testArrow.getHitbox().y != (initY + horizSpeed * slope)) {
+        if (testPM.getLiveCount() != 0) {
             allSuccess = false;
-            printArrowError("Failed vertical movement");
+            printManagerError("Failed arrow hitting a wall");
         }
 
         return allSuccess;
     }
 
     /**
-     * This prints out an error format for arrow tests
+     * This prints out an error format for ProjectileManager tests
+     * 
+     * @param message - the message to be printed
+     */
+    private void printManagerError(String message) {
+        System.err.println("\tPROJECTILE MANAGER - " + message);
+    }
+
+    /**
+     * This prints out an error format for ProjectileStore tests
      * 
      * @param message - the message to be printed
      */
-    private void printArrowError(String message) {
-        System.err.println("\tARROW - " + message);
+    private void printStoreError(String message) {
+        System.err.println("\tPROJECTILE STORE - " + message);
     }
 
 }
@@ -0,0 +1,136 @@
+package drivers;
+
+import entities.EnemyStore;
+import levels.TilesetCache;
+import main.InputScript;
+import main.Simulation;
+import utils.Constants.EnemyConstants;
+import utils.LoadSave;
+
+/**
+ * This class tests running the game headless: the InputScript and Simulation classes in the
+ * main package.
+ */
+public class SimulationDriver implements DriverInterface {
+
+    /**
+     * This will test reading input scripts and running simulations with them. It will return
+     * the result of all of the tests.
+     * 
+     * @return true if all tests were passed. False, if at least 1 was failed.
+     */
+    @Override
+    public boolean test() {
+        boolean allSuccess = true;
+        if (!testInputScript()) {
+            allSuccess = false;
+        }
+        if (!testSimulation()) {
+            allSuccess = false;
+        }
+        return allSuccess;
+    }
+
+    /**
+     * This tests building and reading scripts of inputs
+     * 
+     * @return true if all tests are passed, false if not
+     */
+    private boolean testInputScript() {
+        boolean allSuccess = true;
+
+        // reading a script should hold each button for the right amount of ticks
+        final InputScript script = InputScript.parse("R*10 -*5 S900,400 J");
+        if (script.getLength() != 16 || script.getButtons(0) != InputScript.RIGHT || script.getButtons(12) != 0
+                || script.getButtons(15) != InputScript.JUMP || script.getShot(15) == null
+                || script.getShot(0) != null || script.getButtons(100) != 0) {
+            printInputScriptError("Failed reading an input script");
+            allSuccess = false;
+        }
+        try {
+            InputScript.parse("R*10 X*2");
+            printInputScriptError("Failed rejecting an unknown button");
+            allSuccess = false;
+        } catch (IllegalArgumentException e) {
+            // this is supposed to happen
+        }
+        return allSuccess;
+    }
+
+    /**
+     * This tests running the game headless with scripted inputs
+     * 
+     * @return true if all tests are passed, false if not
+     */
+    private boolean testSimulation() {
+        boolean allSuccess = true;
+
+        // a headless simulation shouldn't load the level's tiles, since nothing is drawn
+        final int tilesetReferences = TilesetCache.getReferences(LoadSave.WORLD1_SPRITES);
+        final Simulation first = new Simulation(0);
+        if (!first.getPlaying().isHeadless()
+                || TilesetCache.getReferences(LoadSave.WORLD1_SPRITES) != tilesetReferences) {
+            printSimulationError("Failed staying headless");
+            allSuccess = false;
+        }
+
+        // the same level and the same script should always end the same way
+        final InputScript run = new InputScript().hold(InputScript.RIGHT, 200)
+                .hold(InputScript.RIGHT | InputScript.JUMP, 1).hold(InputScript.RIGHT, 100).shoot(900, 400)
+                .hold(0, 100);
+        final Simulation second = new Simulation(0);
+        final float startX = first.getPlaying().getPlayer().getHitbox().x;
+        final int firstTicks = first.run(run);
+        final int secondTicks = second.run(run);
+        if (firstTicks != secondTicks || first.checksum() != second.checksum() || firstTicks == 0) {
+            printSimulationError("Failed giving the same result for the same script");
+            allSuccess = false;
+        }
+        // holding right should have moved the Player right
+        if (first.getPlaying().getPlayer().getHitbox().x <= startX) {
+            printSimulationError("Failed moving the Player with the script");
+            allSuccess = false;
+        }
+        // a different script should end somewhere else
+        final Simulation idle = new Simulation(0);
+        idle.run(new InputScript().hold(0, firstTicks));
+        if (idle.checksum() == first.checksum()) {
+            printSimulationError("Failed changing the result with a different script");
+            allSuccess = false;
+        }
+
+        // the checksum should count every archetype, not just Skeletons. Level 5 has kings.
+        final Simulation kings = new Simulation(4);
+        final EnemyStore kingStore = kings.getPlaying().getEnemyManager().getStores()[EnemyConstants.SKELETON_KING];
+        final long before = kings.checksum();
+        if (kingStore.getCount() == 0) {
+            printSimulationError("Failed loading the kings of level 5");
+            allSuccess = false;
+        } else {
+            kingStore.getEnemy(0).hurt(1);
+            if (kings.checksum() == before) {
+                printSimulationError("Failed counting Skeleton Kings in the checksum");
+                allSuccess = false;
+            }
+        }
+        return allSuccess;
+    }
+
+    /**
+     * This prints out an error format for input script tests
+     * 
+     * @param message - the message to be printed
+     */
+    private void printInputScriptError(String message) {
+        System.err.println("\tINPUT SCRIPT - " + message);
+    }
+
+    /**
+     * This prints out an error format for simulation tests
+     * 
+     * @param message - the message to be printed
+     */
+    private void printSimulationError(String message) {
+        System.err.println("\tSIMULATION - " + message);
+    }
+}
@@ -52,6 +52,15 @@ public class UnitTester {
             System.out.println("\tProjectiles passed!");
         }
 
+        // test running the game headless
+        SimulationDriver simulationDriver = new SimulationDriver();
+        if (!simulationDriver.test()) {
+            System.err.println("SIMULATION DRIVER FAILED");
+            allPassed = false;
+        } else {
+            System.out.println("\tSimulation passed!");
+        }
+
         // if every single test has passed display it
         if (allPassed) {
             System.out.println("All drivers passed successfully.");
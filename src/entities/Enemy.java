@@ -1,151 +1,68 @@
 package entities;
 
-import static utils.Constants.GRAVITY;
 import static utils.Constants.Directions.LEFT;
-import static utils.Constants.Directions.RIGHT;
-import static utils.HelperMethods.canMoveHere;
-import static utils.HelperMethods.floorCheck;
-import static utils.HelperMethods.getYPosRoof;
-import static utils.HelperMethods.isSightClear;
-import static utils.HelperMethods.isTileWalkable;
 
 import java.awt.Graphics;
+import java.awt.geom.Rectangle2D;
 
-import main.Game;
-import utils.Constants.EnemyConstants;
+import levels.CollisionMap;
 
 /**
  * This is an abstract class that provides the framework for all Enemy objects in the
  * game. Individual types of enemies should extend this class, but this should never be a
  * specific enemy. This will help all Enemies have the same behavior and make it easier to
- * create/implement the EnemyManager.
+ * create/implement the EnemyManager.<br>
+ * <br>
+ * An Enemy doesn't keep any of its own data. Everything about it (where it is, how fast it
+ * is moving, its health, its state, its animation, and its flags) is kept in 1 slot of the
+ * EnemyStore of its type, and this object is only a handle to that slot. Because of that,
+ * an Enemy isn't an Entity: it has no hitbox or fields of its own that could go stale.
+ * Enemies are made by spawning them into a store, and once the store is released the next
+ * Enemy spawned into the same slot uses the same handle.
  * 
  * @author Sean-Paul Brown
  */
-public abstract class Enemy extends Entity {
-
-    /** Keeps track of if this Enemy is currently attacking the player */
-    protected boolean attacking;
-    /** keeps track of if enemy is "alive" to the Game. */
-    protected boolean active = true;
-    /**
-     * The firstUpdate keeps track of if the enemy has been updated at all. On the first
-     * update, the enemy should check if it is in the air. After the first update, the Enemy
-     * should never re-enter the air.
-     */
-    protected boolean firstUpdate = true;
-    /**
-     * The type of Enemy it is, based on the EnemyConstants
-     */
-    protected int enemy_type;
-    /**
-     * The vertical (y-axis) tile that the Enemy is on
-     */
-    protected int tileY;
-    /**
-     * used to keep track of if a single attack has been checked for collision with the player
-     */
-    protected boolean attackChecked;
-    /**
-     * the movement speed of the enemy
-     */
-    protected final float walkSpeed;
-    /**
-     * This is the speed that the Skeleton King will move at when they are attacking
-     */
-    protected final float attackWalkSpeed;
-    /**
-     * The image offset from top side of image to top side of hitbox.
-     * 
-     * The offset is 55 when game scale is 1.75, so divide to make it work for all scales
-     */
-    protected float hitboxYOffset = (55 / 1.75f) * Game.SCALE;
-    /**
-     * This is the score that an Enemy will give to the player when they die
-     */
-    protected int score = 0;
-    /**
-     * This shows if the Enemy has been killed by the player/is currently dying
-     */
-    protected boolean killed = false;
-    /**
-     * This shows if the Enemy is in the state of being hurt.
-     */
-    protected boolean hurting = false;
-
+public abstract class Enemy {
     /**
-     * the variables that keep track of how the player sees and attacks the player
+     * The EnemyStore that holds this Enemy's data
      */
-    protected float attackDistance;
+    private final EnemyStore store;
     /**
-     * This represents how far the Enemy can see in pixels
+     * The slot of this Enemy in its EnemyStore
      */
-    protected float eyeSight;
-    /**
-     * This is what direction the Enemy is walking towards, based on the Constants.Directions
-     * values.
-     */
-    protected int walkDirection = LEFT;
+    private final int slot;
 
     /**
-     * Initializes an Enemy instance
+     * Initializes an Enemy handle, this is only done by the EnemyStore the first time a slot
+     * is used
      * 
-     * @param x          - the x-coordinate of the Enemy, will be left side of hitbox
-     * @param y          - the y-coorindate of the Enemy, will be the top side of hitboc
-     * @param width      - the width of the hitbox
-     * @param height     - the height of the hitbox
-     * @param enemy_type - the type of enemy, based of utils.Constants.EnemyConstants
+     * @param store - the EnemyStore that holds this Enemy's data
+     * @param slot  - the slot of this Enemy in the store
      */
-    public Enemy(float x, float y, int width, int height, int enemy_type) {
-        super(x, y, width, height);
-        this.enemy_type = enemy_type;
-        this.maxHealth = EnemyConstants.getMaxHealth(enemy_type);
-        this.currentHealth = maxHealth;
-        this.walkSpeed = EnemyConstants.getWalkSpeed(enemy_type);
-        this.attackWalkSpeed = EnemyConstants.getAttackWalkSpeed(enemy_type);
-
+    Enemy(EnemyStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
     }
 
     /**
-     * This will update what tick the enemy is on, and then will change the frame the enemy is
-     * on. If the end index has been reached it will restart.
+     * This puts the Enemy back the way it was when it spawned: at its spawn point, with full
+     * health, idle, and on the first frame of its animation. Nothing new is made, so the same
+     * Enemy can be used again every time the level restarts.
      */
-    protected void updateAniTick() {
-        // increment the animation tick
-        aniTick++;
-        // if the tick is equal to the speed, then it is time to change frame
-        if (aniTick >= aniSpeed) {
-            // reset the tick and add 1 to the frame
-            aniTick = 0;
-            aniIndex++;
-            // check if that is the last frame in the, reset the index and state
-            if (aniIndex >= EnemyConstants.getSpriteAmount(enemy_type, state)) {
-                aniIndex = 0;
-                // attacking = false allows us to not let the enemy attack over and over
-                // once they attack, they go back to idle
-                attacking = false;
-
-                switch (state) {
-                // only do 1 attack at a time & leave attack animation
-                case EnemyConstants.ATTACK, EnemyConstants.HIT -> startNewState(EnemyConstants.IDLE);
-                case EnemyConstants.DEAD -> active = false;
-                }
-            }
-        }
+    public void reset() {
+        store.reset(slot);
     }
 
     /**
-     * This should be used to change the enemy state, instead of assigning it. This will reset
-     * the ticks/index
+     * This will update where the Enemy is, what action they are doing, and their animation,
+     * using the behavior of its archetype. The EnemyManager doesn't use this, it updates a
+     * whole store at once.
      * 
-     * @param newState - the state to be changed too
+     * @param collisionMap - the CollisionMap of the current Level
+     * @param player       - the Player entity of the Game
      */
-    protected void startNewState(int newState) {
-        // reset the animation tick and index so it start from the beginning of the animation
-        this.state = newState;
-        aniIndex = 0;
-        aniTick = 0;
-
+    public void update(CollisionMap collisionMap, Player player) {
+        store.update(slot, collisionMap, player);
     }
 
     /**
@@ -156,24 +73,29 @@ public abstract class Enemy extends Entity {
      * @param damageTaken - the amount of damage taken by this entity
      */
     public void hurt(int damageTaken) {
-        // take the damage from the arrow
-        currentHealth -= damageTaken;
-        hurting = true;
-        startNewState(EnemyConstants.HIT);
-        // if the health is equal to (or less than) 0, the enemy is dead
-        if (currentHealth <= 0) {
-            killed = true;
-            startNewState(EnemyConstants.DEAD);
-        }
+        store.hurt(slot, damageTaken);
     }
 
     /**
-     * Getter for the active boolean
+     * This will hurt the Player if this enemy's attack connected since the last time this was
+     * called. This is kept apart from update so enemies can all be updated before anything
+     * they do is applied to the Player.
      * 
-     * @return the current value of active
+     * @param player - the Player entity
+     * @return true if the Player was hit, false if not
      */
-    public boolean isActive() {
-        return active;
+    public boolean applyHit(Player player) {
+        return store.applyHit(slot, player);
+    }
+
+    /**
+     * Check if the player is within attack range
+     * 
+     * @param player - the Player entity
+     * @return true the player is, either side
+     */
+    public boolean isInAttackRange(Player player) {
+        return store.isInAttackRange(slot, player);
     }
 
     /**
@@ -189,179 +111,121 @@ public abstract class Enemy extends Entity {
     }
 
     /**
-     * This will check if this enemy's attack box intersects with the players hitbox. If it
-     * does, the attack connected and player takes damage.
+     * Returns a copy of the hitbox of this Enemy. It is made from the position in the
+     * EnemyStore, so changing it doesn't move the Enemy.
      * 
-     * @param player - the Player entity
+     * @return - hitbox
      */
-    public void checkHit(Player player) {
-        // if the attackbox intersects with the Player's hitbox then the attack hit the player
-        if (attackbox.intersects(player.getHitbox())) {
-            player.hurt();
-        }
-        // once the attack is checked, it shouldn't be checked again
-        attackChecked = true;
+    public Rectangle2D.Float getHitbox() {
+        return new Rectangle2D.Float(getX(), getY(), getWidth(), getHeight());
     }
 
     /**
-     * Turn the sprite/walking direction
+     * Getter for the left coordinate of the hitbox
      * 
-     * @param player - the Player entity
+     * @return the x coordinate
      */
-    protected void turnTowardsPlayer(Player player) {
-        // if the player's x is less than enemy's, they must be to the left
-        if (player.getHitbox().x < hitbox.x) {
-            walkDirection = LEFT;
-        } else {
-            // if not left, than right
-            walkDirection = RIGHT;
-        }
+    public float getX() {
+        return store.getX(slot);
     }
 
     /**
-     * Check if the player is within eyesight and clear line of sight. Players must be on same
-     * tile to be seen.
+     * Getter for the top coordinate of the hitbox
      * 
-     * @param lvlData - the data from the level as a 2D int array
-     * @param player  - the main Player
-     * @return returns true if there is a clear line of sight to the player and within sight.
-     *         Returns false if there is not a line of sight or the player is dead
+     * @return the y coordinate
      */
-    protected boolean canSeePlayer(int[][] lvlData, Player player) {
-        // if the player is dead, cannot see them
-        if (player.isKilled()) {
-            return false;
-        }
-
-        // enemies cannot see different y-values
-        final int playerYTile = (int) (player.getHitbox().y / Game.TILES_SIZE);
-        // check height/y-tile
-        if (playerYTile != tileY) {
-            return false;
-        }
-        // check that the player is within their eyesight
-        if (!isPlayerInSightRange(player)) {
-            return false;
-        }
-        // check if the line of sight to the player is clear
-        if (!isSightClear(lvlData, hitbox, player.getHitbox(), tileY)) {
-            return false;
-        }
-        // same height & in eyesight & clear l.o.s.
-        // enemy can see player
-        return true;
+    public float getY() {
+        return store.getY(slot);
     }
 
     /**
-     * Check that the absolute value of the distance is within the eyeSight of the enemy.
+     * Getter for how wide the hitbox is, every Enemy of the same type is the same size
      * 
-     * @param player - the Player in the game
-     * @return true if the player is within the enemy's eyesight
+     * @return the width of the hitbox
      */
-    private boolean isPlayerInSightRange(Player player) {
-        // using absolute value since it doesn't matter which side the player is on
-        final int distance = (int) (Math.abs(player.hitbox.x - hitbox.x));
-        return distance <= eyeSight;
+    public int getWidth() {
+        return store.getArchetype().getHitboxWidth();
     }
 
     /**
-     * Check if the player is within attack range
+     * Getter for how tall the hitbox is, every Enemy of the same type is the same size
      * 
-     * @param player - the Player entity
-     * @return true the player is, either side
+     * @return the height of the hitbox
      */
-    public boolean isInAttackRange(Player player) {
-        // using absolute value means that we don't care which side player is on
-        final int distance = (int) (Math.abs(player.hitbox.x - hitbox.x));
-        return distance <= attackDistance;
+    public int getHeight() {
+        return store.getArchetype().getHitboxHeight();
     }
 
     /**
-     * Update how the enemy will behave in the air/landing
+     * Getter for the type of Enemy
      * 
-     * @param lvlData - the current Level's data as a 2D int array
+     * @return the enemy type, based on the EnemyConstants
      */
-    protected void updateInAir(int[][] lvlData) {
-        // check if can there is room underneath to walk. If there is, then fall
-        if (canMoveHere(hitbox.x, hitbox.y + airSpeed, hitbox.width, hitbox.height, lvlData)) {
-            hitbox.y += airSpeed;
-            airSpeed += GRAVITY;
-        } else {
-            // if there is nothing underneath, land on the tile exactly
-            inAir = false;
-            hitbox.y = getYPosRoof(hitbox, airSpeed, hitboxYOffset);
-            tileY = (int) (hitbox.y / Game.TILES_SIZE);
-        }
+    public int getEnemyType() {
+        return store.getEnemyType();
+    }
 
+    /**
+     * Getter for the score this Enemy gives when it is killed
+     * 
+     * @return the score of this Enemy
+     */
+    public int getScore() {
+        return store.getArchetype().getScore();
     }
 
     /**
-     * This is the first update, should only run once when it is the first update. Since
-     * enemies can't jump, it checks if they spawned in the air.
+     * Getter for the active boolean
      * 
-     * @param lvlData - the current level's environmental data as a 2D int array
+     * @return the current value of active
      */
-    protected void firstUpdateCheck(int[][] lvlData) {
-        // if this happens, the first update has happened
-        firstUpdate = false;
-        // check if the Enemy is on the floor.
-        // if it isn't, then they are in the air
-        if (!floorCheck(hitbox, lvlData))
-            inAir = true;
+    public boolean isActive() {
+        return store.isActive(slot);
     }
 
     /**
-     * This method will switch the walk direction horizontally. If they enemy is moving right,
-     * then they will turn left. If left, then turn right
+     * Getter for the state of the Enemy
+     * 
+     * @return the state, based on the EnemyConstants
      */
-    protected void switchWalkDirection() {
-        // if left currently, move right
-        if (walkDirection == LEFT) {
-            walkDirection = RIGHT;
-        } else {
-            // if they're not going left, they are now
-            walkDirection = LEFT;
-        }
+    public int getState() {
+        return store.getState(slot);
     }
 
     /**
-     * This method determines how the Enemy will move and how fast they will.
+     * Getter for the animation frame of the Enemy
      * 
-     * @param lvlData - the current Level's data as a 2D int array
+     * @return the animation index
      */
-    protected void move(int[][] lvlData) {
-        // xSpeed will store where the enemy is moving and how fast
-        float xSpeed = 0;
-        // left is a negative number, right is a positive number
-        if (walkDirection == LEFT) {
-            // moving left...
-            if (attacking) {
-                xSpeed -= attackWalkSpeed;
-            } else {
-                xSpeed -= walkSpeed;
-            }
-        } else {
-            // moving right...
-            if (attacking) {
-                xSpeed += attackWalkSpeed;
-            } else {
-                xSpeed += walkSpeed;
-            }
-        }
+    public int getAniIndex() {
+        return store.getAniIndex(slot);
+    }
 
-        // if the Enemy can move to the tile that is xSpeed away AND they can walk on that tile,
-        // move there.
-        if (canMoveHere(hitbox.x + xSpeed + 5 * widthFlipped(), hitbox.y, hitbox.width, hitbox.height, lvlData)
-                && isTileWalkable(hitbox, xSpeed + 5 * widthFlipped(), lvlData)) {
-            // moving the hitbox will move the enemy
-            hitbox.x += xSpeed;
-            // return after this so it doesn't switch direction
-            return;
-        }
+    /**
+     * Getter for how much health the Enemy has left
+     * 
+     * @return the current health
+     */
+    public int getHealth() {
+        return store.getHealth(slot);
+    }
 
-        // if the enemy can't move to the next tile OR it isn't walkable, switch their direction.
-        switchWalkDirection();
+    /**
+     * Getter for the EnemyStore that holds this Enemy
+     * 
+     * @return the store this Enemy reads and writes
+     */
+    public EnemyStore getStore() {
+        return store;
+    }
 
+    /**
+     * Getter for this Enemy's slot in its EnemyStore
+     * 
+     * @return the slot index
+     */
+    public int getSlot() {
+        return slot;
     }
 
     /**
@@ -372,14 +236,24 @@ public abstract class Enemy extends Entity {
      */
     public int xFlipped() {
         // if the enemy is walking to the left, then the draw offset should be the width
-        if (walkDirection == LEFT) {
-            return (int) (width * 2.5);
+        if (getWalkDirection() == LEFT) {
+            return getFlipOffset(getWidth());
         } else {
             // if the enemy is walking to the left, then the x to draw is the same as hitbox
             return 0;
         }
     }
 
+    /**
+     * This will return how far right an Enemy of some width is drawn when it is facing left
+     * 
+     * @param width - the width of the Enemy
+     * @return the draw offset when facing left
+     */
+    static int getFlipOffset(int width) {
+        return (int) (width * 2.5);
+    }
+
     /**
      * This method will return a scalar value to multiply the drawn width by, which depends on
      * which direction the Enemy is facing. This allows the Enemy to be drawn correctly either
@@ -390,7 +264,7 @@ public abstract class Enemy extends Entity {
     public int widthFlipped() {
         // if the enemy is walking to the left, then the flipWidth is the opposite sign so it is
         // drawn backwards
-        if (walkDirection == LEFT) {
+        if (getWalkDirection() == LEFT) {
             return -1;
         } else {
             // if the enemy is walking to the right, then the flipWidth is the normal sign
@@ -404,7 +278,7 @@ public abstract class Enemy extends Entity {
      * @return the current value of killed
      */
     public boolean isKilled() {
-        return killed;
+        return store.isKilled(slot);
     }
 
     /**
@@ -413,7 +287,7 @@ public abstract class Enemy extends Entity {
      * @return the current value of inAir
      */
     public boolean isInAir() {
-        return inAir;
+        return store.isInAir(slot);
     }
 
     /**
@@ -422,7 +296,7 @@ public abstract class Enemy extends Entity {
      * @return the current value of the walk direction, based on the Constants.Direction
      */
     public int getWalkDirection() {
-        return walkDirection;
+        return store.getWalkDirection(slot);
     }
 
     /**
@@ -431,15 +305,7 @@ public abstract class Enemy extends Entity {
      * @return the value of the walk speed
      */
     public float getWalkSpeed() {
-        return walkSpeed;
-    }
-
-    /**
-     * Make sure the attack box is in line with the hitbox/sprite
-     */
-    protected void updateAttackbox() {
-        attackbox.x = hitbox.x - hitbox.width;
-        attackbox.y = hitbox.y;
+        return store.getArchetype().getWalkSpeed();
     }
 
     /**
@@ -448,7 +314,7 @@ public abstract class Enemy extends Entity {
      * @return the current value of hurting
      */
     public boolean isHurting() {
-        return hurting;
+        return store.isHurting(slot);
     }
 
     /**
@@ -457,6 +323,6 @@ public abstract class Enemy extends Entity {
      * @return the value of the attacking walk speed
      */
     public float getAttackWalkSpeed() {
-        return attackWalkSpeed;
+        return store.getArchetype().getAttackWalkSpeed();
     }
 }
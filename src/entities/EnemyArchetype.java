@@ -0,0 +1,346 @@
+package entities;
+
+import static utils.Constants.EnemyConstants.SKELETON;
+import static utils.Constants.EnemyConstants.SKELETON_DRAW_OFFSET_X;
+import static utils.Constants.EnemyConstants.SKELETON_DRAW_OFFSET_Y;
+import static utils.Constants.EnemyConstants.SKELETON_HITBOX_HEIGHT;
+import static utils.Constants.EnemyConstants.SKELETON_HITBOX_WIDTH;
+import static utils.Constants.EnemyConstants.SKELETON_KING;
+import static utils.Constants.EnemyConstants.SKELETON_KING_DRAW_OFFSET_X;
+import static utils.Constants.EnemyConstants.SKELETON_KING_DRAW_OFFSET_Y;
+import static utils.Constants.EnemyConstants.SKELETON_KING_HITBOX_HEIGHT;
+import static utils.Constants.EnemyConstants.SKELETON_KING_HITBOX_WIDTH;
+import static utils.Constants.EnemyConstants.SKELETON_KING_WIDTH;
+import static utils.Constants.EnemyConstants.SKELETON_WIDTH;
+
+import java.util.function.BiFunction;
+
+import levels.CollisionMap;
+import levels.SpawnPoint;
+import main.Game;
+import utils.Constants.EnemyConstants;
+import utils.SpriteAtlas;
+
+/**
+ * An EnemyArchetype is everything that is the same for every Enemy of 1 type: which sprite
+ * sheets it is drawn from, how big its hitbox is, where it is drawn compared to its hitbox,
+ * how fast it walks, how far it sees, how it behaves each update, and where it spawns on a
+ * spawn point. The EnemyManager and Level only use these, so a new type of Enemy is added
+ * by writing its class and adding 1 archetype here instead of copying loops.
+ */
+public final class EnemyArchetype {
+    /**
+     * Every archetype, by its enemy type from the EnemyConstants. This is also the order that
+     * the enemies are grouped in, so each sprite sheet is only switched to once.
+     */
+    private static final EnemyArchetype[] ARCHETYPES = {
+            // Skeletons stand on top of the tile they spawn on
+            new EnemyArchetype(SKELETON, SpriteAtlas.SKELETON, SpriteAtlas.SKELETON_LEFT, SKELETON_DRAW_OFFSET_X,
+                    SKELETON_DRAW_OFFSET_Y, SKELETON_WIDTH, SKELETON_HITBOX_WIDTH, SKELETON_HITBOX_HEIGHT,
+                    -SKELETON_HITBOX_HEIGHT, Skeleton.SIGHT_RANGE, Skeleton.SCORE, Skeleton::new, Skeleton::think),
+            new EnemyArchetype(SKELETON_KING, SpriteAtlas.SKELETON_KING, SpriteAtlas.SKELETON_KING_LEFT,
+                    SKELETON_KING_DRAW_OFFSET_X, SKELETON_KING_DRAW_OFFSET_Y, SKELETON_KING_WIDTH,
+                    SKELETON_KING_HITBOX_WIDTH, SKELETON_KING_HITBOX_HEIGHT, 0, SkeletonKing.SIGHT_RANGE,
+                    SkeletonKing.SCORE, SkeletonKing::new, SkeletonKing::think) };
+
+    /**
+     * A Behavior is how every Enemy of 1 archetype updates itself. It is given the store and
+     * the slot, and only reads and writes that slot, so it can run on many slots at once.
+     */
+    interface Behavior {
+        /**
+         * This updates where 1 Enemy is, what action it is doing, and its animation
+         * 
+         * @param store        - the EnemyStore that holds the Enemy
+         * @param slot         - the slot of the Enemy in the store
+         * @param collisionMap - the CollisionMap of the current Level
+         * @param player       - the current Player, this is only read
+         */
+        void think(EnemyStore store, int slot, CollisionMap collisionMap, Player player);
+    }
+
+    /**
+     * The type of Enemy, based on the EnemyConstants
+     */
+    private final int enemyType;
+    /**
+     * The SpriteAtlas sheet used when the Enemy faces right
+     */
+    private final int sheet;
+    /**
+     * The SpriteAtlas sheet used when the Enemy faces left
+     */
+    private final int leftSheet;
+    /**
+     * How far left of the hitbox the sprite is drawn
+     */
+    private final int drawOffsetX;
+    /**
+     * How far above the hitbox the sprite is drawn
+     */
+    private final int drawOffsetY;
+    /**
+     * How wide 1 frame of the sprite is
+     */
+    private final int spriteWidth;
+    /**
+     * How wide the hitbox is
+     */
+    private final int hitboxWidth;
+    /**
+     * How tall the hitbox is
+     */
+    private final int hitboxHeight;
+    /**
+     * How far below the top of the spawn tile the hitbox starts, negative to stand on top of
+     * it
+     */
+    private final int spawnYOffset;
+    /**
+     * How much health the Enemy spawns with
+     */
+    private final int maxHealth;
+    /**
+     * How fast the Enemy walks
+     */
+    private final float walkSpeed;
+    /**
+     * How fast the Enemy walks while it is attacking
+     */
+    private final float attackWalkSpeed;
+    /**
+     * How close the Player has to be for the Enemy to attack, in pixels
+     */
+    private final float attackDistance;
+    /**
+     * How far the Enemy can see, in pixels
+     */
+    private final float eyeSight;
+    /**
+     * The score the Enemy gives to the Player when it dies
+     */
+    private final int score;
+    /**
+     * This makes the Enemy handle for a slot of a store
+     */
+    private final BiFunction<EnemyStore, Integer, Enemy> handles;
+    /**
+     * How every Enemy of this type updates itself
+     */
+    private final Behavior behavior;
+
+    /**
+     * Constructor for an EnemyArchetype, these are only made in ARCHETYPES
+     * 
+     * @param enemyType    - the type of Enemy, based on the EnemyConstants
+     * @param sheet        - the SpriteAtlas sheet used when facing right
+     * @param leftSheet    - the SpriteAtlas sheet used when facing left
+     * @param drawOffsetX  - how far left of the hitbox the sprite is drawn
+     * @param drawOffsetY  - how far above the hitbox the sprite is drawn
+     * @param spriteWidth  - how wide 1 frame of the sprite is
+     * @param hitboxWidth  - how wide the hitbox is
+     * @param hitboxHeight - how tall the hitbox is
+     * @param spawnYOffset - how far below the top of the spawn tile the hitbox starts
+     * @param sightRange   - how many attack distances away the Enemy can see
+     * @param score        - the score the Enemy gives when it dies
+     * @param handles      - makes the Enemy handle for a slot of a store
+     * @param behavior     - how every Enemy of this type updates itself
+     */
+    private EnemyArchetype(int enemyType, int sheet, int leftSheet, int drawOffsetX, int drawOffsetY,
+            int spriteWidth, int hitboxWidth, int hitboxHeight, int spawnYOffset, int sightRange, int score,
+            BiFunction<EnemyStore, Integer, Enemy> handles, Behavior behavior) {
+        this.enemyType = enemyType;
+        this.sheet = sheet;
+        this.leftSheet = leftSheet;
+        this.drawOffsetX = drawOffsetX;
+        this.drawOffsetY = drawOffsetY;
+        this.spriteWidth = spriteWidth;
+        this.hitboxWidth = hitboxWidth;
+        this.hitboxHeight = hitboxHeight;
+        this.spawnYOffset = spawnYOffset;
+        this.maxHealth = EnemyConstants.getMaxHealth(enemyType);
+        this.walkSpeed = EnemyConstants.getWalkSpeed(enemyType);
+        this.attackWalkSpeed = EnemyConstants.getAttackWalkSpeed(enemyType);
+        this.attackDistance = hitboxWidth * 1.5f;
+        this.eyeSight = attackDistance * sightRange;
+        this.score = score;
+        this.handles = handles;
+        this.behavior = behavior;
+    }
+
+    /**
+     * Getter for the archetype of an enemy type
+     * 
+     * @param enemyType - the type of Enemy, based on the EnemyConstants
+     * @return the EnemyArchetype of that type, or null if there isn't one
+     */
+    public static EnemyArchetype get(int enemyType) {
+        if (enemyType < 0 || enemyType >= ARCHETYPES.length) {
+            return null;
+        }
+        return ARCHETYPES[enemyType];
+    }
+
+    /**
+     * Getter for how many archetypes there are
+     * 
+     * @return the amount of enemy types
+     */
+    public static int count() {
+        return ARCHETYPES.length;
+    }
+
+    /**
+     * This will spawn a new Enemy of this type at a spawn point, straight into a store
+     * 
+     * @param store - the EnemyStore to spawn into, it must hold this type
+     * @param spawn - where the Enemy spawns
+     * @return the handle of the new Enemy
+     * @throws IllegalArgumentException if the store holds a different type of Enemy
+     */
+    public Enemy spawn(EnemyStore store, SpawnPoint spawn) {
+        if (store.getEnemyType() != enemyType) {
+            throw new IllegalArgumentException(
+                    "Can't spawn enemy type " + enemyType + " into a store of type " + store.getEnemyType());
+        }
+        return store.spawn(spawn.getTileX() * Game.TILES_SIZE, spawn.getTileY() * Game.TILES_SIZE + spawnYOffset);
+    }
+
+    /**
+     * This makes the Enemy handle for a slot of a store, it is only called once per slot
+     * 
+     * @param store - the EnemyStore that holds the Enemy
+     * @param slot  - the slot of the Enemy in the store
+     * @return the new handle
+     */
+    Enemy makeHandle(EnemyStore store, int slot) {
+        return handles.apply(store, slot);
+    }
+
+    /**
+     * Getter for how every Enemy of this type updates itself
+     * 
+     * @return the Behavior of this type
+     */
+    Behavior getBehavior() {
+        return behavior;
+    }
+
+    /**
+     * Getter for the type of Enemy
+     * 
+     * @return the enemy type, based on the EnemyConstants
+     */
+    public int getEnemyType() {
+        return enemyType;
+    }
+
+    /**
+     * Getter for the sprite sheet to draw an Enemy with, depending on which way it faces
+     * 
+     * @param facingLeft - if the Enemy is facing left
+     * @return the SpriteAtlas sheet to draw from
+     */
+    public int getSheet(boolean facingLeft) {
+        return facingLeft ? leftSheet : sheet;
+    }
+
+    /**
+     * Getter for how far left of the hitbox the sprite is drawn
+     * 
+     * @return the horizontal draw offset in pixels
+     */
+    public int getDrawOffsetX() {
+        return drawOffsetX;
+    }
+
+    /**
+     * Getter for how far above the hitbox the sprite is drawn
+     * 
+     * @return the vertical draw offset in pixels
+     */
+    public int getDrawOffsetY() {
+        return drawOffsetY;
+    }
+
+    /**
+     * Getter for how wide 1 frame of the sprite is
+     * 
+     * @return the sprite width in pixels
+     */
+    public int getSpriteWidth() {
+        return spriteWidth;
+    }
+
+    /**
+     * Getter for how wide the hitbox is
+     * 
+     * @return the hitbox width in pixels
+     */
+    public int getHitboxWidth() {
+        return hitboxWidth;
+    }
+
+    /**
+     * Getter for how tall the hitbox is
+     * 
+     * @return the hitbox height in pixels
+     */
+    public int getHitboxHeight() {
+        return hitboxHeight;
+    }
+
+    /**
+     * Getter for how much health the Enemy spawns with
+     * 
+     * @return the max health
+     */
+    public int getMaxHealth() {
+        return maxHealth;
+    }
+
+    /**
+     * Getter for how fast the Enemy walks
+     * 
+     * @return the walk speed
+     */
+    public float getWalkSpeed() {
+        return walkSpeed;
+    }
+
+    /**
+     * Getter for how fast the Enemy walks while it is attacking
+     * 
+     * @return the attacking walk speed
+     */
+    public float getAttackWalkSpeed() {
+        return attackWalkSpeed;
+    }
+
+    /**
+     * Getter for how close the Player has to be for the Enemy to attack
+     * 
+     * @return the attack distance in pixels
+     */
+    public float getAttackDistance() {
+        return attackDistance;
+    }
+
+    /**
+     * Getter for how far the Enemy can see
+     * 
+     * @return the eyesight in pixels
+     */
+    public float getEyeSight() {
+        return eyeSight;
+    }
+
+    /**
+     * Getter for the score the Enemy gives to the Player when it dies
+     * 
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+}
@@ -1,64 +1,96 @@
 package entities;
 
-import static utils.Constants.EnemyConstants.SKELETON_DRAW_OFFSET_X;
-import static utils.Constants.EnemyConstants.SKELETON_DRAW_OFFSET_Y;
-import static utils.Constants.EnemyConstants.SKELETON_HEIGHT;
-import static utils.Constants.EnemyConstants.SKELETON_HEIGHT_DEFAULT;
-import static utils.Constants.EnemyConstants.SKELETON_KING_DRAW_OFFSET_X;
-import static utils.Constants.EnemyConstants.SKELETON_KING_DRAW_OFFSET_Y;
-import static utils.Constants.EnemyConstants.SKELETON_KING_HEIGHT;
-import static utils.Constants.EnemyConstants.SKELETON_KING_WIDTH;
-import static utils.Constants.EnemyConstants.SKELETON_WIDTH;
-import static utils.Constants.EnemyConstants.SKELETON_WIDTH_DEFAULT;
-
 import java.awt.Graphics;
-import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+import levels.CollisionMap;
 import levels.Level;
+import levels.SpawnPoint;
+import main.Camera;
+import main.Game;
 import states.Playing;
-import utils.LoadSave;
 
 /**
  * EnemyManager will handle all enemies in each level. This means that instead of Playing
  * storing and handling every Enemy, they can be dealt with here. This includes checking
  * for updating, drawing, checking for getting hit, and more. Storing all images here will
- * be less memory intensive then every single Enemy-object storing their photos.
+ * be less memory intensive then every single Enemy-object storing their photos.<br>
+ * <br>
+ * Only enemies near the camera are updated. Any enemy further than the activity margin
+ * from the screen is dormant: it is frozen where it is until the camera comes close enough
+ * to wake it up, so the cost of each update depends on how many enemies are near the
+ * Player instead of how many are in the whole Level.<br>
+ * <br>
+ * Every Enemy is spawned straight into the EnemyStore of its EnemyArchetype, which holds
+ * all of the data of every Enemy of that type in primitive arrays. The update and draw
+ * loops go through 1 store at a time and run the archetype's behavior on each slot, so each
+ * loop only ever sees 1 type of Enemy, and a new type of Enemy doesn't need any new loops or
+ * Lists here.<br>
+ * <br>
+ * Each update has 2 phases. In the think phase every awake Enemy updates itself, which only
+ * reads the Player and the CollisionMap, so the enemies can be split into batches and run on
+ * every core once there are enough of them. In the apply phase, on the game thread and in
+ * store and slot order, hits on the Player, arrows, scoring, and completing the Level are
+ * done. Since nothing shared is changed until the apply phase, the result is the same no
+ * matter how many threads are used.
  * 
  * @author Sean-Paul Brown
  */
 public class EnemyManager {
+    /**
+     * How many pixels past the edges of the screen enemies are still updated by default. This
+     * is half of a screen so enemies are already moving before they walk into view.
+     */
+    public static final int DEFAULT_ACTIVITY_MARGIN = Game.GAME_WIDTH / 2;
+    /**
+     * How many enemies there have to be before the think phase is run in parallel by default.
+     * Below this, splitting the work up costs more than it saves.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 512;
+    /**
+     * The most enemies that 1 thread thinks for at a time in the parallel think phase
+     */
+    private static final int BATCH_SIZE = 128;
 
     /**
      * The playing class that is holding this class and managing the levels
      */
     private final Playing playing;
     /**
-     * All of the skeleton's animations. First index is the state that the enemy is in, the
-     * second is the specific frame of that state.
-     */
-    private BufferedImage[][] skeletonAnis;
-    /**
-     * All of the skeleton king's animations. First index is the state that the enemy is in,
-     * the second is the specific frame of that state.
+     * The EnemyStore of each archetype, by enemy type
      */
-    private BufferedImage[][] skelKingAnis;
+    private final EnemyStore[] stores = new EnemyStore[EnemyArchetype.count()];
     /**
-     * A list containing all of the Skeletons in a certain Level. <BR>
-     * This does not have to be an array list, any type of List would work in the program.
+     * How many enemies are loaded in every store together
      */
-    private final List<Skeleton> skeletonList = new ArrayList<>();
+    private int enemyCount = 0;
     /**
-     * A list containing all of the Skeleton Kings in a certain Level. <BR>
-     * This does not have to be an array list, any type of List would work in the program.
+     * The Level that the enemies in the stores were made from
      */
-    private final List<SkeletonKing> kingList = new ArrayList<>();
+    private Level pooledLevel;
 
     /**
      * This will keep track of how many alive and active enemies there are in the enemyManager
      */
     private int enemiesLeft = 0;
+    /**
+     * How many active enemies were too far from the camera to be updated in the last update
+     */
+    private int dormantEnemies = 0;
+    /**
+     * How many pixels past the edges of the screen enemies are still updated
+     */
+    private int activityMargin = DEFAULT_ACTIVITY_MARGIN;
+    /**
+     * How many enemies there have to be before the think phase is run in parallel
+     */
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    /**
+     * If the think phase was run in parallel in the last update
+     */
+    private boolean lastUpdateParallel = false;
 
     /**
      * This class manages every entity instance that is currently loaded into the game
@@ -67,171 +99,282 @@ public class EnemyManager {
      */
     public EnemyManager(Playing playing) {
         this.playing = playing;
-        loadImgs();
+        for (int type = 0; type < stores.length; type++) {
+            stores[type] = new EnemyStore(type, 0);
+        }
     }
 
     /**
-     * Load enemies from a specific level and add them into the appropriate lists
+     * Load enemies from a specific level by spawning them into the store of their type. The
+     * enemies are only spawned the first time a Level is loaded, loading it again (like after
+     * the Player dies) resets the same enemies in place.
      * 
      * @param level - what level to load enemies in from
      */
     public void loadEnemies(Level level) {
-        resetAllEnemies();
-        skeletonList.addAll(level.getSkeletons());
-        kingList.addAll(level.getSkeletonKings());
-    }
-
-    /**
-     * Load all images for specific enemies. It is easier to load/save here than individually
-     * by Object.
-     * 
-     * This relies on the LoadSave.getSpriteAtlas to return a BufferedImage of an atlas
-     */
-    private void loadImgs() {
-        // SKELETONS
-        skeletonAnis = new BufferedImage[6][18];
-        final BufferedImage skelImg = LoadSave.getSpriteSheet(LoadSave.SKELETON_SPRITES);
-        for (int j = 0; j < skeletonAnis.length; j++) {
-            for (int i = 0; i < skeletonAnis[j].length; i++) {
-                skeletonAnis[j][i] = skelImg.getSubimage(i * SKELETON_WIDTH_DEFAULT, j * SKELETON_HEIGHT_DEFAULT,
-                        SKELETON_WIDTH_DEFAULT, SKELETON_HEIGHT_DEFAULT);
+        // only spawn new enemies the first time a Level is loaded, restarts reuse the same ones
+        if (level != pooledLevel) {
+            for (EnemyStore store : stores) {
+                store.release();
             }
-        }
-        // SKELETON KINGS
-        skelKingAnis = new BufferedImage[6][18];
-        final BufferedImage skelKingImg = LoadSave.getSpriteSheet(LoadSave.SKELETON_KING_SPRITES);
-        for (int j = 0; j < skelKingAnis.length; j++) {
-            for (int i = 0; i < skelKingAnis[j].length; i++) {
-                skelKingAnis[j][i] = skelKingImg.getSubimage(i * SKELETON_WIDTH_DEFAULT, j * SKELETON_HEIGHT_DEFAULT,
-                        SKELETON_WIDTH_DEFAULT, SKELETON_HEIGHT_DEFAULT);
+            for (SpawnPoint spawn : level.getSpawns()) {
+                final EnemyArchetype archetype = EnemyArchetype.get(spawn.getEnemyType());
+                if (archetype != null) {
+                    archetype.spawn(stores[spawn.getEnemyType()], spawn);
+                }
             }
+            pooledLevel = level;
+        }
+        // put every enemy back at its spawn point, nothing new is made
+        enemyCount = 0;
+        for (EnemyStore store : stores) {
+            store.resetAll();
+            enemyCount += store.getCount();
         }
     }
 
     /**
-     * This will draw all of the enemies in each List, this should only be used AFTER
-     * LoadEnemies has been used to fill in all of the lists. If that hasn't been used then
-     * errors will happen.
+     * This will draw all of the enemies, this should only be used AFTER LoadEnemies has been
+     * used to fill in the array. If that hasn't been used then nothing is drawn.
      * 
      * @param g            - the Graphics where to draw
      * @param xLevelOffset - the horizontal offset from screen scrolling
+     * @param yLevelOffset - the vertical offset from screen scrolling
      */
-    public void draw(Graphics g, int xLevelOffset) {
-        // go through every enemy in the Lists
-        for (Skeleton s : skeletonList) {
-            // if the skeleton isn't active, skip it
-            if (!s.isActive()) {
-                continue;
-            }
-            // this draws the current skeleton with their state and animation at the skeleton hitbox
-            g.drawImage(skeletonAnis[s.getState()][s.getAniIndex()],
-                    (int) (s.getHitbox().x - SKELETON_DRAW_OFFSET_X - xLevelOffset + s.xFlipped()),
-                    (int) (s.getHitbox().y - SKELETON_DRAW_OFFSET_Y), (int) (SKELETON_WIDTH * s.widthFlipped()),
-                    (int) (SKELETON_HEIGHT), null);
+    public void draw(Graphics g, int xLevelOffset, int yLevelOffset) {
+        // each store draws its own type, so each sprite sheet is only switched to once
+        for (EnemyStore store : stores) {
+            store.draw(g, xLevelOffset, yLevelOffset);
         }
+    }
 
-        for (SkeletonKing sk : kingList) {
-            // if the skeleton isn't active, skip it
-            if (!sk.isActive()) {
-                continue;
-            }
-            // this draws the current skeleton with their state and animation at the skeleton hitbox
-            g.drawImage(skelKingAnis[sk.getState()][sk.getAniIndex()],
-                    (int) (sk.getHitbox().x - SKELETON_KING_DRAW_OFFSET_X - xLevelOffset + sk.xFlipped()),
-                    (int) (sk.getHitbox().y - SKELETON_KING_DRAW_OFFSET_Y),
-                    (int) (SKELETON_KING_WIDTH * sk.widthFlipped()), (int) (SKELETON_KING_HEIGHT), null);
-        }
+    /**
+     * This will update all enemies in the lists in a level, this should only be used AFTER
+     * LoadEnemies has been used to fill in all of the lists.
+     * 
+     * It loops through all enemy Lists and will call update on each individual enemy. Since
+     * there is no camera, every enemy is updated no matter where it is.
+     * 
+     * @param collisionMap - the CollisionMap of the current Level
+     * @param player       - the current Player that the user is using
+     */
+    public void update(CollisionMap collisionMap, Player player) {
+        update(collisionMap, player, null);
     }
 
     /**
      * This will update all enemies in the lists in a level, this should only be used AFTER
      * LoadEnemies has been used to fill in all of the lists.
      * 
-     * It loops through all enemy Lists and will call update on each individual enemy.
+     * It calls update on each enemy that is within the activity margin of the camera (the
+     * think phase), then goes through the enemies in order to apply what they did (the apply
+     * phase). Enemies further away are dormant and are skipped, but they still count towards
+     * the enemies left and can still be hit.
      * 
-     * @param lvlData - the current level's data, stored as a 2D int array
-     * @param player  - the current Player that the user is using
+     * @param collisionMap - the CollisionMap of the current Level
+     * @param player       - the current Player that the user is using
+     * @param camera       - the Camera showing the Level, or null to update every enemy
      */
-    public void update(int[][] lvlData, Player player) {
+    public void update(CollisionMap collisionMap, Player player, Camera camera) {
         // restart at 0
         enemiesLeft = 0;
+        dormantEnemies = 0;
         // this boolean will keep track of if every enemy has died, defaulted to true
         boolean allEnemiesKilled = true;
-        for (Skeleton s : skeletonList) {
-            // update every skeleton in the list
-            s.update(lvlData, player);
-
-            // if the skeleton isn't active, skip it
-            if (!s.isActive()) {
-                continue;
-            }
-
-            // if any skeleton is active, all enemies have not been killed.
-            // this if statement only sets the allEnemiesKilled boolean once: short circuit
-            if (allEnemiesKilled) {
-                allEnemiesKilled = false;
-            }
-            // only add non-killed enemies to the counter
-            if (!s.isKilled()) {
-                enemiesLeft++;
-            }
-
-//            Check the contact first so the enemy knows if it should die. Then check if it is dead.
-            if (playing.getProjectileManager().checkEnemyHit(s) && s.isKilled()) {
-                playing.addEnemyScore(s.score);
+        // think: every enemy close enough to the camera updates itself, only big groups of
+        // enemies are worth splitting across threads
+        lastUpdateParallel = enemyCount >= parallelThreshold;
+        for (EnemyStore store : stores) {
+            if (lastUpdateParallel) {
+                ForkJoinPool.commonPool()
+                        .invoke(new ThinkTask(store, collisionMap, player, camera, 0, store.getCount()));
+            } else {
+                store.think(collisionMap, player, camera, activityMargin, 0, store.getCount());
             }
         }
 
-        for (SkeletonKing sk : kingList) {
-            sk.update(lvlData, player);
+        // apply: everything that changes something other than the enemy, in store and slot order
+        for (EnemyStore store : stores) {
+            for (int i = 0; i < store.getCount(); i++) {
+                if (store.isAwake(i)) {
+                    store.getEnemy(i).applyHit(player);
+                } else if (store.isActive(i)) {
+                    dormantEnemies++;
+                }
 
-            if (!sk.isActive()) {
-                continue;
-            }
+                // if the enemy isn't active, skip it
+                if (!store.isActive(i)) {
+                    continue;
+                }
 
-            if (allEnemiesKilled) {
-                allEnemiesKilled = false;
-            }
-            // only add non-killed enemies to the counter
-            if (!sk.isKilled()) {
-                enemiesLeft++;
-            }
+                // if any enemy is active, all enemies have not been killed.
+                // this if statement only sets the allEnemiesKilled boolean once: short circuit
+                if (allEnemiesKilled) {
+                    allEnemiesKilled = false;
+                }
+                // only add non-killed enemies to the counter
+                if (!store.isKilled(i)) {
+                    enemiesLeft++;
+                }
 
-            if (playing.getProjectileManager().checkEnemyHit(sk) && sk.isKilled()) {
-                playing.addEnemyScore(sk.score);
+//                Check the contact first so the enemy knows if it should die. Then check if it is dead.
+                final Enemy e = store.getEnemy(i);
+                if (playing.getProjectileManager().checkEnemyHit(e) && e.isKilled()) {
+                    playing.addEnemyScore(e.getScore());
+                }
             }
         }
 
         // if every enemy is dead/inactive, the level is complete
-        if (allEnemiesKilled && !skeletonList.isEmpty()) {
+        if (allEnemiesKilled && enemyCount > 0) {
             playing.completeLevel();
         }
     }
 
     /**
-     * This will reset all of the enemies stored in this manager
+     * This splits the think phase of 1 EnemyStore in half until each part is no bigger than
+     * BATCH_SIZE, so the ForkJoinPool can spread the parts across every core.
+     */
+    private class ThinkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        /**
+         * The EnemyStore whose enemies are updated
+         */
+        private final transient EnemyStore store;
+        /**
+         * The CollisionMap of the current Level
+         */
+        private final transient CollisionMap collisionMap;
+        /**
+         * The current Player, this is only read
+         */
+        private final transient Player player;
+        /**
+         * The Camera showing the Level, or null to update every enemy
+         */
+        private final transient Camera camera;
+        /**
+         * The first slot to update
+         */
+        private final int from;
+        /**
+         * The slot after the last one to update
+         */
+        private final int to;
+
+        /**
+         * Constructor for a ThinkTask
+         * 
+         * @param store        - the EnemyStore whose enemies are updated
+         * @param collisionMap - the CollisionMap of the current Level
+         * @param player       - the current Player, this is only read
+         * @param camera       - the Camera showing the Level, or null to update every enemy
+         * @param from         - the first slot to update
+         * @param to           - the slot after the last one to update
+         */
+        private ThinkTask(EnemyStore store, CollisionMap collisionMap, Player player, Camera camera, int from,
+                int to) {
+            this.store = store;
+            this.collisionMap = collisionMap;
+            this.player = player;
+            this.camera = camera;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                store.think(collisionMap, player, camera, activityMargin, from, to);
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new ThinkTask(store, collisionMap, player, camera, from, middle),
+                    new ThinkTask(store, collisionMap, player, camera, middle, to));
+        }
+    }
+
+    /**
+     * This will reset all of the enemies stored in this manager. The pooled enemies are kept
+     * so they can be reused if the same Level is loaded again.
      */
     public void resetAllEnemies() {
-        skeletonList.clear();
-        kingList.clear();
+        enemyCount = 0;
+        for (EnemyStore store : stores) {
+            store.clear();
+        }
+    }
+
+    /**
+     * Getter for how many enemies there have to be before the think phase is run in parallel
+     * 
+     * @return the parallel threshold
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Setter for how many enemies there have to be before the think phase is run in parallel
+     * 
+     * @param parallelThreshold - the new parallel threshold
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Getter for if the think phase was run in parallel in the last update
+     * 
+     * @return true if the last update used the ForkJoinPool, false if it was single-threaded
+     */
+    public boolean wasLastUpdateParallel() {
+        return lastUpdateParallel;
+    }
+
+    /**
+     * Getter for how many enemies are loaded
+     * 
+     * @return the amount of enemies of every type in the current Level
+     */
+    public int getEnemyCount() {
+        return enemyCount;
+    }
+
+    /**
+     * Getter for how many enemies of 1 type are loaded
+     * 
+     * @param enemyType - the type of Enemy, based on the EnemyConstants
+     * @return the amount of loaded enemies of that type
+     */
+    public int getEnemyCount(int enemyType) {
+        if (enemyType < 0 || enemyType >= stores.length) {
+            return 0;
+        }
+        return stores[enemyType].getCount();
     }
 
     /**
-     * Getter for the List of Skeletons
+     * Getter for every loaded Enemy of 1 type
      * 
-     * @return the List containing all Skeletons that were loaded in
+     * @param enemyType - the type of Enemy, based on the EnemyConstants
+     * @return a List of the loaded enemies of that type, empty if there is no such type
      */
-    public List<Skeleton> getSkeletons() {
-        return skeletonList;
+    public List<Enemy> getEnemies(int enemyType) {
+        if (enemyType < 0 || enemyType >= stores.length) {
+            return List.of();
+        }
+        return stores[enemyType].getEnemies();
     }
 
     /**
-     * Getter for the List of Skeleton Kings
+     * Getter for the EnemyStore of every archetype, by enemy type. The array is the one used
+     * by this manager, so it shouldn't be changed.
      * 
-     * @return the List containing all Skeleton Kings that were loaded in
+     * @return the EnemyStores
      */
-    public List<SkeletonKing> getSkeletonKings() {
-        return kingList;
+    public EnemyStore[] getStores() {
+        return stores;
     }
 
     /**
@@ -242,4 +385,32 @@ public class EnemyManager {
     public int getEnemiesLeft() {
         return enemiesLeft;
     }
+
+    /**
+     * Getter for how many active enemies were too far from the camera to be updated
+     * 
+     * @return the amount of dormant enemies in the last update
+     */
+    public int getDormantEnemies() {
+        return dormantEnemies;
+    }
+
+    /**
+     * Getter for how far past the screen enemies are still updated
+     * 
+     * @return the activity margin in pixels
+     */
+    public int getActivityMargin() {
+        return activityMargin;
+    }
+
+    /**
+     * Setter for how far past the screen enemies are still updated. A bigger margin keeps
+     * more enemies moving off screen, a smaller margin makes each update cheaper.
+     * 
+     * @param activityMargin - the new activity margin in pixels, this can't be negative
+     */
+    public void setActivityMargin(int activityMargin) {
+        this.activityMargin = Math.max(0, activityMargin);
+    }
 }
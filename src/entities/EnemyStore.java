@@ -0,0 +1,843 @@
+package entities;
+
+import static utils.Constants.ANISPEED;
+import static utils.Constants.GRAVITY;
+import static utils.Constants.Directions.LEFT;
+import static utils.Constants.Directions.RIGHT;
+import static utils.Constants.EnemyConstants.ATTACK;
+import static utils.Constants.EnemyConstants.DEAD;
+import static utils.Constants.EnemyConstants.HIT;
+import static utils.Constants.EnemyConstants.IDLE;
+import static utils.Constants.EnemyConstants.getSpriteAmount;
+import static utils.HelperMethods.canMoveHere;
+import static utils.HelperMethods.floorCheck;
+import static utils.HelperMethods.getYPosRoof;
+import static utils.HelperMethods.isSightClear;
+import static utils.HelperMethods.isTileWalkable;
+
+import java.awt.Graphics;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import levels.CollisionMap;
+import main.Camera;
+import main.Game;
+import utils.SpriteAtlas;
+
+/**
+ * An EnemyStore holds every Enemy of 1 archetype as columns of primitive arrays: where it
+ * is and where it spawned, how fast it is moving, its health, its state, its animation, and
+ * every flag its behavior uses. This is the only place that an Enemy's data is kept. An
+ * Enemy object is just a handle to 1 index (slot) in a store, and its hitbox is the
+ * archetype's hitbox size at the slot's position.<br>
+ * <br>
+ * The think loop goes straight through the arrays and runs the archetype's behavior on each
+ * awake slot, so every Enemy in the loop is the same type and nothing is looked up per
+ * Enemy. Enemies are spawned straight into a store, and the handles are kept when the store
+ * is released so the next enemies spawned into the same slots reuse them.
+ */
+public final class EnemyStore {
+    /**
+     * How many slots a store grows to the first time an Enemy is spawned
+     */
+    private static final int MIN_CAPACITY = 8;
+    /**
+     * The image offset from top side of image to top side of hitbox, used when an Enemy lands.
+     * 
+     * The offset is 55 when game scale is 1.75, so divide to make it work for all scales
+     */
+    private static final float HITBOX_Y_OFFSET = (55 / 1.75f) * Game.SCALE;
+    /**
+     * How far past the front of the hitbox an Enemy checks that it can walk
+     */
+    private static final int WALK_LOOKAHEAD = 5;
+
+    /**
+     * The type of every Enemy in this store, based on the EnemyConstants
+     */
+    private final int enemyType;
+    /**
+     * The archetype of every Enemy in this store
+     */
+    private final EnemyArchetype archetype;
+    /**
+     * The Enemy handle for each slot, these are kept and reused when the store is released
+     */
+    private Enemy[] enemies;
+    /**
+     * The left coordinate of each Enemy's hitbox
+     */
+    private float[] x;
+    /**
+     * The top coordinate of each Enemy's hitbox
+     */
+    private float[] y;
+    /**
+     * The left coordinate of where each Enemy's hitbox starts, used when the level restarts
+     */
+    private float[] spawnX;
+    /**
+     * The top coordinate of where each Enemy's hitbox starts, used when the level restarts
+     */
+    private float[] spawnY;
+    /**
+     * How far each Enemy walked in its last update, negative if it walked left
+     */
+    private float[] xSpeed;
+    /**
+     * How fast each Enemy is falling
+     */
+    private float[] airSpeed;
+    /**
+     * How much health each Enemy has left
+     */
+    private int[] health;
+    /**
+     * The state of each Enemy, based on the EnemyConstants
+     */
+    private int[] state;
+    /**
+     * The animation frame of each Enemy
+     */
+    private int[] aniIndex;
+    /**
+     * How many updates have passed since each Enemy's last frame change
+     */
+    private int[] aniTick;
+    /**
+     * Which way each Enemy is walking, based on the Constants.Directions
+     */
+    private int[] walkDirection;
+    /**
+     * The vertical (y-axis) tile that each Enemy landed on
+     */
+    private int[] tileY;
+    /**
+     * If each Enemy is still in the Level
+     */
+    private boolean[] active;
+    /**
+     * If each Enemy has been killed and is dying
+     */
+    private boolean[] killed;
+    /**
+     * If each Enemy is being hurt
+     */
+    private boolean[] hurting;
+    /**
+     * If each Enemy was close enough to the camera to think in the last update. Each think
+     * task only writes its own slots, so this is safe to fill in parallel.
+     */
+    private boolean[] awake;
+    /**
+     * If each Enemy is falling and gravity should be impacting it
+     */
+    private boolean[] inAir;
+    /**
+     * If each Enemy hasn't been updated yet. On the first update, the Enemy checks if it is in
+     * the air. After that, it never re-enters the air.
+     */
+    private boolean[] firstUpdate;
+    /**
+     * If each Enemy is attacking, which makes it walk at its attacking walk speed
+     */
+    private boolean[] attacking;
+    /**
+     * If the current attack of each Enemy has already been checked for hitting the Player
+     */
+    private boolean[] attackChecked;
+    /**
+     * If the attack of each Enemy connected with the Player during an update. The Player
+     * isn't hurt until applyHit is called, so thinking never changes the Player.
+     */
+    private boolean[] playerHit;
+    /**
+     * How many slots have an Enemy in them
+     */
+    private int pooled = 0;
+    /**
+     * How many of the pooled enemies are loaded, they are in slots 0 to count - 1
+     */
+    private int count = 0;
+
+    /**
+     * Constructor for an EnemyStore
+     * 
+     * @param enemyType - the type of every Enemy in this store, based on the EnemyConstants
+     * @param capacity  - how many slots to make room for at the start
+     * @throws IllegalArgumentException if the type doesn't have an EnemyArchetype
+     */
+    public EnemyStore(int enemyType, int capacity) {
+        this.enemyType = enemyType;
+        this.archetype = EnemyArchetype.get(enemyType);
+        if (archetype == null) {
+            throw new IllegalArgumentException("There is no archetype for enemy type " + enemyType);
+        }
+        this.enemies = new Enemy[capacity];
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.spawnX = new float[capacity];
+        this.spawnY = new float[capacity];
+        this.xSpeed = new float[capacity];
+        this.airSpeed = new float[capacity];
+        this.health = new int[capacity];
+        this.state = new int[capacity];
+        this.aniIndex = new int[capacity];
+        this.aniTick = new int[capacity];
+        this.walkDirection = new int[capacity];
+        this.tileY = new int[capacity];
+        this.active = new boolean[capacity];
+        this.killed = new boolean[capacity];
+        this.hurting = new boolean[capacity];
+        this.awake = new boolean[capacity];
+        this.inAir = new boolean[capacity];
+        this.firstUpdate = new boolean[capacity];
+        this.attacking = new boolean[capacity];
+        this.attackChecked = new boolean[capacity];
+        this.playerHit = new boolean[capacity];
+    }
+
+    /**
+     * This spawns a new Enemy into the next slot of this store. It starts the way every Enemy
+     * does: at its spawn point with full health, idle, facing left, and in the air until its
+     * first update. The slot's handle is only made the first time the slot is used.
+     * 
+     * @param spawnX - the left coordinate of where the Enemy's hitbox starts
+     * @param spawnY - the top coordinate of where the Enemy's hitbox starts
+     * @return the handle of the new Enemy
+     */
+    public Enemy spawn(float spawnX, float spawnY) {
+        if (pooled >= enemies.length) {
+            grow(Math.max(MIN_CAPACITY, enemies.length * 2));
+        }
+        final int i = pooled++;
+        this.spawnX[i] = spawnX;
+        this.spawnY[i] = spawnY;
+        if (enemies[i] == null) {
+            enemies[i] = archetype.makeHandle(this, i);
+        }
+        reset(i);
+        count = pooled;
+        return enemies[i];
+    }
+
+    /**
+     * This is a helper method that makes every array bigger, keeping what is in them
+     * 
+     * @param capacity - the new amount of slots
+     */
+    private void grow(int capacity) {
+        enemies = Arrays.copyOf(enemies, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        spawnX = Arrays.copyOf(spawnX, capacity);
+        spawnY = Arrays.copyOf(spawnY, capacity);
+        xSpeed = Arrays.copyOf(xSpeed, capacity);
+        airSpeed = Arrays.copyOf(airSpeed, capacity);
+        health = Arrays.copyOf(health, capacity);
+        state = Arrays.copyOf(state, capacity);
+        aniIndex = Arrays.copyOf(aniIndex, capacity);
+        aniTick = Arrays.copyOf(aniTick, capacity);
+        walkDirection = Arrays.copyOf(walkDirection, capacity);
+        tileY = Arrays.copyOf(tileY, capacity);
+        active = Arrays.copyOf(active, capacity);
+        killed = Arrays.copyOf(killed, capacity);
+        hurting = Arrays.copyOf(hurting, capacity);
+        awake = Arrays.copyOf(awake, capacity);
+        inAir = Arrays.copyOf(inAir, capacity);
+        firstUpdate = Arrays.copyOf(firstUpdate, capacity);
+        attacking = Arrays.copyOf(attacking, capacity);
+        attackChecked = Arrays.copyOf(attackChecked, capacity);
+        playerHit = Arrays.copyOf(playerHit, capacity);
+    }
+
+    /**
+     * This puts every pooled Enemy back the way it was when it spawned and loads all of them
+     */
+    void resetAll() {
+        count = pooled;
+        for (int i = 0; i < count; i++) {
+            reset(i);
+        }
+    }
+
+    /**
+     * This unloads every Enemy, but keeps them in their slots so resetAll can load the same
+     * enemies again
+     */
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * This empties the store so a different Level's enemies can be spawned into it. Nothing
+     * is freed: the arrays and the handles are kept, and the next Enemy spawned into a slot
+     * uses that slot's old handle, so any handle still held from before now points at it.
+     */
+    void release() {
+        pooled = 0;
+        count = 0;
+    }
+
+    /**
+     * This puts a slot back to how it is when its Enemy spawns: at its spawn point, full
+     * health, idle, facing left, not moving, and in the air until its first update.
+     * 
+     * @param i - the slot to reset
+     */
+    void reset(int i) {
+        x[i] = spawnX[i];
+        y[i] = spawnY[i];
+        xSpeed[i] = 0f;
+        airSpeed[i] = 0f;
+        health[i] = archetype.getMaxHealth();
+        walkDirection[i] = LEFT;
+        tileY[i] = 0;
+        active[i] = true;
+        killed[i] = false;
+        hurting[i] = false;
+        awake[i] = false;
+        // the first update will check if the enemy is in the air again
+        inAir[i] = true;
+        firstUpdate[i] = true;
+        attacking[i] = false;
+        attackChecked[i] = false;
+        playerHit[i] = false;
+        startState(i, IDLE);
+    }
+
+    /**
+     * This is the think phase for some of the slots. Each Enemy close enough to the camera
+     * runs the archetype's behavior, which only changes its own slot, so different parts can
+     * be done on different threads at once. An Enemy that was hit or killed is always awake,
+     * since arrows can reach it while it is far away and it has to finish being hurt or dying
+     * to be hit again or leave the Level.
+     * 
+     * @param collisionMap - the CollisionMap of the current Level
+     * @param player       - the current Player, this is only read
+     * @param camera       - the Camera showing the Level, or null to update every enemy
+     * @param margin       - how many pixels past the edges of the screen are still awake
+     * @param from         - the first slot to update
+     * @param to           - the slot after the last one to update
+     */
+    void think(CollisionMap collisionMap, Player player, Camera camera, int margin, int from, int to) {
+        // every enemy in the store is the same type, so these are only looked up once
+        final float width = archetype.getHitboxWidth();
+        final float height = archetype.getHitboxHeight();
+        final EnemyArchetype.Behavior behavior = archetype.getBehavior();
+        for (int i = from; i < to; i++) {
+            awake[i] = camera == null || hurting[i] || killed[i]
+                    || camera.isNear(x[i], y[i], width, height, margin);
+            if (awake[i]) {
+                behavior.think(this, i, collisionMap, player);
+            }
+        }
+    }
+
+    /**
+     * This runs the archetype's behavior on 1 slot, no matter where the camera is
+     * 
+     * @param i            - the slot to update
+     * @param collisionMap - the CollisionMap of the current Level
+     * @param player       - the current Player, this is only read
+     */
+    void update(int i, CollisionMap collisionMap, Player player) {
+        archetype.getBehavior().think(this, i, collisionMap, player);
+    }
+
+    /**
+     * This will draw every loaded Enemy that is still active. The sprite sheets and offsets
+     * are the same for the whole store, so they are only looked up once.
+     * 
+     * @param g            - the Graphics where to draw
+     * @param xLevelOffset - the horizontal offset from screen scrolling
+     * @param yLevelOffset - the vertical offset from screen scrolling
+     */
+    public void draw(Graphics g, int xLevelOffset, int yLevelOffset) {
+        final int sheet = archetype.getSheet(false);
+        final int leftSheet = archetype.getSheet(true);
+        final int drawOffsetX = archetype.getDrawOffsetX();
+        final int drawOffsetY = archetype.getDrawOffsetY();
+        final int spriteWidth = archetype.getSpriteWidth();
+        final int flipOffset = Enemy.getFlipOffset(archetype.getHitboxWidth());
+        for (int i = 0; i < count; i++) {
+            // if the enemy isn't active, skip it
+            if (!active[i]) {
+                continue;
+            }
+            final boolean facingLeft = walkDirection[i] == LEFT;
+            // this draws the current enemy with their state and animation at their hitbox
+            int drawX = (int) (x[i] - drawOffsetX - xLevelOffset + (facingLeft ? flipOffset : 0));
+            // the mirrored frames start one sprite width to the left of the flipped x
+            if (facingLeft) {
+                drawX -= spriteWidth;
+            }
+            SpriteAtlas.draw(g, facingLeft ? leftSheet : sheet, state[i], aniIndex[i], drawX,
+                    (int) (y[i] - drawOffsetY) - yLevelOffset);
+        }
+    }
+
+    /*
+     * Behavior: these are used by each archetype's behavior to update 1 slot. They only change
+     * that slot and only read the Player, so they are safe to run in parallel.
+     */
+
+    /**
+     * This updates the animation tick of a slot and moves to the next frame when it is time.
+     * Once the last frame finishes, an attack or hit goes back to idle, and a dead Enemy
+     * leaves the Level.
+     * 
+     * @param i - the slot to update
+     */
+    void updateAniTick(int i) {
+        aniTick[i]++;
+        if (aniTick[i] < ANISPEED) {
+            return;
+        }
+        aniTick[i] = 0;
+        aniIndex[i]++;
+        if (aniIndex[i] < getSpriteAmount(enemyType, state[i])) {
+            return;
+        }
+        aniIndex[i] = 0;
+        // attacking = false allows us to not let the enemy attack over and over
+        // once they attack, they go back to idle
+        attacking[i] = false;
+        switch (state[i]) {
+        // only do 1 attack at a time & leave attack animation
+        case ATTACK, HIT -> startState(i, IDLE);
+        case DEAD -> active[i] = false;
+        }
+    }
+
+    /**
+     * This changes the state of a slot and starts its animation from the beginning
+     * 
+     * @param i        - the slot to change
+     * @param newState - the new state, based on the EnemyConstants
+     */
+    void startState(int i, int newState) {
+        state[i] = newState;
+        aniIndex[i] = 0;
+        aniTick[i] = 0;
+    }
+
+    /**
+     * This is the first update of a slot. Since enemies can't jump, it checks if they spawned
+     * in the air.
+     * 
+     * @param i            - the slot to update
+     * @param collisionMap - the CollisionMap of the current Level
+     */
+    void firstUpdateCheck(int i, CollisionMap collisionMap) {
+        firstUpdate[i] = false;
+        // if the Enemy isn't on the floor, then they are in the air
+        if (!floorCheck(x[i], y[i], archetype.getHitboxWidth(), archetype.getHitboxHeight(), collisionMap)) {
+            inAir[i] = true;
+        }
+    }
+
+    /**
+     * This makes a slot fall, or land exactly on the tile under it if there is no room left
+     * to fall
+     * 
+     * @param i            - the slot to update
+     * @param collisionMap - the CollisionMap of the current Level
+     */
+    void updateInAir(int i, CollisionMap collisionMap) {
+        final float width = archetype.getHitboxWidth();
+        final float height = archetype.getHitboxHeight();
+        // check if can there is room underneath to walk. If there is, then fall
+        if (canMoveHere(x[i], y[i] + airSpeed[i], width, height, collisionMap)) {
+            y[i] += airSpeed[i];
+            airSpeed[i] += GRAVITY;
+        } else {
+            // if there is nothing underneath, land on the tile exactly
+            inAir[i] = false;
+            y[i] = getYPosRoof(y[i], height, airSpeed[i], HITBOX_Y_OFFSET);
+            tileY[i] = (int) (y[i] / Game.TILES_SIZE);
+        }
+    }
+
+    /**
+     * This moves a slot the way it is walking. If it can't walk any further that way, it
+     * turns around instead.
+     * 
+     * @param i            - the slot to update
+     * @param collisionMap - the CollisionMap of the current Level
+     */
+    void move(int i, CollisionMap collisionMap) {
+        final float width = archetype.getHitboxWidth();
+        final float height = archetype.getHitboxHeight();
+        final float speed = attacking[i] ? archetype.getAttackWalkSpeed() : archetype.getWalkSpeed();
+        // left is a negative number, right is a positive number
+        final float speedX = walkDirection[i] == LEFT ? -speed : speed;
+        final float lookahead = speedX + (walkDirection[i] == LEFT ? -WALK_LOOKAHEAD : WALK_LOOKAHEAD);
+
+        // if the Enemy can move to the tile that is xSpeed away AND they can walk on that tile,
+        // move there.
+        if (canMoveHere(x[i] + lookahead, y[i], width, height, collisionMap)
+                && isTileWalkable(x[i], y[i], width, height, lookahead, collisionMap)) {
+            x[i] += speedX;
+            xSpeed[i] = speedX;
+            return;
+        }
+
+        // if the enemy can't move to the next tile OR it isn't walkable, switch their direction.
+        xSpeed[i] = 0f;
+        walkDirection[i] = walkDirection[i] == LEFT ? RIGHT : LEFT;
+    }
+
+    /**
+     * Check if the Player is within a slot's eyesight and clear line of sight. The Player
+     * must be on the same tile row to be seen.
+     * 
+     * @param i            - the slot that is looking
+     * @param collisionMap - the CollisionMap of the current Level
+     * @param player       - the main Player
+     * @return true if there is a clear line of sight to the Player within sight. False if not
+     *         or if the Player is dead
+     */
+    boolean canSeePlayer(int i, CollisionMap collisionMap, Player player) {
+        // if the player is dead, cannot see them
+        if (player.isKilled()) {
+            return false;
+        }
+        final Rectangle2D.Float playerBox = player.getHitbox();
+        // enemies cannot see different y-values
+        if ((int) (playerBox.y / Game.TILES_SIZE) != tileY[i]) {
+            return false;
+        }
+        // using absolute value since it doesn't matter which side the player is on
+        if ((int) Math.abs(playerBox.x - x[i]) > archetype.getEyeSight()) {
+            return false;
+        }
+        // same height & in eyesight & clear l.o.s.
+        return isSightClear(collisionMap, x[i], y[i], archetype.getHitboxWidth(), archetype.getHitboxHeight(),
+                playerBox);
+    }
+
+    /**
+     * Check if the Player is within a slot's attack range, on either side
+     * 
+     * @param i      - the slot that is attacking
+     * @param player - the Player entity
+     * @return true if the Player is in range
+     */
+    boolean isInAttackRange(int i, Player player) {
+        return (int) Math.abs(player.getHitbox().x - x[i]) <= archetype.getAttackDistance();
+    }
+
+    /**
+     * This turns a slot to walk towards the Player
+     * 
+     * @param i      - the slot to turn
+     * @param player - the Player entity
+     */
+    void turnTowardsPlayer(int i, Player player) {
+        // if the player's x is less than enemy's, they must be to the left
+        walkDirection[i] = player.getHitbox().x < x[i] ? LEFT : RIGHT;
+    }
+
+    /**
+     * This checks the current attack of a slot. The attack is checked once, on the frame the
+     * weapon swings, and can be checked again once the attack animation starts over.
+     * 
+     * @param i           - the slot that is attacking
+     * @param player      - the Player entity
+     * @param attackFrame - the animation frame where the attack can hit
+     */
+    void updateAttack(int i, Player player, int attackFrame) {
+        // check if first update with attack (i.e. first frame)
+        if (aniIndex[i] == 0) {
+            attackChecked[i] = false;
+        }
+        // if the attack hasn't been checked yet and it is on the attack frame
+        if (!attackChecked[i] && aniIndex[i] == attackFrame) {
+            // the attack box reaches 1 hitbox width past each side of the hitbox
+            if (player.getHitbox().intersects(getAttackX(i), y[i], getAttackWidth(), archetype.getHitboxHeight())) {
+                playerHit[i] = true;
+            }
+            // once the attack is checked, it shouldn't be checked again
+            attackChecked[i] = true;
+        }
+    }
+
+    /**
+     * This checks if the Player is standing inside a slot's attack box, at least buffer pixels
+     * from both of its sides
+     * 
+     * @param i      - the slot that is attacking
+     * @param player - the Player entity
+     * @param buffer - how far inside the attack box the Player has to be
+     * @return true if the Player is inside the attack box
+     */
+    boolean isPlayerInAttackbox(int i, Player player, int buffer) {
+        final Rectangle2D.Float playerBox = player.getHitbox();
+        final float attackX = getAttackX(i);
+        return attackX + buffer < playerBox.x && attackX + getAttackWidth() - buffer > playerBox.x + playerBox.width;
+    }
+
+    /**
+     * This is a helper method for the left side of a slot's attack box
+     * 
+     * @param i - the slot
+     * @return the left coordinate of the attack box
+     */
+    private float getAttackX(int i) {
+        return x[i] - archetype.getHitboxWidth();
+    }
+
+    /**
+     * This is a helper method for how wide every attack box in this store is
+     * 
+     * @return the width of the attack box
+     */
+    private float getAttackWidth() {
+        return archetype.getHitboxWidth() * 3;
+    }
+
+    /**
+     * This will hurt the Player if the attack of a slot connected since the last time this was
+     * called. This is done in the apply phase, after every Enemy has thought.
+     * 
+     * @param i      - the slot that attacked
+     * @param player - the Player entity
+     * @return true if the Player was hit, false if not
+     */
+    boolean applyHit(int i, Player player) {
+        if (!playerHit[i]) {
+            return false;
+        }
+        playerHit[i] = false;
+        player.hurt();
+        return true;
+    }
+
+    /**
+     * This takes damage away from the health of a slot. If it reaches 0 health, it is killed
+     * and starts dying.
+     * 
+     * @param i           - the slot that was hurt
+     * @param damageTaken - the amount of damage taken
+     */
+    void hurt(int i, int damageTaken) {
+        health[i] -= damageTaken;
+        hurting[i] = true;
+        startState(i, HIT);
+        // if the health is equal to (or less than) 0, the enemy is dead
+        if (health[i] <= 0) {
+            killed[i] = true;
+            startState(i, DEAD);
+        }
+    }
+
+    /**
+     * Setter for if the Enemy in a slot is being hurt
+     * 
+     * @param i       - the slot to change
+     * @param hurting - the new value of hurting
+     */
+    void setHurting(int i, boolean hurting) {
+        this.hurting[i] = hurting;
+    }
+
+    /**
+     * Getter for the type of every Enemy in this store
+     * 
+     * @return the enemy type, based on the EnemyConstants
+     */
+    public int getEnemyType() {
+        return enemyType;
+    }
+
+    /**
+     * Getter for the archetype of every Enemy in this store
+     * 
+     * @return the EnemyArchetype of this store
+     */
+    public EnemyArchetype getArchetype() {
+        return archetype;
+    }
+
+    /**
+     * Getter for how many enemies are loaded
+     * 
+     * @return the amount of loaded enemies, they are in slots 0 to this - 1
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Getter for the Enemy in a slot
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return the Enemy handle of that slot
+     */
+    public Enemy getEnemy(int i) {
+        return enemies[i];
+    }
+
+    /**
+     * Getter for every loaded Enemy in slot order. The List can't be changed and doesn't
+     * change if the store does.
+     * 
+     * @return a List of the loaded enemies
+     */
+    public List<Enemy> getEnemies() {
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(enemies, count)));
+    }
+
+    /**
+     * Getter for the left coordinate of a slot's hitbox
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return the x coordinate
+     */
+    public float getX(int i) {
+        return x[i];
+    }
+
+    /**
+     * Getter for the top coordinate of a slot's hitbox
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return the y coordinate
+     */
+    public float getY(int i) {
+        return y[i];
+    }
+
+    /**
+     * Getter for how far the Enemy in a slot walked in its last update
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return the horizontal speed, negative if it walked left
+     */
+    public float getXSpeed(int i) {
+        return xSpeed[i];
+    }
+
+    /**
+     * Getter for how fast the Enemy in a slot is falling
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return the falling speed
+     */
+    public float getAirSpeed(int i) {
+        return airSpeed[i];
+    }
+
+    /**
+     * Getter for the health of a slot
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return the health left
+     */
+    public int getHealth(int i) {
+        return health[i];
+    }
+
+    /**
+     * Getter for the state of a slot
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return the state, based on the EnemyConstants
+     */
+    public int getState(int i) {
+        return state[i];
+    }
+
+    /**
+     * Getter for the animation frame of a slot
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return the animation index
+     */
+    public int getAniIndex(int i) {
+        return aniIndex[i];
+    }
+
+    /**
+     * Getter for the animation tick of a slot
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return how many updates have passed since the last frame change
+     */
+    public int getAniTick(int i) {
+        return aniTick[i];
+    }
+
+    /**
+     * Getter for which way the Enemy in a slot is walking
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return the direction, based on the Constants.Directions
+     */
+    public int getWalkDirection(int i) {
+        return walkDirection[i];
+    }
+
+    /**
+     * Getter for if the Enemy in a slot is still in the Level
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return true if it is active
+     */
+    public boolean isActive(int i) {
+        return active[i];
+    }
+
+    /**
+     * Getter for if the Enemy in a slot has been killed
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return true if it is killed or dying
+     */
+    public boolean isKilled(int i) {
+        return killed[i];
+    }
+
+    /**
+     * Getter for if the Enemy in a slot is being hurt
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return true if it is hurting
+     */
+    public boolean isHurting(int i) {
+        return hurting[i];
+    }
+
+    /**
+     * Getter for if the Enemy in a slot thought in the last update
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return true if it was awake, false if it was dormant
+     */
+    public boolean isAwake(int i) {
+        return awake[i];
+    }
+
+    /**
+     * Getter for if the Enemy in a slot is falling
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return true if it is in the air
+     */
+    public boolean isInAir(int i) {
+        return inAir[i];
+    }
+
+    /**
+     * Getter for if the Enemy in a slot hasn't been updated yet
+     * 
+     * @param i - the slot, must be less than getCount
+     * @return true if its next update is its first
+     */
+    boolean isFirstUpdate(int i) {
+        return firstUpdate[i];
+    }
+}
@@ -7,7 +7,10 @@ import java.awt.geom.Rectangle2D;
 /**
  * This abstract Entity class shares functionality across all player and enemy objects.
  * Things that can move on either axis, attack, and have some degree of "intelligence"
- * start their classes from this blueprint. *
+ * start their classes from this blueprint. *<br>
+ * <br>
+ * Enemies keep all of their data in an EnemyStore instead of in fields, so they don't
+ * extend this class.
  * 
  * @author John Botonakis and Sean-Paul Brown
  * 
@@ -104,11 +107,13 @@ public abstract class Entity {
      * 
      * @param g            - Graphics to be called and drawn from
      * @param xLevelOffset - The horizontal offset from screen scrolling
+     * @param yLevelOffset - The vertical offset from screen scrolling
      */
-    protected void drawHitbox(Graphics g, int xLevelOffset) {
+    protected void drawHitbox(Graphics g, int xLevelOffset, int yLevelOffset) {
         // For debugging hitbox
         g.setColor(Color.PINK);
-        g.fillRect((int) hitbox.x - xLevelOffset, (int) hitbox.y, (int) hitbox.width, (int) hitbox.height);
+        g.fillRect((int) hitbox.x - xLevelOffset, (int) hitbox.y - yLevelOffset, (int) hitbox.width,
+                (int) hitbox.height);
     }
 
     /**
@@ -116,10 +121,12 @@ public abstract class Entity {
      * 
      * @param g            - Graphics to be called and drawn from
      * @param xLevelOffset - The amount of horizontal offset from screenscrolling
+     * @param yLevelOffset - The amount of vertical offset from screenscrolling
      */
-    protected void drawAttackbox(Graphics g, int xLevelOffset) {
+    protected void drawAttackbox(Graphics g, int xLevelOffset, int yLevelOffset) {
         g.setColor(Color.RED);
-        g.drawRect((int) attackbox.x - xLevelOffset, (int) attackbox.y, (int) attackbox.width, (int) attackbox.height);
+        g.drawRect((int) attackbox.x - xLevelOffset, (int) attackbox.y - yLevelOffset, (int) attackbox.width,
+                (int) attackbox.height);
     }
 
     /**
@@ -9,8 +9,6 @@ import static utils.Constants.PlayerStates.FALL;
 import static utils.Constants.PlayerStates.HITBOX_HEIGHT;
 import static utils.Constants.PlayerStates.HITBOX_WIDTH;
 import static utils.Constants.PlayerStates.IDLE;
-import static utils.Constants.PlayerStates.IMAGE_HEIGHT;
-import static utils.Constants.PlayerStates.IMAGE_WIDTH;
 import static utils.Constants.PlayerStates.JUMPSTART;
 import static utils.Constants.PlayerStates.MAX_HEALTH;
 import static utils.Constants.PlayerStates.RUNNING;
@@ -29,14 +27,15 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
-import java.awt.image.BufferedImage;
 
 import gameaudio.AudioPlayer;
+import levels.CollisionMap;
+import levels.TileGrid;
 import main.Game;
 import states.Playing;
 import utils.Constants;
 import utils.Constants.PlayerStates;
-import utils.LoadSave;
+import utils.SpriteAtlas;
 
 /**
  * This player class will hold every variable and funciton relating to the active player's
@@ -56,14 +55,13 @@ public class Player extends Entity {
      */
     private final Playing playing;
     /**
-     * This all of the animations that the player will do. The first index maps to the
-     * PlayerConstants actions, and the second index is the a specifc frame
+     * The current Level's level data, represented as a TileGrid
      */
-    private BufferedImage[][] animations;
+    private TileGrid levelData;
     /**
-     * The current Level's level data, represented as a 2D int array
+     * The current Level's collision flags, used for every collision check
      */
-    private int[][] levelData;
+    private CollisionMap collisionMap;
 
     // Player Actions
     /**
@@ -122,6 +120,8 @@ public class Player extends Entity {
     private int flipX = 0, flipW = 1;
     /** xLevelOffset represents how far the level has scrolled */
     private int xLevelOffset = 0;
+    /** yLevelOffset represents how far the level has scrolled vertically */
+    private int yLevelOffset = 0;
 
     // Hitbox Vars
     /**
@@ -183,7 +183,6 @@ public class Player extends Entity {
         super(x, y, width, height);
         this.playing = playing;
         currentHealth = STARTING_HEALTH;
-        loadAni();
         initHitbox((int) x, (int) y, HITBOX_WIDTH, HITBOX_HEIGHT);
         this.player_action = IDLE;
     }
@@ -191,9 +190,10 @@ public class Player extends Entity {
     /**
      * Handles updates for Position, Animation Tick, and Setting Animations
      * 
-     * @param xLevelOffset - how far the screen offset is from scrolling
+     * @param xLevelOffset - how far the screen offset is from scrolling horizontally
+     * @param yLevelOffset - how far the screen offset is from scrolling vertically
      */
-    public void update(int xLevelOffset) {
+    public void update(int xLevelOffset, int yLevelOffset) {
         // if dead, only update animations
         if (killed) {
             updateAniTick();
@@ -202,6 +202,7 @@ public class Player extends Entity {
         }
 
         this.xLevelOffset = xLevelOffset;
+        this.yLevelOffset = yLevelOffset;
         updatePos();
         updateAniTick();
         if (attacking) {
@@ -220,47 +221,43 @@ public class Player extends Entity {
      * @param g - Graphics where to draw the player
      */
     public void renderPlayer(Graphics g) {
-        // Add int yLevelOffset to input vars and to YHitbox
         Graphics2D g2D = (Graphics2D) g;
-        g2D.drawImage(animations[player_action][aniIndex], (int) (hitbox.x - xDrawOffset) - xLevelOffset + flipX,
-                (int) (hitbox.y - yDrawOffset), width * flipW, height, null);
+        // the frames are already scaled and mirrored, so they are drawn 1:1 at the left edge
+        SpriteAtlas.draw(g2D, flipW == 1 ? SpriteAtlas.PLAYER : SpriteAtlas.PLAYER_LEFT, player_action, aniIndex,
+                (int) (hitbox.x - xDrawOffset) - xLevelOffset, (int) (hitbox.y - yDrawOffset) - yLevelOffset);
 
         // drawing the dashed line to show the path of the arrow
         if (drawArrowPath && nextAttack != null) {
             g2D.setColor(Color.CYAN);
             g2D.setStroke(new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND, 10.0f,
                     new float[] { 5.0f, 5.0f }, 0.0f));
-            g2D.drawLine((int) (hitbox.x + SHOT_OFFSET_X) - xLevelOffset, (int) (hitbox.y + SHOT_OFFSET_Y),
+            g2D.drawLine((int) (hitbox.x + SHOT_OFFSET_X) - xLevelOffset,
+                    (int) (hitbox.y + SHOT_OFFSET_Y) - yLevelOffset,
                     (int) (nextAttack.getX()), (int) (nextAttack.getY()));
         }
     }
 
     /**
-     * Creates an animation library to store every animation from the loaded in sprite sheet
+     * Load in level data as a TileGrid to continuously check for collision. The collision
+     * flags are worked out from the data, so if the Level already has a CollisionMap, use the
+     * other loadLvlData instead.
+     * 
+     * @param lvlData - The data that
      */
-    private void loadAni() {
-        // get the image that contains all of the sprites
-        BufferedImage img = LoadSave.getSpriteSheet(LoadSave.PLAYER_SPRITES);
-
-        // 10 total animations; longest animation is 20 frames long
-        animations = new BufferedImage[10][20];
-
-        // divide up the image into each frame
-        for (int j = 0; j < animations.length; j++) {
-            for (int i = 0; i < animations[j].length; i++) {
-                animations[j][i] = img.getSubimage(i * IMAGE_WIDTH, j * IMAGE_HEIGHT, IMAGE_WIDTH, IMAGE_HEIGHT);
-            }
-        }
-
+    public void loadLvlData(TileGrid lvlData) {
+        loadLvlData(lvlData, new CollisionMap(lvlData));
     }
 
     /**
-     * Load in level data as a 2D array to continuously check for collision
+     * Load in level data as a TileGrid along with the Level's CollisionMap, which is used to
+     * continuously check for collision
      * 
-     * @param lvlData - The data that
+     * @param lvlData      - The data that makes up the level
+     * @param collisionMap - the collision flags of the same level
      */
-    public void loadLvlData(int[][] lvlData) {
+    public void loadLvlData(TileGrid lvlData, CollisionMap collisionMap) {
         this.levelData = lvlData;
+        this.collisionMap = collisionMap;
     }
 
     /**
@@ -342,7 +339,7 @@ public class Player extends Entity {
             // And if he is not supposed to be, and there is no gravity Player is now considered in
             // the air. (i.e walking off a ledge)
             //
-            if (!floorCheck(hitbox, levelData)) {
+            if (!floorCheck(hitbox, collisionMap)) {
                 inAir = true;
             }
         }
@@ -350,7 +347,7 @@ public class Player extends Entity {
         // if the Player is in the air...
         if (inAir) {
             // if the Player has room underneath or above them to move then then fall
-            if (canMoveHere(hitbox.x, hitbox.y + airSpeed, hitbox.width, hitbox.height, levelData)) {
+            if (canMoveHere(hitbox.x, hitbox.y + airSpeed, hitbox.width, hitbox.height, collisionMap)) {
                 falling = true;
                 // move down by the airspeed then have the speed increase by the Gravity
                 hitbox.y += airSpeed;
@@ -383,8 +380,10 @@ public class Player extends Entity {
         // this is a buffer when checking game height so there is a little room for error
         final int buffer = 3;
 
-        // checking that the player isn't too far on the bottom of the screen
-        if (hitbox.y + hitbox.height >= Game.GAME_HEIGHT - buffer) {
+        // checking that the player isn't too far on the bottom of the level, which can be taller
+        // than the screen
+        final int worldHeight = collisionMap == null ? Game.GAME_HEIGHT : collisionMap.getHeight() * Game.TILES_SIZE;
+        if (hitbox.y + hitbox.height >= worldHeight - buffer) {
             // if they died then have them fall out of the world and die
             kill();
             hitbox.y += hitbox.height * 1.5;
@@ -402,7 +401,7 @@ public class Player extends Entity {
             return;
         }
         // check if the tile Player is on is lava. Always check the middle of the hitbox
-        if (isTileLava(hitbox.x + (hitbox.width / 2), hitbox.y + hitbox.height, levelData)) {
+        if (isTileLava(hitbox.x + (hitbox.width / 2), hitbox.y + hitbox.height, collisionMap)) {
             // if it is lava, take damage
             // hurting has already been checked
             this.hurt();
@@ -489,13 +488,13 @@ public class Player extends Entity {
         }
 
         // play the sound effect when loosing arrow
-        if (playing != null) {
-            playing.getGame().getAudioPlayer().playEffect(AudioPlayer.FIRE);
+        if (getAudioPlayer() != null) {
+            getAudioPlayer().playEffect(AudioPlayer.FIRE);
         }
 
         attackChecked = true;
         // the vertical (y) difference between the next attack and Player
-        final float yDiff = (float) (nextAttack.getY() - (hitbox.y + SHOT_OFFSET_Y));
+        final float yDiff = (float) (nextAttack.getY() - (hitbox.y + SHOT_OFFSET_Y - yLevelOffset));
         // the path/slope for the arrow to travel
         final float slope = yDiff / xDiff;
 
@@ -525,7 +524,7 @@ public class Player extends Entity {
      * @param xSpeed - how fast the player is moving
      */
     private void updateXPos(float xSpeed) {
-        if (canMoveHere(hitbox.x + xSpeed, hitbox.y, hitbox.width, hitbox.height, levelData)) {
+        if (canMoveHere(hitbox.x + xSpeed, hitbox.y, hitbox.width, hitbox.height, collisionMap)) {
             hitbox.x += xSpeed;
         } else {
             if (dash) {
@@ -605,8 +604,8 @@ public class Player extends Entity {
      */
     public void kill() {
         killed = true;
-        if (playing != null) {
-            playing.getGame().getAudioPlayer().playSong(AudioPlayer.GAMEOVER);
+        if (getAudioPlayer() != null) {
+            getAudioPlayer().playSong(AudioPlayer.GAMEOVER);
         }
     }
 
@@ -678,8 +677,23 @@ public class Player extends Entity {
             this.dash = false;
         } else {
             this.dash = dashing;
-            playing.getGame().getAudioPlayer().playEffect(5);
+            if (getAudioPlayer() != null) {
+                getAudioPlayer().playEffect(5);
+            }
+        }
+    }
+
+    /**
+     * This is a helper method that gets the Game's AudioPlayer. The unit tester and the
+     * headless Simulation don't have a Game, so there is nothing to play sounds on.
+     * 
+     * @return the AudioPlayer, or null if there isn't a Game
+     */
+    private AudioPlayer getAudioPlayer() {
+        if (playing == null || playing.getGame() == null) {
+            return null;
         }
+        return playing.getGame().getAudioPlayer();
     }
 
     /**
@@ -734,8 +748,8 @@ public class Player extends Entity {
         // take 1 damage
         currentHealth--;
         // check for the unit tester
-        if (playing != null) {
-            playing.getGame().getAudioPlayer().playEffect(AudioPlayer.PLAYER_HURT);
+        if (getAudioPlayer() != null) {
+            getAudioPlayer().playEffect(AudioPlayer.PLAYER_HURT);
         }
         hurting = true;
         if (currentHealth <= 0) {
@@ -795,11 +809,11 @@ public class Player extends Entity {
     }
 
     /**
-     * Get the current 2D int array of level data
+     * Get the current TileGrid of level data
      * 
-     * @return the current level data array
+     * @return the current level data
      */
-    public int[][] getLevelData() {
+    public TileGrid getLevelData() {
         return levelData;
     }
 
@@ -4,15 +4,13 @@ import static utils.Constants.EnemyConstants.ATTACK;
 import static utils.Constants.EnemyConstants.HIT;
 import static utils.Constants.EnemyConstants.IDLE;
 import static utils.Constants.EnemyConstants.RUNNING;
-import static utils.Constants.EnemyConstants.SKELETON;
-import static utils.Constants.EnemyConstants.SKELETON_HITBOX_HEIGHT;
-import static utils.Constants.EnemyConstants.SKELETON_HITBOX_WIDTH;
 
-import java.awt.geom.Rectangle2D;
+import levels.CollisionMap;
 
 /**
  * Skeleton is a child-class of Enemy. It is a specific instance of Enemy, that will use
- * the skeleton constants and implement all behaviors/updates here.
+ * the skeleton constants and implement all behaviors/updates here. The behavior runs on a
+ * slot of the Skeletons' EnemyStore, so the store can update every Skeleton in 1 loop.
  * 
  * @author Sean-Paul Brown
  */
@@ -23,93 +21,83 @@ public class Skeleton extends Enemy {
      * be checked for hitting the player
      */
     private static final int ATTACK_FRAME = 8;
+    /**
+     * How many attack distances away a Skeleton can see the Player
+     */
+    static final int SIGHT_RANGE = 5;
+    /**
+     * The score a Skeleton gives to the Player when it dies
+     */
+    static final int SCORE = 100;
 
     /**
-     * This is the constructor for a single Skeleton
+     * This is the constructor for the handle of a single Skeleton, only the EnemyStore makes
+     * these
      * 
-     * @param x      - the initial x-coordinate of the Skeleton
-     * @param y      - the initial y-cooridinate of the Skeleton
-     * @param width  - the width of the Skeleton
-     * @param height - the height of the Skeleton
+     * @param store - the EnemyStore that holds the Skeletons
+     * @param slot  - the slot of this Skeleton in the store
      */
-    public Skeleton(float x, float y, int width, int height) {
-        super(x, y, width, height, SKELETON);
-        initHitbox(x, y, SKELETON_HITBOX_WIDTH, SKELETON_HITBOX_HEIGHT);
-        startNewState(IDLE);
-        // attack box will be a long rectangle that extends out from the hitbox of the Skeleton
-        attackbox = new Rectangle2D.Float(hitbox.x - SKELETON_HITBOX_WIDTH, hitbox.y, SKELETON_HITBOX_WIDTH * 3,
-                SKELETON_HITBOX_HEIGHT);
-        attackDistance = hitbox.width * 1.5f;
-        eyeSight = attackDistance * 5;
-        this.score = 100;
+    Skeleton(EnemyStore store, int slot) {
+        super(store, slot);
     }
 
     /**
-     * This will update where the Skeleton is, what action they are doing, and their
-     * animation.
+     * This will update where a Skeleton is, what action they are doing, and their animation.
      * 
-     * @param lvlData - A 2D int array of all of the data in the level
-     * @param player  - the Player entity of the Game
+     * @param store        - the EnemyStore that holds the Skeletons
+     * @param i            - the slot of the Skeleton to update
+     * @param collisionMap - the CollisionMap of the current Level
+     * @param player       - the Player entity of the Game
      */
-    public void update(int[][] lvlData, Player player) {
-        updateBehavior(lvlData, player);
-        updateAniTick();
-        updateAttackbox();
+    static void think(EnemyStore store, int i, CollisionMap collisionMap, Player player) {
+        updateBehavior(store, i, collisionMap, player);
+        store.updateAniTick(i);
     }
 
     /**
-     * This is a helper function to update the behavior of the Skeleton based on it's
-     * booleans.
+     * This is a helper function to update the behavior of a Skeleton based on it's booleans.
      * 
-     * @param lvlData - the current Level's data as a 2D array
-     * @param player  - the Player Entity
+     * @param store        - the EnemyStore that holds the Skeletons
+     * @param i            - the slot of the Skeleton to update
+     * @param collisionMap - the CollisionMap of the current Level
+     * @param player       - the Player Entity
      */
-    private void updateBehavior(int[][] lvlData, Player player) {
+    private static void updateBehavior(EnemyStore store, int i, CollisionMap collisionMap, Player player) {
         // check if is the first update
-        if (firstUpdate) {
-            firstUpdateCheck(lvlData);
+        if (store.isFirstUpdate(i)) {
+            store.firstUpdateCheck(i, collisionMap);
         }
         // then check if they are in the air
-        if (inAir) {
-            updateInAir(lvlData);
+        if (store.isInAir(i)) {
+            store.updateInAir(i, collisionMap);
             // returning here instead of "else" statement
             return;
         }
 
         // if the enemy is not in the air then update their behavior based on their current state
-        switch (state) {
+        switch (store.getState(i)) {
         // if IDLE, start moving
         case (IDLE):
-            startNewState(RUNNING);
+            store.startState(i, RUNNING);
             break;
         // if moving, check if they can see, move to, and attack the player
         case (RUNNING):
             // turn, attack, then move
             // if the Enemy can see player
-            if (canSeePlayer(lvlData, player)) {
+            if (store.canSeePlayer(i, collisionMap, player)) {
                 // then turn towards the turn towards player
-                turnTowardsPlayer(player);
+                store.turnTowardsPlayer(i, player);
                 // if the Player is in attack range
-                if (isInAttackRange(player)) {
+                if (store.isInAttackRange(i, player)) {
                     // start attacking the player
-                    startNewState(ATTACK);
+                    store.startState(i, ATTACK);
                 }
             }
-            move(lvlData);
+            store.move(i, collisionMap);
             break;
-        // if attacking, update the attackbox and check the attack
+        // if attacking, check if the attack hit the player
         case (ATTACK):
-
-            // change where the attackbox is located
-            updateAttackbox();
-            // check if first update with attack (i.e. first frame)
-            if (aniIndex == 0) {
-                attackChecked = false;
-            }
-            // if the attack hasn't been checked yet and it is on the attack frame
-            if (!attackChecked && aniIndex == ATTACK_FRAME) {
-                checkHit(player);
-            }
+            store.updateAttack(i, player, ATTACK_FRAME);
             break;
         // if they are hit just update normally (since Skeletons are a 1 hit then they die)
         case (HIT):
@@ -4,15 +4,14 @@ import static utils.Constants.EnemyConstants.ATTACK;
 import static utils.Constants.EnemyConstants.HIT;
 import static utils.Constants.EnemyConstants.IDLE;
 import static utils.Constants.EnemyConstants.RUNNING;
-import static utils.Constants.EnemyConstants.SKELETON_KING;
-import static utils.Constants.EnemyConstants.SKELETON_KING_HITBOX_HEIGHT;
-import static utils.Constants.EnemyConstants.SKELETON_KING_HITBOX_WIDTH;
 
-import java.awt.geom.Rectangle2D;
+import levels.CollisionMap;
 
 /**
  * Skeleton King is a child-class of Enemy. It is a specific instance of Enemy, that will
- * use the skeleton king constants and implement all behaviors/updates here.
+ * use the skeleton king constants and implement all behaviors/updates here. The behavior
+ * runs on a slot of the Skeleton Kings' EnemyStore, so the store can update every Skeleton
+ * King in 1 loop.
  * 
  * @author Sean-Paul Brown
  */
@@ -23,90 +22,85 @@ public class SkeletonKing extends Enemy {
      * should be checked for hitting the player
      */
     private static final int ATTACK_FRAME = 8;
+    /**
+     * How many attack distances away a Skeleton King can see the Player
+     */
+    static final int SIGHT_RANGE = 10;
+    /**
+     * The score a Skeleton King gives to the Player when it dies
+     */
+    static final int SCORE = 1000;
 
     /**
-     * This is the constructor of the Skeleton King
+     * This is the constructor for the handle of a single Skeleton King, only the EnemyStore
+     * makes these
      * 
-     * @param x      - the initial x-coordinate of the Skeleton King
-     * @param y      - the initial y-cooridinate of the Skeleton King
-     * @param width  - the width of the Skeleton King
-     * @param height - the height of the Skeleton King
+     * @param store - the EnemyStore that holds the Skeleton Kings
+     * @param slot  - the slot of this Skeleton King in the store
      */
-    public SkeletonKing(float x, float y, int width, int height) {
-        super(x, y, width, height, SKELETON_KING);
-        initHitbox(x, y, SKELETON_KING_HITBOX_WIDTH, SKELETON_KING_HITBOX_HEIGHT);
-        startNewState(IDLE);
-        attackbox = new Rectangle2D.Float(hitbox.x, hitbox.y, SKELETON_KING_HITBOX_WIDTH * 3,
-                SKELETON_KING_HITBOX_HEIGHT);
-        attackDistance = hitbox.width * 1.5f;
-        eyeSight = attackDistance * 10;
-        this.score = 1000;
+    SkeletonKing(EnemyStore store, int slot) {
+        super(store, slot);
     }
 
     /**
-     * This will update where the Skeleton King is, what action they are doing, and their
+     * This will update where a Skeleton King is, what action they are doing, and their
      * animation.
      * 
-     * @param lvlData - A 2D int array of all of the data in the level
-     * @param player  - the Player entity in the Game
+     * @param store        - the EnemyStore that holds the Skeleton Kings
+     * @param i            - the slot of the Skeleton King to update
+     * @param collisionMap - the CollisionMap of the current Level
+     * @param player       - the Player entity in the Game
      */
-    public void update(int[][] lvlData, Player player) {
-        updateBehavior(lvlData, player);
-        updateAniTick();
-        updateAttackbox();
+    static void think(EnemyStore store, int i, CollisionMap collisionMap, Player player) {
+        updateBehavior(store, i, collisionMap, player);
+        store.updateAniTick(i);
     }
 
     /**
-     * This is a helper function to update the behavior of the Skeleton King based on it's
+     * This is a helper function to update the behavior of a Skeleton King based on it's
      * booleans.
      * 
-     * @param lvlData - the current Level's data as a 2D array
-     * @param player  - the Player Entity
+     * @param store        - the EnemyStore that holds the Skeleton Kings
+     * @param i            - the slot of the Skeleton King to update
+     * @param collisionMap - the CollisionMap of the current Level
+     * @param player       - the Player Entity
      */
-    private void updateBehavior(int[][] lvlData, Player player) {
+    private static void updateBehavior(EnemyStore store, int i, CollisionMap collisionMap, Player player) {
         // THIS IS THE SAME STRUCTURE AS SKELETON
-        if (firstUpdate) {
-            firstUpdateCheck(lvlData);
+        if (store.isFirstUpdate(i)) {
+            store.firstUpdateCheck(i, collisionMap);
         }
 
-        if (inAir) {
-            updateInAir(lvlData);
+        if (store.isInAir(i)) {
+            store.updateInAir(i, collisionMap);
             return;
         }
 
-        switch (state) {
+        switch (store.getState(i)) {
         case (IDLE):
-            startNewState(RUNNING);
+            store.startState(i, RUNNING);
             break;
         case (RUNNING):
             // since hurting prevents the enemy from taking additional damage, moving it here gives
             // them some invincibility over a couple updates
-            hurting = false;
+            store.setHurting(i, false);
             // turn, attack, then move
             // if the Enemy can see player
-            if (canSeePlayer(lvlData, player)) {
+            if (store.canSeePlayer(i, collisionMap, player)) {
                 // then turn towards the turn towards player
-                turnTowardsPlayer(player);
+                store.turnTowardsPlayer(i, player);
                 // if the Player is in attack range
-                if (isInAttackRange(player)) {
+                if (store.isInAttackRange(i, player)) {
                     // start attacking the player
-                    startNewState(ATTACK);
+                    store.startState(i, ATTACK);
                 }
             }
-            move(lvlData);
+            store.move(i, collisionMap);
             break;
         case (ATTACK):
-            turnTowardsPlayer(player);
-            // change where the attackbox is located
-            updateAttackbox();
-            // check if first update with attack (i.e. first frame)
-            if (aniIndex == 0) {
-                attackChecked = false;
-            }
-            // if the attack hasn't been checked yet and it is on the attack frame
-            if (!attackChecked && aniIndex == ATTACK_FRAME) {
-                checkHit(player);
-            }
+            store.turnTowardsPlayer(i, player);
+            // check if the attack hit the player
+            store.updateAttack(i, player, ATTACK_FRAME);
 
             /*
              * Check to make sure that when attacking, if the player hasn't moved, king doesn't move.
@@ -114,16 +108,15 @@ public class SkeletonKing extends Enemy {
              * then the skeleton king shouldn't move.
              */
             final int xBuffer = 15;
-            if (this.attackbox.x + xBuffer < player.getHitbox().x
-                    && this.attackbox.x + attackbox.width - xBuffer > player.getHitbox().x + player.getHitbox().width) {
+            if (store.isPlayerInAttackbox(i, player, xBuffer)) {
                 break;
             }
 
-            move(lvlData);
+            store.move(i, collisionMap);
             break;
         case (HIT):
             break;
         }
     }
 
-}
\ No newline at end of file
+}
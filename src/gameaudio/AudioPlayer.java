@@ -11,6 +11,8 @@ import javax.sound.sampled.FloatControl;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
+import utils.AssetLoader;
+
 /**
  * Audio Player is a class that allows WAV files to be played through the use of Java
  * CLIPS. The songs are loaded into an array which finds the files in the correct folder,
@@ -81,6 +83,15 @@ public class AudioPlayer {
      * Level complete music
      */
     public static int LEVELCOMPLETE = 8;
+    /**
+     * The file names of every song, in the same order as the song indexes above
+     */
+    private static final String[] SONG_NAMES = { "mm16", "W1L116", "game-over15", "W1L216", "W1L516" };
+    /**
+     * The file names of every effect, in the same order as the effect indexes above
+     */
+    private static final String[] EFFECT_NAMES = { "playerdeath16", "jump16", "bowfire16", "buttonhover16",
+            "buttonconfirm16", "dash16", "enemyattack16", "playerhurt16", "levelcomplete16" };
     /**
      * The integer value assigned to an effect or song for retrieval
      */
@@ -119,15 +130,34 @@ public class AudioPlayer {
         playSong(MENU_1);
     }
 
+    /**
+     * This constructor gives every song and effect to the AssetLoader so they are all
+     * decoded at the same time in the background. Nothing is played until the AssetLoader
+     * is done, then the Main Menu music should be played with playSong.
+     * 
+     * @param loader - the AssetLoader that will load each audio file
+     */
+    public AudioPlayer(AssetLoader loader) {
+        music = new Clip[SONG_NAMES.length];
+        for (int i = 0; i < music.length; i++) {
+            final int index = i;
+            loader.submit("audio " + SONG_NAMES[i], () -> music[index] = getSound(SONG_NAMES[index]));
+        }
+        fx = new Clip[EFFECT_NAMES.length];
+        for (int i = 0; i < fx.length; i++) {
+            final int index = i;
+            loader.submit("audio " + EFFECT_NAMES[i], () -> fx[index] = getSound(EFFECT_NAMES[index]));
+        }
+    }
+
     /**
      * Loads the music audio into an array for easier fetching. The array stores these audio
      * files as Clip objects
      */
     public void loadSong() {
-        String[] names = { "mm16", "W1L116", "game-over15", "W1L216", "W1L516" };
-        music = new Clip[names.length];
+        music = new Clip[SONG_NAMES.length];
         for (int i = 0; i < music.length; i++)
-            music[i] = getSound(names[i]);
+            music[i] = getSound(SONG_NAMES[i]);
     }
 
     /**
@@ -135,11 +165,9 @@ public class AudioPlayer {
      * files as Clip objects
      */
     public void loadEffect() {
-        String[] effectNames = { "playerdeath16", "jump16", "bowfire16", "buttonhover16", "buttonconfirm16", "dash16",
-                "enemyattack16", "playerhurt16", "levelcomplete16" };
-        fx = new Clip[effectNames.length];
+        fx = new Clip[EFFECT_NAMES.length];
         for (int i = 0; i < fx.length; i++)
-            fx[i] = getSound(effectNames[i]);
+            fx[i] = getSound(EFFECT_NAMES[i]);
     }
 
     /**
@@ -151,6 +179,11 @@ public class AudioPlayer {
     private Clip getSound(String name) {
         URL url = getClass().getResource("/Audio/" + name + ".wav");
         AudioInputStream audio;
+        // the file doesn't exist
+        if (url == null) {
+            System.err.println("Missing audio file: " + name);
+            return null;
+        }
 
         try {
             audio = AudioSystem.getAudioInputStream(url);
@@ -183,19 +216,20 @@ public class AudioPlayer {
     }
 
     /**
-     * Sets the Level music based on the current level index
+     * Sets the Level music to the song with the given name. If there isn't a song with that
+     * name, the ODDLEVELS song is played.
      * 
-     * @param lvlIndex - The index of the level that corresponds to the selected song
+     * @param songName - the file name of the song (without the folder or extension)
      */
-    public void setLevelSong(int lvlIndex) {
-        if (lvlIndex == 4) {
-            playSong(WORLD1BOSS);
-        } else {
-            if (lvlIndex % 2 == 0)
-                playSong(ODDLEVELS);
-            else
-                playSong(EVENLEVELS);
+    public void setLevelSong(String songName) {
+        for (int i = 0; i < SONG_NAMES.length; i++) {
+            if (SONG_NAMES[i].equals(songName)) {
+                playSong(i);
+                return;
+            }
         }
+        System.err.println("There is no song named " + songName);
+        playSong(ODDLEVELS);
     }
 
     /**
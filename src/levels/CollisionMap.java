@@ -0,0 +1,295 @@
+package levels;
+
+import java.util.Arrays;
+
+/**
+ * A CollisionMap holds what every tile in a Level does for collisions, worked out once
+ * when the Level is loaded. Each tile is 1 byte of flags stored in a single flat array, so
+ * checking a tile is 1 array read and a mask instead of comparing the tile's sprite index
+ * every time.<br>
+ * <br>
+ * It also holds an index of walkable spans. A span is a run of tiles in 1 row that can be
+ * stood in (not solid) with ground under them that can be walked on, and that has no gap,
+ * wall, or lava in the middle. Every tile in a span has the span's id, so checking if 2 tiles
+ * are on the same platform is 2 array reads instead of scanning the tiles between them.
+ */
+public final class CollisionMap {
+    /**
+     * The flag for a tile that Entities can't move through
+     */
+    public static final byte SOLID = 1;
+    /**
+     * The flag for a lava tile, which hurts the Player
+     */
+    public static final byte LAVA = 2;
+    /**
+     * The flag for a tile that can be walked on top of (solid and not lava)
+     */
+    public static final byte WALKABLE_TOP = 4;
+    /**
+     * The flag for a transparent tile that Entities can move through
+     */
+    public static final byte AIR = 8;
+
+    /**
+     * The index of the transparent tile in the level sprite sheet
+     */
+    private static final int AIR_TILE = 11;
+    /**
+     * The index of the lava tile in the level sprite sheet
+     */
+    private static final int LAVA_TILE = 45;
+    /**
+     * How many sprites there are in the level sprite sheet, anything at or above this is not a
+     * real tile
+     */
+    private static final int TILE_COUNT = 48;
+    /**
+     * The flags for a tile outside of the level, it is solid so nothing can leave
+     */
+    private static final byte OUTSIDE_FLAGS = SOLID;
+    /**
+     * The flags for every sprite index, so each tile only has to be looked up once
+     */
+    private static final byte[] FLAGS_BY_TILE = new byte[TILE_COUNT];
+
+    static {
+        for (int i = 0; i < TILE_COUNT; i++) {
+            FLAGS_BY_TILE[i] = flagsFor(i);
+        }
+    }
+
+    /**
+     * How many tiles wide the level is
+     */
+    private final int width;
+    /**
+     * How many tiles tall the level is
+     */
+    private final int height;
+    /**
+     * The flags of every tile, row by row starting at the top. Tile (x, y) is at y * width +
+     * x.
+     */
+    private final byte[] flags;
+    /**
+     * The id of the walkable span every tile is in, in the same order as flags. Tiles that
+     * aren't in a span are 0.
+     */
+    private final int[] spans;
+    /**
+     * The first column of every span, by span id
+     */
+    private final int[] spanStarts;
+    /**
+     * The last column of every span, by span id
+     */
+    private final int[] spanEnds;
+    /**
+     * How many spans there are, the ids go from 1 up to this
+     */
+    private final int spanCount;
+
+    /**
+     * Constructor for a CollisionMap, this works out the flags for every tile in the
+     * TileGrid
+     * 
+     * @param tileGrid - the tiles of the level
+     */
+    public CollisionMap(TileGrid tileGrid) {
+        this.height = tileGrid.getHeight();
+        this.width = tileGrid.getWidth();
+        this.flags = new byte[width * height];
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                final int value = tileGrid.getUnchecked(i, j);
+                // anything that isn't a real tile is solid
+                flags[j * width + i] = (value >= 0 && value < TILE_COUNT) ? FLAGS_BY_TILE[value] : SOLID;
+            }
+        }
+
+        // find every walkable span, 1 row at a time. There can't be more spans than half of the
+        // tiles in a row (rounded up) since each span needs a tile between it and the next one
+        this.spans = new int[width * height];
+        final int maxSpans = height * ((width + 1) / 2) + 1;
+        final int[] starts = new int[maxSpans];
+        final int[] ends = new int[maxSpans];
+        int count = 0;
+        for (int j = 0; j < height; j++) {
+            // 0 means the last tile wasn't in a span
+            int current = 0;
+            for (int i = 0; i < width; i++) {
+                if (!isSpanTile(i, j)) {
+                    current = 0;
+                    continue;
+                }
+                // a walkable tile after one that isn't starts a new span
+                if (current == 0) {
+                    current = ++count;
+                    starts[current] = i;
+                }
+                ends[current] = i;
+                spans[j * width + i] = current;
+            }
+        }
+        this.spanCount = count;
+        this.spanStarts = Arrays.copyOf(starts, count + 1);
+        this.spanEnds = Arrays.copyOf(ends, count + 1);
+    }
+
+    /**
+     * This is a helper method that checks if a tile can be part of a walkable span: it can be
+     * stood in, and the tile under it can be walked on. The bottom row never has ground under
+     * it.
+     * 
+     * @param x - the column of the tile
+     * @param y - the row of the tile
+     * @return true if an Entity could stand in this tile
+     */
+    private boolean isSpanTile(int x, int y) {
+        return !isSolid(x, y) && y + 1 < height && isWalkableTop(x, y + 1);
+    }
+
+    /**
+     * This is a helper method that works out the flags for a sprite index. These are the
+     * rules that used to be checked on every collision.
+     * 
+     * @param value - the sprite index of the tile
+     * @return the flags for that tile
+     */
+    private static byte flagsFor(int value) {
+        if (value == AIR_TILE) {
+            return AIR;
+        }
+        if (value == LAVA_TILE) {
+            return SOLID | LAVA;
+        }
+        return SOLID | WALKABLE_TOP;
+    }
+
+    /**
+     * Getter for the flags of a tile. Tiles outside of the level are solid.
+     * 
+     * @param x - the column of the tile
+     * @param y - the row of the tile
+     * @return the flags of the tile
+     */
+    public int getFlags(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return OUTSIDE_FLAGS;
+        }
+        return flags[y * width + x];
+    }
+
+    /**
+     * Checks if a tile is solid. Tiles outside of the level are solid.
+     * 
+     * @param x - the column of the tile
+     * @param y - the row of the tile
+     * @return true if the tile can't be moved through
+     */
+    public boolean isSolid(int x, int y) {
+        return (getFlags(x, y) & SOLID) != 0;
+    }
+
+    /**
+     * Checks if a tile is lava
+     * 
+     * @param x - the column of the tile
+     * @param y - the row of the tile
+     * @return true if the tile is lava
+     */
+    public boolean isLava(int x, int y) {
+        return (getFlags(x, y) & LAVA) != 0;
+    }
+
+    /**
+     * Checks if a tile can be walked on top of
+     * 
+     * @param x - the column of the tile
+     * @param y - the row of the tile
+     * @return true if the tile is solid and not lava
+     */
+    public boolean isWalkableTop(int x, int y) {
+        return (getFlags(x, y) & WALKABLE_TOP) != 0;
+    }
+
+    /**
+     * Getter for the id of the walkable span a tile is in
+     * 
+     * @param x - the column of the tile
+     * @param y - the row of the tile
+     * @return the id of the span, or 0 if the tile isn't in one
+     */
+    public int getSpan(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return 0;
+        }
+        return spans[y * width + x];
+    }
+
+    /**
+     * Checks if 2 tiles in the same row are on the same walkable span, meaning an Entity can
+     * walk from one to the other without falling, hitting a wall, or stepping on lava.
+     * 
+     * @param x1 - the column of the first tile
+     * @param x2 - the column of the second tile
+     * @param y  - the row of both tiles
+     * @return true if both tiles are in the same span
+     */
+    public boolean isSameSpan(int x1, int x2, int y) {
+        final int span = getSpan(x1, y);
+        return span != 0 && span == getSpan(x2, y);
+    }
+
+    /**
+     * Getter for the first column of the walkable span a tile is in
+     * 
+     * @param x - the column of the tile
+     * @param y - the row of the tile
+     * @return the left-most column of the span, or -1 if the tile isn't in one
+     */
+    public int getSpanStart(int x, int y) {
+        final int span = getSpan(x, y);
+        return span == 0 ? -1 : spanStarts[span];
+    }
+
+    /**
+     * Getter for the last column of the walkable span a tile is in
+     * 
+     * @param x - the column of the tile
+     * @param y - the row of the tile
+     * @return the right-most column of the span, or -1 if the tile isn't in one
+     */
+    public int getSpanEnd(int x, int y) {
+        final int span = getSpan(x, y);
+        return span == 0 ? -1 : spanEnds[span];
+    }
+
+    /**
+     * Getter for how many walkable spans there are in the level
+     * 
+     * @return the amount of spans
+     */
+    public int getSpanCount() {
+        return spanCount;
+    }
+
+    /**
+     * Getter for how many tiles wide the level is
+     * 
+     * @return the width in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Getter for how many tiles tall the level is
+     * 
+     * @return the height in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -1,7 +1,14 @@
 package levels;
 
+import static utils.Constants.EnemyConstants.SKELETON;
+import static utils.Constants.EnemyConstants.SKELETON_KING;
+
+import java.util.ArrayList;
 import java.util.List;
 
+import entities.Enemy;
+import entities.EnemyArchetype;
+import entities.EnemyStore;
 import entities.Skeleton;
 import entities.SkeletonKing;
 import utils.LoadSave;
@@ -20,13 +27,31 @@ public class Level {
      */
     public static final int SCORE_VALUE = 2000;
     /**
-     * the levelData that represents the environment of the level as a 2D int array
+     * the levelData that represents the environment of the level, stored as a flat TileGrid
      */
-    private int[][] lvlData;
+    private final TileGrid tileGrid;
     /**
      * The path to the file containing the RGB data-map for this level
      */
     private String fileName;
+    /**
+     * The compiled level, this holds the spawn table so the file doesn't have to be read
+     * again to find the enemies
+     */
+    private final LevelFile levelFile;
+    /**
+     * Where every enemy in this level spawns. This is decoded with the tiles and kept, so
+     * restarting the level doesn't need to read anything again.
+     */
+    private final List<SpawnPoint> spawns;
+    /**
+     * The path of the sprite sheet that this level's tiles are drawn from
+     */
+    private final String tileset;
+    /**
+     * What every tile does for collisions, worked out once when the level is loaded
+     */
+    private final CollisionMap collisionMap;
     /**
      * This keeps track of if the level has been 100% completed by the user
      */
@@ -38,13 +63,28 @@ public class Level {
     private Boolean hidden = true;
 
     /**
-     * Constructor for a Level
+     * Constructor for a Level that uses the world 1 tiles
      * 
      * @param levelFileName - the file containing the RGB map of the Level
      */
     public Level(String levelFileName) {
+        this(levelFileName, LoadSave.WORLD1_SPRITES);
+    }
+
+    /**
+     * Constructor for a Level
+     * 
+     * @param levelFileName - the file containing the RGB map of the Level
+     * @param tileset       - the path of the sprite sheet that the tiles are drawn from
+     */
+    public Level(String levelFileName, String tileset) {
         this.fileName = levelFileName;
-        this.lvlData = LoadSave.getLevelData(levelFileName);
+        this.tileset = tileset;
+        // this reads the binary level file, or compiles the RGB map if there isn't one
+        this.levelFile = LevelFile.load(levelFileName);
+        this.tileGrid = levelFile.toTileGrid();
+        this.spawns = levelFile.getSpawns();
+        this.collisionMap = new CollisionMap(tileGrid);
     }
 
     /**
@@ -53,18 +93,49 @@ public class Level {
      * @param x - the x index (second array index)
      * @param y - the y index (first array index)
      * @return the int for the index determined by the parameters
+     * @throws IndexOutOfBoundsException if the index is outside of the level
      */
     public int getSpriteIndex(int x, int y) {
-        return lvlData[y][x];
+        if (x < 0 || y < 0 || x >= tileGrid.getWidth() || y >= tileGrid.getHeight()) {
+            throw new IndexOutOfBoundsException("Tile (" + x + ", " + y + ") is outside of " + fileName);
+        }
+        return tileGrid.getUnchecked(x, y);
     }
 
     /**
      * Getter for the Level's data
      * 
-     * @return the 2D int Array representing the level
+     * @return the TileGrid representing the level
      */
-    public int[][] getLevelData() {
-        return lvlData;
+    public TileGrid getLevelData() {
+        return tileGrid;
+    }
+
+    /**
+     * Getter for the tileset of this level
+     * 
+     * @return the path of the sprite sheet that the tiles are drawn from
+     */
+    public String getTileset() {
+        return tileset;
+    }
+
+    /**
+     * Getter for the collision flags of every tile in this level
+     * 
+     * @return the CollisionMap of this level
+     */
+    public CollisionMap getCollisionMap() {
+        return collisionMap;
+    }
+
+    /**
+     * Getter for where every enemy in this level spawns
+     * 
+     * @return a List of every SpawnPoint, this List can't be changed
+     */
+    public List<SpawnPoint> getSpawns() {
+        return spawns;
     }
 
     /**
@@ -106,22 +177,65 @@ public class Level {
 
     /**
      * Return a List of all the Skeletons in this level, it is currently stored as an
-     * ArrayList.
+     * ArrayList. They are spawned into a new EnemyStore that only they use, so they aren't
+     * the same enemies that the EnemyManager updates.
      * 
      * @return a List storing all Skeletons in this Level
      */
     public List<Skeleton> getSkeletons() {
-        return LoadSave.getSkeletons(fileName);
+        List<Skeleton> skelList = new ArrayList<>();
+        for (Enemy e : spawnEnemies(SKELETON)) {
+            skelList.add((Skeleton) e);
+        }
+        return skelList;
     }
 
     /**
      * Return a List of all the Skeleton Kings in this level, it is currently stored as an
-     * ArrayList.
+     * ArrayList. They are spawned into a new EnemyStore that only they use, so they aren't
+     * the same enemies that the EnemyManager updates.
      * 
      * @return a List storing all Skeleton Kings in this Level
      */
     public List<SkeletonKing> getSkeletonKings() {
-        return LoadSave.getSkeletonKings(fileName);
+        List<SkeletonKing> kingList = new ArrayList<>();
+        for (Enemy e : spawnEnemies(SKELETON_KING)) {
+            kingList.add((SkeletonKing) e);
+        }
+        return kingList;
+    }
+
+    /**
+     * Return a List of every Enemy in this level, spawned from the spawn table into a new
+     * EnemyStore for each type. The enemies are grouped by type, in the order of the
+     * archetypes, so every Enemy of 1 type is next to each other.
+     * 
+     * @return a List storing every Enemy in this Level
+     */
+    public List<Enemy> getEnemies() {
+        List<Enemy> enemyList = new ArrayList<>(spawns.size());
+        for (int type = 0; type < EnemyArchetype.count(); type++) {
+            enemyList.addAll(spawnEnemies(type));
+        }
+        return enemyList;
+    }
+
+    /**
+     * This is a helper method that spawns every Enemy of 1 type in this level into 1 new
+     * EnemyStore
+     * 
+     * @param enemyType - the type of Enemy to spawn, based on the EnemyConstants
+     * @return the loaded enemies of the new store
+     */
+    private List<Enemy> spawnEnemies(int enemyType) {
+        final EnemyArchetype archetype = EnemyArchetype.get(enemyType);
+        final EnemyStore store = new EnemyStore(enemyType, 0);
+        for (SpawnPoint spawn : spawns) {
+            if (spawn.getEnemyType() == enemyType) {
+                archetype.spawn(store, spawn);
+            }
+        }
+        return store.getEnemies();
     }
 
     /**
@@ -132,25 +246,8 @@ public class Level {
      * @return true if the two levels are equivalent, false if not
      */
     public boolean equals(Level otherLevel) {
-        int[][] otherLevelData = otherLevel.getLevelData();
-        // check that both dimensions are the same
-        if (this.lvlData.length != otherLevelData.length) {
-            return false;
-        }
-        if (this.lvlData[0].length != otherLevelData[0].length) {
-            return false;
-        }
-        // make sure that every index is the same
-        for (int i = 0; i < lvlData.length; i++) {
-            for (int j = 0; j < lvlData[i].length; j++) {
-                if (lvlData[i][j] != otherLevelData[i][j]) {
-                    return false;
-                }
-            }
-        }
-        // if passed all tests above, they are the same
-        return true;
-
+        // the TileGrids check that both dimensions and every index are the same
+        return tileGrid.equals(otherLevel.getLevelData());
     }
 
 }
@@ -0,0 +1,365 @@
+package levels;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import main.Game;
+import utils.LoadSave;
+
+/**
+ * The tiles in a Level never change once it is loaded, so instead of drawing every tile
+ * every frame, this class draws the Level once into a few large images (chunks). Each
+ * chunk is a block of the Level that is CHUNK_TILES_WIDE tiles wide and CHUNK_TILES_HIGH
+ * tiles tall, so Levels can be any width and any height and only the blocks on screen are
+ * drawn.<br>
+ * <br>
+ * The chunk images are much bigger than the tiles they are made from, so only a limited
+ * amount of them are kept at once. The chunks that were drawn least recently are thrown
+ * away first when there are too many, and they are made again if the camera comes back.
+ * While the camera moves, a background thread makes the chunks just off screen ahead of
+ * time so they are ready before they are needed. This keeps the memory the same no matter
+ * how wide the Level is.
+ */
+public class LevelChunkCache {
+    /**
+     * How many tiles wide each chunk is
+     */
+    public static final int CHUNK_TILES_WIDE = 8;
+    /**
+     * How many pixels wide each chunk is (already scaled)
+     */
+    public static final int CHUNK_WIDTH = CHUNK_TILES_WIDE * Game.TILES_SIZE;
+    /**
+     * How many tiles tall each chunk is, this is 1 screen so a Level that is 1 screen tall
+     * only has 1 row of chunks
+     */
+    public static final int CHUNK_TILES_HIGH = Game.TILES_IN_HEIGHT;
+    /**
+     * How many pixels tall each chunk is (already scaled)
+     */
+    public static final int CHUNK_HEIGHT = CHUNK_TILES_HIGH * Game.TILES_SIZE;
+    /**
+     * The most chunks that can be on screen at one time
+     */
+    public static final int MAX_CHUNKS_ON_SCREEN = ((Game.GAME_WIDTH - 1) / CHUNK_WIDTH + 2)
+            * ((Game.GAME_HEIGHT - 1) / CHUNK_HEIGHT + 2);
+    /**
+     * How many columns of chunks past each side of the screen are made ahead of time
+     */
+    public static final int PREFETCH_COLUMNS = 2;
+    /**
+     * The most chunk images that are kept at once by default. This is enough for everything on
+     * screen and the chunks being made ahead of time on both sides.
+     */
+    public static final int MAX_RESIDENT_CHUNKS = 2 * MAX_CHUNKS_ON_SCREEN;
+    /**
+     * The index of the tile that is transparent, it doesn't need to be drawn
+     */
+    private static final int AIR_TILE = 11;
+
+    /**
+     * The Level that the chunks are made from. This is read by the prefetch thread so it can
+     * throw away chunks that finish after the Level has changed.
+     */
+    private volatile Level level;
+    /**
+     * The tiles that the chunks are drawn with, this is shared with any other Level from the
+     * same world
+     */
+    private volatile Tileset tileset;
+    /**
+     * How many chunks wide the Level is
+     */
+    private int chunksWide;
+    /**
+     * How many chunks tall the Level is
+     */
+    private int chunksHigh;
+    /**
+     * The most chunk images that can be kept at once
+     */
+    private final int maxResident;
+    /**
+     * The chunk images that are currently made, by their index (row by row starting at the
+     * top). This is kept in the order the chunks were last used, so the first one is the one
+     * to throw away. It is shared with the prefetch thread, so it has to be synchronized on.
+     */
+    private final Map<Integer, BufferedImage> resident;
+    /**
+     * The indexes of the chunks that the prefetch thread has been asked to make but hasn't
+     * finished yet, so the same chunk isn't asked for twice
+     */
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+    /**
+     * The background thread that makes the chunks just off screen
+     */
+    private final ExecutorService prefetcher;
+    /**
+     * How many chunks the prefetch thread has made (for checking it is working)
+     */
+    private volatile int prefetched = 0;
+
+    /**
+     * Constructor for a LevelChunkCache that keeps MAX_RESIDENT_CHUNKS chunks at once
+     */
+    public LevelChunkCache() {
+        this(MAX_RESIDENT_CHUNKS);
+    }
+
+    /**
+     * Constructor for a LevelChunkCache
+     * 
+     * @param maxResident - the most chunk images that can be kept at once, this should be at
+     *                    least MAX_CHUNKS_ON_SCREEN
+     */
+    public LevelChunkCache(int maxResident) {
+        this.maxResident = Math.max(1, maxResident);
+        // true makes the map keep the order that the chunks were used in, not added in
+        this.resident = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+                if (size() > LevelChunkCache.this.maxResident) {
+                    eldest.getValue().flush();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.prefetcher = Executors.newSingleThreadExecutor(r -> {
+            final Thread t = new Thread(r, "LevelChunkPrefetch");
+            // the prefetch thread shouldn't keep the game open when it is closed
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Setter for the Level that will be drawn. If it is a different Level than before, all of
+     * the old chunks are thrown away and new ones will be made when they are drawn.
+     * 
+     * @param level - the Level to draw
+     */
+    public void setLevel(Level level) {
+        if (this.level == level) {
+            return;
+        }
+        // get the new tileset before letting go of the old one, so a Level from the same world
+        // reuses the tiles instead of cutting them up again
+        final Tileset next = level == null ? null : TilesetCache.acquire(level.getTileset());
+        evict();
+        this.tileset = next;
+        if (level != null) {
+            final TileGrid tiles = level.getLevelData();
+            // round up so the last partial block gets a chunk too
+            chunksWide = (tiles.getWidth() + CHUNK_TILES_WIDE - 1) / CHUNK_TILES_WIDE;
+            chunksHigh = (tiles.getHeight() + CHUNK_TILES_HIGH - 1) / CHUNK_TILES_HIGH;
+        }
+        this.level = level;
+    }
+
+    /**
+     * This will throw away all of the chunk images that are currently made, and lets go of
+     * the tileset they were drawn with
+     */
+    public void evict() {
+        level = null;
+        if (tileset != null) {
+            TilesetCache.release(tileset.getId());
+            tileset = null;
+        }
+        synchronized (resident) {
+            for (BufferedImage chunk : resident.values()) {
+                chunk.flush();
+            }
+            resident.clear();
+        }
+        pending.clear();
+        chunksWide = 0;
+        chunksHigh = 0;
+    }
+
+    /**
+     * This will draw every chunk that is on screen, making any that haven't been made yet.
+     * Chunks that are off screen in either direction are skipped. After drawing, the columns
+     * just off each side of the screen are given to the prefetch thread to make.
+     * 
+     * @param g            - the Graphics to draw on
+     * @param xLevelOffset - the current xOffset of the game from screen-scrolling
+     *                     horizontally
+     * @param yLevelOffset - the current yOffset of the game from screen-scrolling
+     *                     vertically
+     * @return the amount of drawImage calls that were made
+     */
+    public int draw(Graphics g, int xLevelOffset, int yLevelOffset) {
+        final Level owner = level;
+        final Tileset tiles = tileset;
+        if (owner == null || tiles == null) {
+            return 0;
+        }
+        // the first and last (exclusive) columns and rows of chunks that are on screen
+        final int firstCol = Math.max(0, xLevelOffset / CHUNK_WIDTH);
+        final int lastCol = Math.min(chunksWide, (xLevelOffset + Game.GAME_WIDTH - 1) / CHUNK_WIDTH + 1);
+        final int firstRow = Math.max(0, yLevelOffset / CHUNK_HEIGHT);
+        final int lastRow = Math.min(chunksHigh, (yLevelOffset + Game.GAME_HEIGHT - 1) / CHUNK_HEIGHT + 1);
+
+        int drawCalls = 0;
+        for (int j = firstRow; j < lastRow; j++) {
+            for (int i = firstCol; i < lastCol; i++) {
+                final int index = j * chunksWide + i;
+                BufferedImage chunk = getResident(index);
+                if (chunk == null) {
+                    // it is on screen now, so it can't wait for the prefetch thread
+                    chunk = buildChunk(owner, tiles, i, j);
+                    store(owner, index, chunk);
+                }
+                // the chunk is already the right size so it doesn't need to be scaled
+                g.drawImage(chunk, i * CHUNK_WIDTH - xLevelOffset, j * CHUNK_HEIGHT - yLevelOffset, null);
+                drawCalls++;
+            }
+        }
+
+        // get the columns on both sides ready, since the camera could go either way
+        for (int j = firstRow; j < lastRow; j++) {
+            for (int n = 1; n <= PREFETCH_COLUMNS; n++) {
+                prefetch(owner, tiles, lastCol - 1 + n, j);
+                prefetch(owner, tiles, firstCol - n, j);
+            }
+        }
+        return drawCalls;
+    }
+
+    /**
+     * This is a helper method to get a chunk image if it is already made. Getting it also
+     * marks it as the most recently used chunk.
+     * 
+     * @param index - the index of the chunk
+     * @return the chunk image, or null if it isn't made
+     */
+    private BufferedImage getResident(int index) {
+        synchronized (resident) {
+            return resident.get(index);
+        }
+    }
+
+    /**
+     * This is a helper method that keeps a chunk image that was just made. If the Level
+     * changed while the chunk was being made, it is thrown away instead.
+     * 
+     * @param owner - the Level the chunk was made from
+     * @param index - the index of the chunk
+     * @param chunk - the chunk image
+     */
+    private void store(Level owner, int index, BufferedImage chunk) {
+        synchronized (resident) {
+            if (level != owner) {
+                chunk.flush();
+                return;
+            }
+            resident.putIfAbsent(index, chunk);
+        }
+    }
+
+    /**
+     * This is a helper method that asks the prefetch thread to make a chunk, if it is in the
+     * Level and isn't already made or being made.
+     * 
+     * @param owner - the Level the chunk should be made from
+     * @param tiles - the Tileset to draw the chunk with
+     * @param col   - the column of the chunk
+     * @param row   - the row of the chunk
+     */
+    private void prefetch(Level owner, Tileset tiles, int col, int row) {
+        if (col < 0 || col >= chunksWide || row < 0 || row >= chunksHigh) {
+            return;
+        }
+        final int index = row * chunksWide + col;
+        synchronized (resident) {
+            if (resident.containsKey(index)) {
+                return;
+            }
+        }
+        if (!pending.add(index)) {
+            return;
+        }
+        prefetcher.execute(() -> {
+            try {
+                // the Level could have changed while this was waiting
+                if (level == owner && getResident(index) == null) {
+                    store(owner, index, buildChunk(owner, tiles, col, row));
+                    prefetched++;
+                }
+            } finally {
+                pending.remove(index);
+            }
+        });
+    }
+
+    /**
+     * This is a helper method that draws every tile in a chunk onto a new image
+     * 
+     * @param owner    - the Level to make the chunk from
+     * @param tileset  - the Tileset to draw the tiles with
+     * @param chunkCol - the column of the chunk to make
+     * @param chunkRow - the row of the chunk to make
+     * @return the image with all of the chunk's tiles drawn on it
+     */
+    private static BufferedImage buildChunk(Level owner, Tileset tileset, int chunkCol, int chunkRow) {
+        final TileGrid tiles = owner.getLevelData();
+        final int firstCol = chunkCol * CHUNK_TILES_WIDE;
+        final int lastCol = Math.min(tiles.getWidth(), firstCol + CHUNK_TILES_WIDE);
+        final int firstRow = chunkRow * CHUNK_TILES_HIGH;
+        final int lastRow = Math.min(tiles.getHeight(), firstRow + CHUNK_TILES_HIGH);
+
+        final BufferedImage chunk = LoadSave.createCompatibleImage(CHUNK_WIDTH, CHUNK_HEIGHT);
+        final Graphics2D g2D = chunk.createGraphics();
+        for (int j = firstRow; j < lastRow; j++) {
+            for (int i = firstCol; i < lastCol; i++) {
+                final int index = tiles.getUnchecked(i, j);
+                // the transparent tile doesn't need to be drawn
+                if (index != AIR_TILE) {
+                    tileset.draw(g2D, index, (i - firstCol) * Game.TILES_SIZE, (j - firstRow) * Game.TILES_SIZE);
+                }
+            }
+        }
+        g2D.dispose();
+        return chunk;
+    }
+
+    /**
+     * Getter for how many chunks have been made for the current Level and are still kept
+     * 
+     * @return the amount of chunk images currently in memory
+     */
+    public int getBuiltChunks() {
+        synchronized (resident) {
+            return resident.size();
+        }
+    }
+
+    /**
+     * Getter for the most chunk images that can be kept at once
+     * 
+     * @return the max amount of chunk images in memory
+     */
+    public int getMaxResident() {
+        return maxResident;
+    }
+
+    /**
+     * Getter for how many chunks the prefetch thread has made since this was made
+     * 
+     * @return the amount of chunks made ahead of time
+     */
+    public int getPrefetchedChunks() {
+        return prefetched;
+    }
+}
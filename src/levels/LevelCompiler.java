@@ -0,0 +1,68 @@
+package levels;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import utils.LoadSave;
+
+/**
+ * This is a build tool that compiles the RGB map of every level into the binary level
+ * format (LevelFile). It should be run whenever a level's RGB map is changed, so the
+ * binary file next to it stays up to date. If a binary file is missing, the game will
+ * compile the RGB map itself when it loads, it is just slower.
+ */
+public class LevelCompiler {
+
+    /**
+     * This will compile every level. The first argument can be the path to the resource
+     * folder, if it isn't given then "res" is used.
+     * 
+     * @param args - optionally, the path to the resource folder
+     */
+    public static void main(String[] args) {
+        final String resFolder = args.length > 0 ? args[0] : "res";
+        // every level that is played, plus the default level used for testing
+        final List<String> levels = new ArrayList<>();
+        for (LevelInfo info : LevelRegistry.getDefault().getAll()) {
+            levels.add(info.getMapFile());
+        }
+        levels.add(LoadSave.DEFAULT_LEVEL);
+
+        boolean allCompiled = true;
+        for (String level : levels) {
+            try {
+                compile(new File(resFolder + level), new File(resFolder + LevelFile.binaryName(level)));
+            } catch (IOException e) {
+                System.err.println("Failed to compile " + level + ": " + e.getMessage());
+                allCompiled = false;
+            }
+        }
+        if (!allCompiled) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * This compiles 1 RGB map into a binary level file
+     * 
+     * @param imageFile  - the RGB map of the level
+     * @param binaryFile - where to write the binary level file
+     * @throws IOException if the RGB map can't be read or the binary file can't be written
+     */
+    public static void compile(File imageFile, File binaryFile) throws IOException {
+        final BufferedImage img = ImageIO.read(imageFile);
+        if (img == null) {
+            throw new IOException("not an image");
+        }
+        final byte[] bytes = LevelFile.fromImage(img).toBytes();
+        Files.write(binaryFile.toPath(), bytes);
+        System.out.println(imageFile.getPath() + " (" + imageFile.length() + " bytes) -> " + binaryFile.getPath()
+                + " (" + bytes.length + " bytes)");
+    }
+}
@@ -0,0 +1,331 @@
+package levels;
+
+import static utils.Constants.EnemyConstants.SKELETON;
+import static utils.Constants.EnemyConstants.SKELETON_KING;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import utils.LoadSave;
+
+/**
+ * This class is the compact binary form of a Level. Instead of decoding a PNG and reading
+ * the colors of every pixel, the tiles are stored as 1 byte each along with a table of
+ * where every enemy spawns. The whole file is read at once and copied straight into the
+ * arrays.<br>
+ * <br>
+ * The file layout (all numbers are big-endian):
+ * <ul>
+ * <li>4 bytes: MAGIC, to make sure it is a level file</li>
+ * <li>1 byte: VERSION</li>
+ * <li>2 bytes each: the width and then the height of the level in tiles</li>
+ * <li>width * height bytes: the tile indexes, row by row starting at the top</li>
+ * <li>2 bytes: how many spawns there are</li>
+ * <li>5 bytes per spawn: the enemy type (1 byte), then the tile x and tile y (2 bytes
+ * each)</li>
+ * </ul>
+ */
+public class LevelFile {
+    /**
+     * The first 4 bytes of every level file, the letters "ADLV"
+     */
+    public static final int MAGIC = 0x41444C56;
+    /**
+     * The version of the file layout, this should change if the layout changes
+     */
+    public static final byte VERSION = 1;
+    /**
+     * The file extension for the binary level files
+     */
+    public static final String EXTENSION = ".lvl";
+    /**
+     * The file extension for the RGB map level files
+     */
+    private static final String IMAGE_EXTENSION = ".png";
+    /**
+     * The red values at or above this are not tiles, so they are changed to 0
+     */
+    private static final int MAX_TILE_INDEX = 48;
+    /**
+     * this is the green value used to determine which tiles have Skeletons on in from the RGB
+     * level data
+     */
+    private static final int SKELETON_GREEN_VALUE = 50;
+    /**
+     * this is the green value used to determine which tiles have Skeleton King on in from the
+     * RGB level data
+     */
+    private static final int SKELETON_KING_GREEN_VALUE = 51;
+    /**
+     * The biggest size, count, or coordinate that fits in the 2 unsigned bytes the file uses
+     * for them
+     */
+    public static final int MAX_UNSIGNED_SHORT = 0xFFFF;
+
+    /**
+     * Every LevelFile that has been loaded by the name of its RGB map, so each level is only
+     * read once
+     */
+    private static final Map<String, LevelFile> cache = new ConcurrentHashMap<>();
+
+    /**
+     * How many tiles wide the level is
+     */
+    private final int width;
+    /**
+     * How many tiles tall the level is
+     */
+    private final int height;
+    /**
+     * Every tile index in the level, row by row starting at the top
+     */
+    private final byte[] tiles;
+    /**
+     * Where every enemy spawns, in the order they were found (row by row). This list can't
+     * be changed.
+     */
+    private final List<SpawnPoint> spawns;
+
+    /**
+     * Constructor for a LevelFile, this is private since LevelFiles should be made from
+     * fromImage or read.
+     * 
+     * @param width  - how many tiles wide the level is
+     * @param height - how many tiles tall the level is
+     * @param tiles  - every tile index, row by row starting at the top
+     * @param spawns - where every enemy spawns
+     */
+    private LevelFile(int width, int height, byte[] tiles, List<SpawnPoint> spawns) {
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+        this.spawns = List.copyOf(spawns);
+    }
+
+    /**
+     * This will load a level. It reads the binary file next to the RGB map if there is one,
+     * and if there isn't (or it is broken) the RGB map is compiled instead. Each level is
+     * only loaded once, after that the same LevelFile is returned.
+     * 
+     * @param levelFileName - the file containing the RGB map of the Level
+     * @return the LevelFile for that level
+     */
+    public static LevelFile load(String levelFileName) {
+        LevelFile file = cache.get(levelFileName);
+        if (file == null) {
+            file = loadUncached(levelFileName);
+            final LevelFile other = cache.putIfAbsent(levelFileName, file);
+            file = other == null ? file : other;
+        }
+        return file;
+    }
+
+    /**
+     * This will drop a level from the cache, so it can be freed once nothing else is using
+     * it. The next time it is loaded it will be read from the file again.
+     * 
+     * @param levelFileName - the file containing the RGB map of the Level
+     */
+    public static void unload(String levelFileName) {
+        cache.remove(levelFileName);
+    }
+
+    /**
+     * This is a helper method that loads a level without using the cache
+     * 
+     * @param levelFileName - the file containing the RGB map of the Level
+     * @return the LevelFile for that level
+     */
+    private static LevelFile loadUncached(String levelFileName) {
+        try (InputStream is = LevelFile.class.getResourceAsStream(binaryName(levelFileName))) {
+            if (is != null) {
+                return read(is);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read " + binaryName(levelFileName) + ", using the RGB map: " + e.getMessage());
+        }
+        // if there is no binary file, compile the RGB map
+        return fromImage(LoadSave.getLevelImage(levelFileName));
+    }
+
+    /**
+     * This gets the name of the binary level file that goes with an RGB map
+     * 
+     * @param levelFileName - the file containing the RGB map of the Level
+     * @return the same file name but with the binary extension
+     */
+    public static String binaryName(String levelFileName) {
+        if (levelFileName.endsWith(IMAGE_EXTENSION)) {
+            return levelFileName.substring(0, levelFileName.length() - IMAGE_EXTENSION.length()) + EXTENSION;
+        }
+        return levelFileName + EXTENSION;
+    }
+
+    /**
+     * This reads a binary level file. The whole file is read in 1 call and then copied into
+     * the arrays.
+     * 
+     * @param is - the stream of the binary level file
+     * @return the LevelFile in the stream
+     * @throws IOException if the stream can't be read or isn't a valid level file
+     */
+    public static LevelFile read(InputStream is) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(is.readAllBytes());
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("not a level file");
+            }
+            final byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException("unsupported level file version " + version);
+            }
+            final int width = Short.toUnsignedInt(buffer.getShort());
+            final int height = Short.toUnsignedInt(buffer.getShort());
+            final byte[] tiles = new byte[width * height];
+            buffer.get(tiles);
+
+            final int spawnCount = Short.toUnsignedInt(buffer.getShort());
+            final List<SpawnPoint> spawns = new ArrayList<>(spawnCount);
+            for (int i = 0; i < spawnCount; i++) {
+                final int type = buffer.get();
+                final int tileX = Short.toUnsignedInt(buffer.getShort());
+                final int tileY = Short.toUnsignedInt(buffer.getShort());
+                spawns.add(new SpawnPoint(type, tileX, tileY));
+            }
+            return new LevelFile(width, height, tiles, spawns);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("level file is too short");
+        }
+    }
+
+    /**
+     * This compiles an RGB map into a LevelFile. The red value of each pixel is the tile and
+     * the green value is the enemy that spawns there. All of the pixels are copied out of the
+     * image at once, and then the tiles and spawns are both found in a single pass over them.
+     * 
+     * @param img - the RGB map of the level
+     * @return the compiled LevelFile
+     * @throws IllegalArgumentException if the level is too big or has too many spawns to be
+     *                                  written to a level file
+     */
+    public static LevelFile fromImage(BufferedImage img) {
+        final int width = img.getWidth();
+        final int height = img.getHeight();
+        // every spawn is inside the level, so checking the size also checks their coordinates
+        checkUnsignedShort("width", width);
+        checkUnsignedShort("height", height);
+        // every pixel as packed ARGB, row by row
+        final int[] argb = img.getRGB(0, 0, width, height, null, 0, width);
+        final byte[] tiles = new byte[width * height];
+        final List<SpawnPoint> spawns = new ArrayList<>();
+
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                final int index = j * width + i;
+                int red = (argb[index] >> 16) & 0xFF;
+                if (red >= MAX_TILE_INDEX) {
+                    red = 0;
+                }
+                tiles[index] = (byte) red;
+
+                final int green = (argb[index] >> 8) & 0xFF;
+                if (green == SKELETON_GREEN_VALUE) {
+                    spawns.add(new SpawnPoint(SKELETON, i, j));
+                } else if (green == SKELETON_KING_GREEN_VALUE) {
+                    spawns.add(new SpawnPoint(SKELETON_KING, i, j));
+                }
+            }
+        }
+        checkUnsignedShort("spawn count", spawns.size());
+        return new LevelFile(width, height, tiles, spawns);
+    }
+
+    /**
+     * This turns the LevelFile into the bytes of a binary level file
+     * 
+     * @return the bytes that should be written to the file
+     * @throws IllegalArgumentException if a size, count, or coordinate doesn't fit in 2 bytes
+     */
+    public byte[] toBytes() {
+        // these are all written as 2 unsigned bytes, anything bigger would be read back wrong
+        checkUnsignedShort("width", width);
+        checkUnsignedShort("height", height);
+        checkUnsignedShort("spawn count", spawns.size());
+        for (SpawnPoint spawn : spawns) {
+            checkUnsignedShort("spawn x", spawn.getTileX());
+            checkUnsignedShort("spawn y", spawn.getTileY());
+        }
+        // header + tiles + spawn count + spawns
+        final ByteBuffer buffer = ByteBuffer.allocate(4 + 1 + 2 + 2 + tiles.length + 2 + spawns.size() * 5);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.putShort((short) width);
+        buffer.putShort((short) height);
+        buffer.put(tiles);
+        buffer.putShort((short) spawns.size());
+        for (SpawnPoint spawn : spawns) {
+            buffer.put((byte) spawn.getEnemyType());
+            buffer.putShort((short) spawn.getTileX());
+            buffer.putShort((short) spawn.getTileY());
+        }
+        return buffer.array();
+    }
+
+    /**
+     * This is a helper method that makes sure a number can be written as 2 unsigned bytes
+     * 
+     * @param name  - what the number is, used in the error message
+     * @param value - the number to check
+     * @throws IllegalArgumentException if the number is negative or above MAX_UNSIGNED_SHORT
+     */
+    private static void checkUnsignedShort(String name, int value) {
+        if (value < 0 || value > MAX_UNSIGNED_SHORT) {
+            throw new IllegalArgumentException(
+                    "the level " + name + " is " + value + " but has to be from 0 to " + MAX_UNSIGNED_SHORT);
+        }
+    }
+
+    /**
+     * This makes a TileGrid of the level's tiles. The TileGrid shares the tile array with
+     * this LevelFile, since neither of them ever change it.
+     * 
+     * @return a TileGrid of every tile index
+     */
+    public TileGrid toTileGrid() {
+        return new TileGrid(width, height, tiles);
+    }
+
+    /**
+     * Getter for how many tiles wide the level is
+     * 
+     * @return the width in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Getter for how many tiles tall the level is
+     * 
+     * @return the height in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Getter for where every enemy spawns in the level
+     * 
+     * @return a List of every SpawnPoint, this List can't be changed
+     */
+    public List<SpawnPoint> getSpawns() {
+        return spawns;
+    }
+}
@@ -0,0 +1,130 @@
+package levels;
+
+import java.awt.Point;
+
+/**
+ * A LevelInfo is everything about a Level that is known without loading it: its id and
+ * name, which files it uses, and where its button is on the overworld. It comes from 1 line
+ * of the level manifest, and it can't be changed once it is made.
+ */
+public final class LevelInfo {
+    /**
+     * Where the Level is in the stage order, starting at 0
+     */
+    private final int index;
+    /**
+     * The unique id of the Level
+     */
+    private final String id;
+    /**
+     * The name of the Level that is shown to the user
+     */
+    private final String name;
+    /**
+     * The file containing the RGB map of the Level
+     */
+    private final String mapFile;
+    /**
+     * The sprite sheet that the Level's tiles are drawn from
+     */
+    private final String tileset;
+    /**
+     * The name of the song that plays during the Level
+     */
+    private final String song;
+    /**
+     * Where the Level's button is on the overworld (already scaled)
+     */
+    private final Point overworldPoint;
+
+    /**
+     * Constructor for a LevelInfo
+     * 
+     * @param index          - where the Level is in the stage order, starting at 0
+     * @param id             - the unique id of the Level
+     * @param name           - the name of the Level that is shown to the user
+     * @param mapFile        - the file containing the RGB map of the Level
+     * @param tileset        - the sprite sheet that the Level's tiles are drawn from
+     * @param song           - the name of the song that plays during the Level
+     * @param overworldPoint - where the Level's button is on the overworld (already scaled)
+     */
+    public LevelInfo(int index, String id, String name, String mapFile, String tileset, String song,
+            Point overworldPoint) {
+        this.index = index;
+        this.id = id;
+        this.name = name;
+        this.mapFile = mapFile;
+        this.tileset = tileset;
+        this.song = song;
+        // copy it so the Point can't be changed from outside
+        this.overworldPoint = new Point(overworldPoint);
+    }
+
+    /**
+     * Getter for where the Level is in the stage order
+     * 
+     * @return the index of the Level, starting at 0
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Getter for the unique id of the Level
+     * 
+     * @return the id of the Level
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Getter for the name of the Level that is shown to the user
+     * 
+     * @return the name of the Level
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter for the file containing the RGB map of the Level
+     * 
+     * @return the path of the map file
+     */
+    public String getMapFile() {
+        return mapFile;
+    }
+
+    /**
+     * Getter for the sprite sheet that the Level's tiles are drawn from
+     * 
+     * @return the path of the tileset's sprite sheet
+     */
+    public String getTileset() {
+        return tileset;
+    }
+
+    /**
+     * Getter for the name of the song that plays during the Level
+     * 
+     * @return the name of the song
+     */
+    public String getSong() {
+        return song;
+    }
+
+    /**
+     * Getter for where the Level's button is on the overworld
+     * 
+     * @return a copy of the already scaled Point
+     */
+    public Point getOverworldPoint() {
+        return new Point(overworldPoint);
+    }
+
+    @Override
+    public String toString() {
+        return id + " (" + name + ")";
+    }
+}
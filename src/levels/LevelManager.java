@@ -1,26 +1,63 @@
 package levels;
 
 import java.awt.Graphics;
-import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import main.Game;
-import utils.LoadSave;
 
 /**
  * This class will handle things such as importing level sprites, drawing the level to the
- * screen, and keep track of the current level played
+ * screen, and keep track of the current level played.<br>
+ * <br>
+ * Levels are not all loaded when the game starts. Each Level is loaded the first time it is
+ * needed and then kept in a small cache, and the Levels that haven't been used in the
+ * longest time are dropped when the cache is full. The progress of every Level (if it is
+ * hidden or completed) is kept here, so it isn't lost when a Level is dropped. When a new
+ * Level is unlocked it is loaded in the background so it is ready when it is picked.
  * 
  * @author John Botonakis and Sean-Paul Brown
  */
 public class LevelManager {
     /**
-     * This holds all of the environmental sprites that is used to create the levels
+     * How many Levels are kept loaded at once by default
      */
-    private BufferedImage[] levelSprite;
+    public static final int DEFAULT_CACHE_SIZE = 3;
     /**
-     * This holds all of the levels that can be played in the game
+     * The info of every level that can be played in the game, read from the level manifest
      */
-    private Level[] levels = new Level[5];
+    private final LevelRegistry registry = LevelRegistry.getDefault();
+    /**
+     * The file of every level that can be played in the game, in stage order
+     */
+    private final String[] levelFiles = registry.getAll().stream().map(LevelInfo::getMapFile)
+            .toArray(String[]::new);
+    /**
+     * If each level is hidden from the user, this is only used while the Level isn't loaded
+     */
+    private final boolean[] hidden = new boolean[levelFiles.length];
+    /**
+     * If each level has been completed, this is only used while the Level isn't loaded
+     */
+    private final boolean[] completed = new boolean[levelFiles.length];
+    /**
+     * The most Levels that can be loaded at once
+     */
+    private final int cacheSize;
+    /**
+     * The Levels that are currently loaded by their index. This is kept in the order the
+     * Levels were last used, so the first one is the one to drop. It is shared with the
+     * preload thread, so it has to be synchronized on.
+     */
+    private final Map<Integer, Level> cache;
+    /**
+     * The background thread that loads the next Level before it is picked
+     */
+    private final ExecutorService preloader;
     /**
      * The current level that the user is on
      */
@@ -29,74 +66,192 @@ public class LevelManager {
      * The index of the current level in the levels array
      */
     private int currentLevelIndex;
+    /**
+     * How many drawImage calls were made the last time the level was drawn
+     */
+    private int drawCalls = 0;
+    /**
+     * How many times a Level has been loaded from its file (for checking the cache)
+     */
+    private final AtomicInteger loads = new AtomicInteger();
+    /**
+     * This holds the pre-drawn chunks of the current level so the tiles don't have to be drawn
+     * one by one every frame
+     */
+    private final LevelChunkCache chunkCache;
 
     /**
-     * Instantiates a manager for created level objects
+     * Instantiates a manager for created level objects that keeps DEFAULT_CACHE_SIZE Levels
+     * loaded
      * 
      * @param game - The Game object to which the level will be drawn onto
      */
     public LevelManager(Game game) {
-        importLevelSprites();
-        loadLevels();
-        // initially the current level is the first index
-        this.currentLevelIndex = 0;
-        this.currentLevel = levels[currentLevelIndex];
+        this(game, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Instantiates a manager for created level objects
+     * 
+     * @param game      - The Game object to which the level will be drawn onto
+     * @param cacheSize - the most Levels that can be loaded at once
+     */
+    public LevelManager(Game game, int cacheSize) {
+        this(game, cacheSize, false);
     }
 
     /**
-     * Load in the levels arrays with template levels.
+     * Instantiates a manager for created level objects. A headless manager never draws, so it
+     * doesn't keep any chunks or load any tilesets.
+     * 
+     * @param game      - The Game object to which the level will be drawn onto
+     * @param cacheSize - the most Levels that can be loaded at once
+     * @param headless  - true if the Levels will never be drawn
      */
-    private void loadLevels() {
-        levels[0] = new Level(LoadSave.LEVEL1_DATA);
-        levels[1] = new Level(LoadSave.LEVEL2_DATA);
-        levels[2] = new Level(LoadSave.LEVEL3_DATA);
-        levels[3] = new Level(LoadSave.LEVEL4_DATA);
-        levels[4] = new Level(LoadSave.LEVEL5_DATA);
+    public LevelManager(Game game, int cacheSize, boolean headless) {
+        this.cacheSize = Math.max(1, cacheSize);
+        this.chunkCache = headless ? null : new LevelChunkCache();
+        // true makes the map keep the order that the levels were used in, not added in
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
 
-        // load in rest of array with LEVEL2_DATA
-        for (int i = 5; i < levels.length; i++) {
-            levels[i] = new Level(LoadSave.LEVEL2_DATA);
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Level> eldest) {
+                if (size() > LevelManager.this.cacheSize) {
+                    unload(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.preloader = Executors.newSingleThreadExecutor(r -> {
+            final Thread t = new Thread(r, "LevelPreload");
+            // the preload thread shouldn't keep the game open when it is closed
+            t.setDaemon(true);
+            return t;
+        });
+        // every level starts hidden except the first one
+        Arrays.fill(hidden, true);
+        if (levelFiles.length > 0) {
+            hidden[0] = false;
         }
-//      levels[4] = new Level(LoadSave.getLevelData(LoadSave.LEVEL4_DATA));
+        // initially the current level is the first index
+        this.currentLevelIndex = 0;
+        this.currentLevel = getLevel(currentLevelIndex);
+        if (chunkCache != null) {
+            chunkCache.setLevel(currentLevel);
+        }
+    }
 
-        // the first level should be unhidden initially
-        levels[0].setHidden(false);
+    /**
+     * This is a helper method that gets a Level, loading it if it isn't already loaded
+     * 
+     * @param index - the index of the Level
+     * @return the Level at that index
+     */
+    private Level getLevel(int index) {
+        synchronized (cache) {
+            final Level cached = cache.get(index);
+            if (cached != null) {
+                return cached;
+            }
+            // the current level is always kept, even if it was dropped from the cache
+            if (index == currentLevelIndex && currentLevel != null) {
+                return currentLevel;
+            }
+        }
+        // load outside of the lock so the game thread isn't stuck waiting on the preload thread
+        final Level loaded = new Level(levelFiles[index], registry.get(index).getTileset());
+        loads.incrementAndGet();
+        synchronized (cache) {
+            final Level other = cache.get(index);
+            if (other != null) {
+                // the other thread loaded it first
+                return other;
+            }
+            loaded.setHidden(hidden[index]);
+            loaded.setCompleted(completed[index]);
+            cache.put(index, loaded);
+            return loaded;
+        }
     }
 
     /**
-     * Imports the sprites to build a level
+     * This is a helper method to get a Level only if it is already loaded. It doesn't load
+     * the Level or change the order of the cache.
+     * 
+     * @param index - the index of the Level
+     * @return the Level if it is loaded, null if not
      */
-    private void importLevelSprites() {
-        BufferedImage img = LoadSave.getSpriteSheet(LoadSave.WORLD1_SPRITES);
-        levelSprite = new BufferedImage[48]; // 12 sprites wide * 4 sprites tall = 48
-        for (int j = 0; j < 4; j++) {
-            for (int i = 0; i < 12; i++) {
-                int index = j * 12 + i;
-                levelSprite[index] = img.getSubimage(i * 32, j * 32, 32, 32);
+    private Level peekLevel(int index) {
+        synchronized (cache) {
+            if (index == currentLevelIndex && currentLevel != null) {
+                return currentLevel;
+            }
+            for (Map.Entry<Integer, Level> e : cache.entrySet()) {
+                if (e.getKey() == index) {
+                    return e.getValue();
+                }
             }
+            return null;
+        }
+    }
+
+    /**
+     * This is a helper method that saves a Level's progress before it is dropped from the
+     * cache, and lets go of its file so it can be freed.
+     * 
+     * @param index - the index of the Level
+     * @param level - the Level being dropped
+     */
+    private void unload(int index, Level level) {
+        hidden[index] = level.getHidden();
+        completed[index] = level.getCompleted();
+        // the current level is still being used, so its file is kept
+        if (level != currentLevel) {
+            LevelFile.unload(levelFiles[index]);
         }
+    }
 
+    /**
+     * This will load a Level on the background thread so it is ready before it is picked. If
+     * it is already loaded, nothing happens.
+     * 
+     * @param index - the index of the Level to load
+     */
+    public void preload(int index) {
+        if (index < 0 || index >= levelFiles.length || peekLevel(index) != null) {
+            return;
+        }
+        preloader.execute(() -> getLevel(index));
     }
 
     /**
-     * Draws the level to the screen with the provided sprite sheet
+     * Draws the level to the screen with the provided sprite sheet. The tiles are drawn once
+     * into chunks by the LevelChunkCache, so only the chunks on screen are drawn here.
      * 
      * @param g            - the Graphics to draw on
      * @param xLevelOffset - the current xOffset of the game from screen-scrolling
      *                     horizontally
+     * @param yLevelOffset - the current yOffset of the game from screen-scrolling
+     *                     vertically
      */
-    public void draw(Graphics g, int xLevelOffset) {
-        for (int j = 0; j < Game.TILES_IN_HEIGHT; j++) {
-            for (int i = 0; i < currentLevel.getLevelData()[0].length; i++) {
-                int index = currentLevel.getSpriteIndex(i, j);
-                // index 11 is a transparent tile, might as well not draw it
-                if (index != 11)
-                    g.drawImage(levelSprite[index], i * Game.TILES_SIZE - xLevelOffset, Game.TILES_SIZE * j,
-                            Game.TILES_SIZE, Game.TILES_SIZE, null);
-
-            }
-
+    public void draw(Graphics g, int xLevelOffset, int yLevelOffset) {
+        // a headless manager has no chunks to draw
+        if (chunkCache == null) {
+            return;
         }
+        drawCalls = chunkCache.draw(g, xLevelOffset, yLevelOffset);
+    }
+
+    /**
+     * Getter for how many drawImage calls the last draw made. This is used to check how much
+     * work drawing the level takes each frame.
+     * 
+     * @return the amount of drawImage calls from the last draw
+     */
+    public int getDrawCalls() {
+        return drawCalls;
     }
 
     /**
@@ -107,8 +262,22 @@ public class LevelManager {
      *                   number
      */
     public void setCurrentLevel(int levelIndex) {
-        this.currentLevelIndex = levelIndex;
-        this.currentLevel = levels[currentLevelIndex];
+        final Level next = getLevel(levelIndex);
+        synchronized (cache) {
+            final Level old = currentLevel;
+            final int oldIndex = currentLevelIndex;
+            this.currentLevelIndex = levelIndex;
+            this.currentLevel = next;
+            // if the old level was dropped from the cache while it was being played, its
+            // progress has to be saved now
+            if (old != null && !cache.containsValue(old)) {
+                unload(oldIndex, old);
+            }
+        }
+        // the old level's chunks are not needed anymore
+        if (chunkCache != null) {
+            chunkCache.setLevel(currentLevel);
+        }
     }
 
     /**
@@ -129,10 +298,47 @@ public class LevelManager {
      */
     public Level getLevelAtIndex(int levelIndex) {
         // sanity check
-        if (levelIndex < 0 || levelIndex >= levels.length) {
+        if (levelIndex < 0 || levelIndex >= levelFiles.length) {
             return null;
         }
-        return levels[levelIndex];
+        return getLevel(levelIndex);
+    }
+
+    /**
+     * Checks if a Level is hidden from the user. This doesn't need to load the Level.
+     * 
+     * @param levelIndex - the index of the Level
+     * @return true if the Level is hidden or the index is out of bounds, false if it can be
+     *         played
+     */
+    public boolean isLevelHidden(int levelIndex) {
+        // sanity check
+        if (levelIndex < 0 || levelIndex >= levelFiles.length) {
+            return true;
+        }
+        // the preload thread saves progress into the array under the same lock
+        synchronized (cache) {
+            final Level level = peekLevel(levelIndex);
+            return level != null ? level.getHidden() : hidden[levelIndex];
+        }
+    }
+
+    /**
+     * Checks if a Level has been completed. This doesn't need to load the Level.
+     * 
+     * @param levelIndex - the index of the Level
+     * @return true if the Level was completed, false if not or if the index is out of bounds
+     */
+    public boolean isLevelCompleted(int levelIndex) {
+        // sanity check
+        if (levelIndex < 0 || levelIndex >= levelFiles.length) {
+            return false;
+        }
+        // the preload thread saves progress into the array under the same lock
+        synchronized (cache) {
+            final Level level = peekLevel(levelIndex);
+            return level != null ? level.getCompleted() : completed[levelIndex];
+        }
     }
 
     /**
@@ -143,21 +349,13 @@ public class LevelManager {
      *         reached.
      */
     public boolean unhideNextLevels() {
-        // depending what the current level is, it should unhide different levels
-        // for now just unlock the next level
-        switch (currentLevelIndex) {
-        case 0:
-        case 1:
-        case 2:
-        case 3:
+        // for now just unlock the next level in the stage order
+        if (currentLevelIndex + 1 < levelFiles.length) {
             unhideLevel(currentLevelIndex + 1);
             return true;
-        case 4:
-            // at this point the demo was completed
-            return false;
-        default:
-            return true;
         }
+        // at this point the last level (the end of the demo) was completed
+        return false;
     }
 
     /**
@@ -166,16 +364,72 @@ public class LevelManager {
      * @param index - the index for the Level to set hidden false
      */
     private void unhideLevel(int index) {
-        levels[index].setHidden(false);
+        synchronized (cache) {
+            hidden[index] = false;
+            final Level level = peekLevel(index);
+            if (level != null) {
+                level.setHidden(false);
+            }
+        }
+        // the user will probably pick it next, so get it ready in the background
+        preload(index);
+    }
+
+    /**
+     * Getter for the info of a Level, this doesn't load the Level
+     * 
+     * @param levelIndex - the index of the Level
+     * @return the LevelInfo at that index, or null if it is out of bounds
+     */
+    public LevelInfo getLevelInfo(int levelIndex) {
+        return registry.get(levelIndex);
+    }
+
+    /**
+     * Getter for the info of the current Level
+     * 
+     * @return the LevelInfo of the current Level
+     */
+    public LevelInfo getCurrentLevelInfo() {
+        return registry.get(currentLevelIndex);
+    }
+
+    /**
+     * Getter for the registry of every Level in the game
+     * 
+     * @return the LevelRegistry read from the level manifest
+     */
+    public LevelRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Getter for how many Levels there are, this doesn't load any of them
+     * 
+     * @return the amount of Levels in the game
+     */
+    public int getLevelCount() {
+        return levelFiles.length;
+    }
+
+    /**
+     * Getter for how many Levels are loaded right now
+     * 
+     * @return the amount of Levels in the cache
+     */
+    public int getLoadedLevels() {
+        synchronized (cache) {
+            return cache.size();
+        }
     }
 
     /**
-     * Getter for the entire array of Levels
+     * Getter for how many times a Level has been loaded from its file
      * 
-     * @return the array containing all 15 levels
+     * @return the amount of Level loads since this was made
      */
-    public Level[] getLevels() {
-        return levels;
+    public int getLevelLoads() {
+        return loads.get();
     }
 
     /**
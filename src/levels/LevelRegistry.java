@@ -0,0 +1,213 @@
+package levels;
+
+import java.awt.Point;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import main.Game;
+
+/**
+ * This class holds the LevelInfo of every Level in the game. It is read from the level
+ * manifest, a text file where each line is 1 Level:
+ * 
+ * <pre>
+ * id, name, map file, tileset, song, overworld x, overworld y
+ * </pre>
+ * 
+ * Lines that are blank or start with # are skipped. The order of the lines is the stage
+ * order. Only the manifest is read, none of the Levels are loaded, so adding more Levels
+ * doesn't make the game start any slower. A Level can be found by its id or its index
+ * without searching.
+ */
+public class LevelRegistry {
+    /**
+     * The level manifest that the game uses
+     */
+    public static final String MANIFEST = "/levels.txt";
+    /**
+     * How many values are on each line of the manifest
+     */
+    private static final int FIELDS = 7;
+    /**
+     * The overworld positions in the manifest are at this scale
+     */
+    private static final float MANIFEST_SCALE = 1.75f;
+
+    /**
+     * The registry made from MANIFEST, it is only read once
+     */
+    private static LevelRegistry defaultRegistry;
+
+    /**
+     * Every Level in stage order, this List can't be changed
+     */
+    private final List<LevelInfo> levels;
+    /**
+     * Every Level by its id
+     */
+    private final Map<String, LevelInfo> byId;
+
+    /**
+     * Constructor for a LevelRegistry, this is private since it should be made from load or
+     * read
+     * 
+     * @param levels - every Level in stage order
+     */
+    private LevelRegistry(List<LevelInfo> levels) {
+        this.levels = List.copyOf(levels);
+        this.byId = new HashMap<>();
+        for (LevelInfo info : levels) {
+            byId.put(info.getId(), info);
+        }
+    }
+
+    /**
+     * Getter for the registry of the game's Levels. The manifest is read the first time this
+     * is called.
+     * 
+     * @return the LevelRegistry made from MANIFEST
+     * @throws IllegalStateException if the manifest is missing or doesn't have any Levels
+     */
+    public static synchronized LevelRegistry getDefault() {
+        if (defaultRegistry == null) {
+            defaultRegistry = loadRequired(MANIFEST);
+        }
+        return defaultRegistry;
+    }
+
+    /**
+     * This will read a level manifest from the resources like load, but the game can't be
+     * played without any Levels, so a manifest that is missing or empty is an error instead
+     * of an empty registry.
+     * 
+     * @param manifest - the path of the manifest in the resources
+     * @return the LevelRegistry of every Level in the manifest, it has at least 1 Level
+     * @throws IllegalStateException if the manifest is missing or doesn't have any Levels
+     */
+    public static LevelRegistry loadRequired(String manifest) {
+        final LevelRegistry registry = load(manifest);
+        if (registry.size() == 0) {
+            throw new IllegalStateException("The level manifest " + manifest + " has no levels");
+        }
+        return registry;
+    }
+
+    /**
+     * This will read a level manifest from the resources. If it can't be read, the error is
+     * printed and the registry will be empty.
+     * 
+     * @param manifest - the path of the manifest in the resources
+     * @return the LevelRegistry of every Level in the manifest
+     */
+    public static LevelRegistry load(String manifest) {
+        try (InputStream is = LevelRegistry.class.getResourceAsStream(manifest)) {
+            if (is == null) {
+                System.err.println("Could not find the level manifest " + manifest);
+                return new LevelRegistry(List.of());
+            }
+            return read(is);
+        } catch (IOException e) {
+            System.err.println("Could not read the level manifest " + manifest + ": " + e.getMessage());
+            return new LevelRegistry(List.of());
+        }
+    }
+
+    /**
+     * This will read a level manifest. Any line that isn't valid is printed and skipped, so
+     * 1 bad line doesn't stop the rest of the Levels from being used.
+     * 
+     * @param is - the stream of the manifest
+     * @return the LevelRegistry of every valid Level in the manifest
+     * @throws IOException if the stream can't be read
+     */
+    public static LevelRegistry read(InputStream is) throws IOException {
+        final List<LevelInfo> levels = new ArrayList<>();
+        final Map<String, LevelInfo> seen = new HashMap<>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            // skip blank lines and comments
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            final String[] fields = line.split(",");
+            if (fields.length != FIELDS) {
+                System.err.println("Skipping level manifest line " + lineNumber + ": expected " + FIELDS
+                        + " values but found " + fields.length);
+                continue;
+            }
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fields[i].trim();
+            }
+            if (seen.containsKey(fields[0])) {
+                System.err.println("Skipping level manifest line " + lineNumber + ": the id " + fields[0]
+                        + " is already used");
+                continue;
+            }
+            final Point point;
+            try {
+                point = new Point((int) (Integer.parseInt(fields[5]) / MANIFEST_SCALE * Game.SCALE),
+                        (int) (Integer.parseInt(fields[6]) / MANIFEST_SCALE * Game.SCALE));
+            } catch (NumberFormatException e) {
+                System.err.println("Skipping level manifest line " + lineNumber + ": bad overworld position");
+                continue;
+            }
+            final LevelInfo info = new LevelInfo(levels.size(), fields[0], fields[1], fields[2], fields[3],
+                    fields[4], point);
+            levels.add(info);
+            seen.put(info.getId(), info);
+        }
+        return new LevelRegistry(levels);
+    }
+
+    /**
+     * Getter for a Level's info by its id
+     * 
+     * @param id - the id of the Level
+     * @return the LevelInfo with that id, or null if there isn't one
+     */
+    public LevelInfo get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Getter for a Level's info by where it is in the stage order
+     * 
+     * @param index - the index of the Level, starting at 0
+     * @return the LevelInfo at that index, or null if it is out of bounds
+     */
+    public LevelInfo get(int index) {
+        if (index < 0 || index >= levels.size()) {
+            return null;
+        }
+        return levels.get(index);
+    }
+
+    /**
+     * Getter for every Level's info in stage order
+     * 
+     * @return a List of every LevelInfo, this List can't be changed
+     */
+    public List<LevelInfo> getAll() {
+        return levels;
+    }
+
+    /**
+     * Getter for how many Levels there are
+     * 
+     * @return the amount of Levels in the registry
+     */
+    public int size() {
+        return levels.size();
+    }
+}
@@ -0,0 +1,60 @@
+package levels;
+
+/**
+ * A SpawnPoint is where an enemy starts in a Level. It can't be changed once it is made,
+ * so the same SpawnPoints can be used every time the Level is restarted.
+ */
+public final class SpawnPoint {
+    /**
+     * The type of enemy that spawns here, from EnemyConstants
+     */
+    private final int enemyType;
+    /**
+     * The x of the tile that the enemy spawns on
+     */
+    private final int tileX;
+    /**
+     * The y of the tile that the enemy spawns on
+     */
+    private final int tileY;
+
+    /**
+     * Constructor for a SpawnPoint
+     * 
+     * @param enemyType - the type of enemy that spawns here, from EnemyConstants
+     * @param tileX     - the x of the tile that the enemy spawns on
+     * @param tileY     - the y of the tile that the enemy spawns on
+     */
+    public SpawnPoint(int enemyType, int tileX, int tileY) {
+        this.enemyType = enemyType;
+        this.tileX = tileX;
+        this.tileY = tileY;
+    }
+
+    /**
+     * Getter for the type of enemy that spawns here
+     * 
+     * @return the enemy type from EnemyConstants
+     */
+    public int getEnemyType() {
+        return enemyType;
+    }
+
+    /**
+     * Getter for the x of the tile the enemy spawns on
+     * 
+     * @return the tile x
+     */
+    public int getTileX() {
+        return tileX;
+    }
+
+    /**
+     * Getter for the y of the tile the enemy spawns on
+     * 
+     * @return the tile y
+     */
+    public int getTileY() {
+        return tileY;
+    }
+}
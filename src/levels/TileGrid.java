@@ -0,0 +1,141 @@
+package levels;
+
+import java.util.Arrays;
+
+/**
+ * A TileGrid holds the sprite index of every tile in a Level. Instead of a 2D array (an
+ * array of rows), all of the tiles are stored in 1 flat byte array, row by row starting at
+ * the top. Tile (x, y) is at index y * width + x, so reading a tile is a single array
+ * read, and the whole level fits in a quarter of the memory an int array would use.<br>
+ * <br>
+ * A TileGrid can't be changed once it is made, so the same one can be shared by everything
+ * that uses the Level.
+ */
+public final class TileGrid {
+    /**
+     * The sprite index that get returns for tiles outside of the grid, the transparent tile
+     */
+    public static final int OUTSIDE_TILE = 11;
+
+    /**
+     * How many tiles wide the grid is
+     */
+    private final int width;
+    /**
+     * How many tiles tall the grid is
+     */
+    private final int height;
+    /**
+     * The sprite index of every tile, row by row starting at the top
+     */
+    private final byte[] tiles;
+
+    /**
+     * Constructor for a TileGrid. The array is used as it is (not copied), so it must not be
+     * changed after this.
+     * 
+     * @param width  - how many tiles wide the grid is
+     * @param height - how many tiles tall the grid is
+     * @param tiles  - the sprite index of every tile, row by row starting at the top
+     */
+    TileGrid(int width, int height, byte[] tiles) {
+        if (tiles.length != width * height) {
+            throw new IllegalArgumentException("expected " + width * height + " tiles but got " + tiles.length);
+        }
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+    }
+
+    /**
+     * This makes a TileGrid from a 2D array of tiles, [y][x]. This is mostly useful for
+     * making small grids in tests.
+     * 
+     * @param lvlData - the sprite index of every tile as a 2D int array
+     * @return a TileGrid with the same tiles
+     */
+    public static TileGrid of(int[][] lvlData) {
+        final int height = lvlData.length;
+        final int width = lvlData[0].length;
+        final byte[] tiles = new byte[width * height];
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                tiles[j * width + i] = (byte) lvlData[j][i];
+            }
+        }
+        return new TileGrid(width, height, tiles);
+    }
+
+    /**
+     * Getter for a tile's sprite index. Tiles outside of the grid are the transparent tile.
+     * 
+     * @param x - the column of the tile
+     * @param y - the row of the tile
+     * @return the sprite index of the tile
+     */
+    public int get(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return OUTSIDE_TILE;
+        }
+        return tiles[y * width + x] & 0xFF;
+    }
+
+    /**
+     * Getter for a tile's sprite index without checking that it is inside of the grid. This
+     * is for loops that already stay inside of the grid.
+     * 
+     * @param x - the column of the tile, from 0 to getWidth - 1
+     * @param y - the row of the tile, from 0 to getHeight - 1
+     * @return the sprite index of the tile
+     */
+    public int getUnchecked(int x, int y) {
+        return tiles[y * width + x] & 0xFF;
+    }
+
+    /**
+     * Getter for how many tiles wide the grid is
+     * 
+     * @return the width in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Getter for how many tiles tall the grid is
+     * 
+     * @return the height in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Two TileGrids are equal if they are the same size and every tile is the same
+     * 
+     * @param obj - the other object to compare to
+     * @return true if obj is a TileGrid with the same tiles
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TileGrid)) {
+            return false;
+        }
+        final TileGrid other = (TileGrid) obj;
+        return width == other.width && height == other.height && Arrays.equals(tiles, other.tiles);
+    }
+
+    /**
+     * This makes a hash code from the size and every tile, so equal TileGrids have the same
+     * hash code
+     * 
+     * @return the hash code of the TileGrid
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + height) + Arrays.hashCode(tiles);
+    }
+}
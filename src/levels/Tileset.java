@@ -0,0 +1,105 @@
+package levels;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+import main.Game;
+import utils.LoadSave;
+
+/**
+ * A Tileset is every tile image from 1 world's sprite sheet. The sheet is cut into tiles,
+ * and each tile is scaled to TILES_SIZE and converted to the screen's format once, so the
+ * tiles can be drawn 1:1. The tile index from the level data is the index of the tile in
+ * the sheet, counting left to right and then top to bottom.<br>
+ * <br>
+ * Tilesets should be gotten from the TilesetCache so that Levels from the same world share
+ * 1 Tileset.
+ */
+public final class Tileset {
+    /**
+     * How many pixels wide and tall each tile is in the sprite sheet
+     */
+    public static final int SOURCE_TILE_SIZE = 32;
+
+    /**
+     * The id of this Tileset, which is the path of its sprite sheet
+     */
+    private final String id;
+    /**
+     * Every tile image, by tile index. Any that couldn't be made are null.
+     */
+    private final BufferedImage[] tiles;
+
+    /**
+     * Constructor for a Tileset. This cuts up and scales the whole sprite sheet, so it should
+     * only be used by the TilesetCache.
+     * 
+     * @param id - the path of the sprite sheet
+     */
+    Tileset(String id) {
+        this.id = id;
+        final BufferedImage sheet = LoadSave.getSpriteSheet(id);
+        if (sheet == null) {
+            System.err.println("Could not load the tileset " + id);
+            this.tiles = new BufferedImage[0];
+            return;
+        }
+        // every whole tile in the sheet, anything left over on the edges is ignored
+        final int columns = sheet.getWidth() / SOURCE_TILE_SIZE;
+        final int rows = sheet.getHeight() / SOURCE_TILE_SIZE;
+        this.tiles = new BufferedImage[columns * rows];
+        for (int j = 0; j < rows; j++) {
+            for (int i = 0; i < columns; i++) {
+                tiles[j * columns + i] = LoadSave.scaleImage(sheet.getSubimage(i * SOURCE_TILE_SIZE,
+                        j * SOURCE_TILE_SIZE, SOURCE_TILE_SIZE, SOURCE_TILE_SIZE), Game.TILES_SIZE, Game.TILES_SIZE);
+            }
+        }
+    }
+
+    /**
+     * This will draw 1 tile with its top-left corner at the given spot. If the Tileset
+     * doesn't have a tile at that index, nothing is drawn.
+     * 
+     * @param g     - the Graphics to draw on
+     * @param index - the tile index from the level data
+     * @param x     - the x coordinate of the left of the tile
+     * @param y     - the y coordinate of the top of the tile
+     */
+    public void draw(Graphics g, int index, int x, int y) {
+        if (index < 0 || index >= tiles.length) {
+            return;
+        }
+        // the tiles are already TILES_SIZE so they are drawn 1:1
+        g.drawImage(tiles[index], x, y, null);
+    }
+
+    /**
+     * This lets go of the tile images, it is called by the TilesetCache when nothing is using
+     * this Tileset anymore
+     */
+    void flush() {
+        for (BufferedImage tile : tiles) {
+            if (tile != null) {
+                tile.flush();
+            }
+        }
+    }
+
+    /**
+     * Getter for the id of this Tileset
+     * 
+     * @return the path of the sprite sheet
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Getter for how many tiles are in this Tileset
+     * 
+     * @return the amount of tiles
+     */
+    public int getTileCount() {
+        return tiles.length;
+    }
+}
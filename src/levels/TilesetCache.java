@@ -0,0 +1,114 @@
+package levels;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import utils.LoadSave;
+
+/**
+ * This class keeps 1 copy of every Tileset that is being used, so Levels from the same world
+ * share their tiles instead of each cutting up the sprite sheet again. Each Tileset counts
+ * how many things are using it: acquire adds 1 and release takes 1 away. Once nothing is
+ * using a Tileset it is thrown away, along with its sprite sheet, so worlds that aren't being
+ * played don't take up memory.
+ */
+public class TilesetCache {
+    /**
+     * Every Tileset that is being used by its id, along with how many things are using it
+     */
+    private static final Map<String, Entry> tilesets = new HashMap<>();
+    /**
+     * How many times a Tileset has been made (for checking the cache)
+     */
+    private static int loads = 0;
+
+    /**
+     * This holds a Tileset and how many things are using it
+     */
+    private static class Entry {
+        /**
+         * The Tileset being shared
+         */
+        private final Tileset tileset;
+        /**
+         * How many things have acquired the Tileset and not released it
+         */
+        private int references = 0;
+
+        /**
+         * Constructor for an Entry
+         * 
+         * @param tileset - the Tileset being shared
+         */
+        private Entry(Tileset tileset) {
+            this.tileset = tileset;
+        }
+    }
+
+    /**
+     * This will get a Tileset and count 1 more use of it. If it isn't already loaded it is
+     * made from its sprite sheet. Every acquire should have a matching release.
+     * 
+     * @param id - the path of the Tileset's sprite sheet
+     * @return the shared Tileset
+     */
+    public static synchronized Tileset acquire(String id) {
+        Entry entry = tilesets.get(id);
+        if (entry == null) {
+            entry = new Entry(new Tileset(id));
+            tilesets.put(id, entry);
+            loads++;
+        }
+        entry.references++;
+        return entry.tileset;
+    }
+
+    /**
+     * This will count 1 less use of a Tileset. Once nothing is using it, the Tileset and its
+     * sprite sheet are thrown away.
+     * 
+     * @param id - the path of the Tileset's sprite sheet
+     */
+    public static synchronized void release(String id) {
+        final Entry entry = tilesets.get(id);
+        if (entry == null) {
+            System.err.println("Released the tileset " + id + " but it wasn't acquired");
+            return;
+        }
+        entry.references--;
+        if (entry.references <= 0) {
+            tilesets.remove(id);
+            entry.tileset.flush();
+            LoadSave.unloadSpriteSheet(id);
+        }
+    }
+
+    /**
+     * Getter for how many things are using a Tileset
+     * 
+     * @param id - the path of the Tileset's sprite sheet
+     * @return the amount of uses, 0 if it isn't loaded
+     */
+    public static synchronized int getReferences(String id) {
+        final Entry entry = tilesets.get(id);
+        return entry == null ? 0 : entry.references;
+    }
+
+    /**
+     * Getter for how many Tilesets are loaded right now
+     * 
+     * @return the amount of Tilesets in the cache
+     */
+    public static synchronized int getLoadedCount() {
+        return tilesets.size();
+    }
+
+    /**
+     * Getter for how many times a Tileset has been made from its sprite sheet
+     * 
+     * @return the amount of Tileset loads
+     */
+    public static synchronized int getLoads() {
+        return loads;
+    }
+}
@@ -6,13 +6,25 @@ package main;
  * @author John Botonakis and Sean-Paul Brown
  */
 public class ArtemisDash {
+    /**
+     * This is the argument that will turn on active rendering
+     */
+    private static final String ACTIVE_RENDERING_ARG = "-activerendering";
+
     /**
      * This function will create and start the Game
      * 
-     * @param args - nothing
+     * @param args - pass "-activerendering" to have the game thread draw every frame on a
+     *             page-flipped canvas instead of using Swing's repaint
      */
     public static void main(String[] args) {
-        Game game = new Game();
+        boolean activeRendering = false;
+        for (String arg : args) {
+            if (arg.equalsIgnoreCase(ACTIVE_RENDERING_ARG)) {
+                activeRendering = true;
+            }
+        }
+        Game game = new Game(activeRendering);
         game.startGame();
     }
 }
@@ -0,0 +1,235 @@
+package main;
+
+import java.awt.geom.Rectangle2D;
+
+/**
+ * This class is the camera that follows the Player through a Level. It keeps track of how
+ * far the screen has scrolled both horizontally and vertically, and everything in the Level
+ * is drawn shifted by these offsets. The target can move around inside of a deadzone without
+ * the camera moving, and once it leaves the deadzone the camera eases towards it instead of
+ * jumping. The camera never scrolls past the edges of the Level, so Levels of any width and
+ * any height can be used.
+ */
+public class Camera {
+    /**
+     * How far across the screen (0 to 1) the left edge of the horizontal deadzone is. The left
+     * and right edges are the same so the camera stays centered on the target horizontally.
+     */
+    public static final float DEADZONE_LEFT = 0.5f;
+    /**
+     * How far across the screen (0 to 1) the right edge of the horizontal deadzone is
+     */
+    public static final float DEADZONE_RIGHT = 0.5f;
+    /**
+     * How far down the screen (0 to 1) the top edge of the vertical deadzone is. Jumping
+     * inside of the deadzone won't move the camera.
+     */
+    public static final float DEADZONE_TOP = 0.35f;
+    /**
+     * How far down the screen (0 to 1) the bottom edge of the vertical deadzone is
+     */
+    public static final float DEADZONE_BOTTOM = 0.6f;
+    /**
+     * How much of the distance to where the camera should be is moved each update. 1 would
+     * snap straight there and smaller numbers are smoother.
+     */
+    public static final float SMOOTHING = 0.2f;
+
+    /**
+     * How wide the screen the camera shows is in pixels
+     */
+    private final int viewWidth;
+    /**
+     * How tall the screen the camera shows is in pixels
+     */
+    private final int viewHeight;
+    /**
+     * How far the camera has scrolled horizontally, this is kept as a float so the smoothing
+     * doesn't get stuck from rounding
+     */
+    private float x;
+    /**
+     * How far the camera has scrolled vertically
+     */
+    private float y;
+    /**
+     * The furthest the camera can scroll horizontally before it would show past the Level
+     */
+    private int maxX;
+    /**
+     * The furthest the camera can scroll vertically before it would show past the Level
+     */
+    private int maxY;
+
+    /**
+     * Constructor for a Camera that is the same size as the Game's screen
+     */
+    public Camera() {
+        this(Game.GAME_WIDTH, Game.GAME_HEIGHT);
+    }
+
+    /**
+     * Constructor for a Camera
+     * 
+     * @param viewWidth  - how wide the screen is in pixels
+     * @param viewHeight - how tall the screen is in pixels
+     */
+    public Camera(int viewWidth, int viewHeight) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+    }
+
+    /**
+     * Setter for the size of the Level the camera is in. This should be called every time a
+     * new Level is loaded so the camera knows how far it is allowed to scroll.
+     * 
+     * @param tilesWide - how many tiles wide the Level is
+     * @param tilesHigh - how many tiles tall the Level is
+     */
+    public void setLevelSize(int tilesWide, int tilesHigh) {
+        // if the Level is smaller than the screen, then it can't scroll at all
+        maxX = Math.max(0, tilesWide * Game.TILES_SIZE - viewWidth);
+        maxY = Math.max(0, tilesHigh * Game.TILES_SIZE - viewHeight);
+        x = clamp(x, maxX);
+        y = clamp(y, maxY);
+    }
+
+    /**
+     * This will move the camera towards the target, if the target has left the deadzone. The
+     * camera only moves part of the way each update (based on SMOOTHING).
+     * 
+     * @param target - the hitbox the camera should follow
+     */
+    public void follow(Rectangle2D.Float target) {
+        x += (targetX(target) - x) * SMOOTHING;
+        y += (targetY(target) - y) * SMOOTHING;
+        x = clamp(x, maxX);
+        y = clamp(y, maxY);
+    }
+
+    /**
+     * This will move the camera straight to the target with no smoothing. This is used when a
+     * Level is loaded so the camera doesn't slide over from where the last Level ended.
+     * 
+     * @param target - the hitbox the camera should be on
+     */
+    public void snapTo(Rectangle2D.Float target) {
+        x = clamp(targetX(target), maxX);
+        y = clamp(targetY(target), maxY);
+    }
+
+    /**
+     * This is a helper method to find where the camera should be horizontally to keep the
+     * target inside of the deadzone
+     * 
+     * @param target - the hitbox the camera is following
+     * @return the horizontal offset that keeps the target in the deadzone
+     */
+    private float targetX(Rectangle2D.Float target) {
+        final float diff = target.x - x;
+        if (diff > viewWidth * DEADZONE_RIGHT) {
+            return x + diff - viewWidth * DEADZONE_RIGHT;
+        } else if (diff < viewWidth * DEADZONE_LEFT) {
+            return x + diff - viewWidth * DEADZONE_LEFT;
+        }
+        return x;
+    }
+
+    /**
+     * This is a helper method to find where the camera should be vertically to keep the target
+     * inside of the deadzone
+     * 
+     * @param target - the hitbox the camera is following
+     * @return the vertical offset that keeps the target in the deadzone
+     */
+    private float targetY(Rectangle2D.Float target) {
+        // the bottom of the target is used so the feet stay in the deadzone
+        final float diff = target.y + target.height - y;
+        if (diff > viewHeight * DEADZONE_BOTTOM) {
+            return y + diff - viewHeight * DEADZONE_BOTTOM;
+        } else if (diff < viewHeight * DEADZONE_TOP) {
+            return y + diff - viewHeight * DEADZONE_TOP;
+        }
+        return y;
+    }
+
+    /**
+     * This is a helper method to keep an offset between 0 and the max
+     * 
+     * @param offset - the offset to clamp
+     * @param max    - the furthest the offset can be
+     * @return the offset, moved to be between 0 and max
+     */
+    private static float clamp(float offset, int max) {
+        return Math.max(0, Math.min(max, offset));
+    }
+
+    /**
+     * This checks if any part of a rectangle in the Level is on screen. Anything that isn't
+     * on screen doesn't need to be drawn.
+     * 
+     * @param x      - the x-position of the rectangle in the Level
+     * @param y      - the y-position of the rectangle in the Level
+     * @param width  - how wide the rectangle is
+     * @param height - how tall the rectangle is
+     * @return true if some of the rectangle is on screen, false if not
+     */
+    public boolean isVisible(float x, float y, float width, float height) {
+        return isNear(x, y, width, height, 0);
+    }
+
+    /**
+     * This checks if any part of a rectangle in the Level is on screen or within a margin
+     * around the screen. This is used for things that should keep going a little before they
+     * are seen, like enemies walking onto the screen.
+     * 
+     * @param x      - the x-position of the rectangle in the Level
+     * @param y      - the y-position of the rectangle in the Level
+     * @param width  - how wide the rectangle is
+     * @param height - how tall the rectangle is
+     * @param margin - how many pixels past each edge of the screen still count
+     * @return true if some of the rectangle is inside the margin, false if not
+     */
+    public boolean isNear(float x, float y, float width, float height, int margin) {
+        final int left = getXOffset() - margin;
+        final int top = getYOffset() - margin;
+        return x + width > left && x < left + viewWidth + margin * 2 && y + height > top
+                && y < top + viewHeight + margin * 2;
+    }
+
+    /**
+     * Getter for how far the camera has scrolled horizontally
+     * 
+     * @return the horizontal offset in pixels
+     */
+    public int getXOffset() {
+        return Math.round(x);
+    }
+
+    /**
+     * Getter for how far the camera has scrolled vertically
+     * 
+     * @return the vertical offset in pixels
+     */
+    public int getYOffset() {
+        return Math.round(y);
+    }
+
+    /**
+     * Getter for the furthest the camera can scroll horizontally in the current Level
+     * 
+     * @return the max horizontal offset in pixels
+     */
+    public int getMaxXOffset() {
+        return maxX;
+    }
+
+    /**
+     * Getter for the furthest the camera can scroll vertically in the current Level
+     * 
+     * @return the max vertical offset in pixels
+     */
+    public int getMaxYOffset() {
+        return maxY;
+    }
+}
@@ -0,0 +1,142 @@
+package main;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class keeps the timing for the Game's main loop. It tells the loop how many fixed
+ * updates and if a frame are due, and then parks the game thread until the next one of
+ * those deadlines instead of spinning on the CPU. If the game falls behind it will let the
+ * loop catch up with several updates in a row, up to a cap.
+ */
+public class FrameScheduler {
+    /**
+     * This is the amount of nanoseconds in 1 second: 1 Billion nanoseconds.
+     */
+    private static final long NANOSECONDS_IN_SEC = 1_000_000_000L;
+    /**
+     * The most updates that can be run back to back when the game has fallen behind. If it
+     * is further behind than this, the rest of the missed updates are dropped so the game
+     * doesn't freeze trying to catch up.
+     */
+    public static final int MAX_CATCH_UP_UPDATES = 10;
+    /**
+     * Parking the thread is not exact, so the thread only parks until this many nanoseconds
+     * before the deadline and then yields for the rest of the time. (0.2 milliseconds)
+     */
+    private static final long PARK_MARGIN = 200_000L;
+
+    /**
+     * How long each update should take in nanoseconds
+     */
+    private final long timePerUpdate;
+    /**
+     * How long each frame should take in nanoseconds
+     */
+    private final long timePerFrame;
+    /**
+     * The time (from System.nanoTime) that the next update should happen at
+     */
+    private long nextUpdateTime;
+    /**
+     * The time (from System.nanoTime) that the next frame should be drawn at
+     */
+    private long nextFrameTime;
+    /**
+     * How many updates have been skipped in total because the game was too far behind
+     */
+    private long droppedUpdates = 0;
+
+    /**
+     * Constructor for the FrameScheduler
+     * 
+     * @param updatesPerSecond - how many times the game should be updated every second
+     * @param framesPerSecond  - how many times the game should be drawn every second
+     */
+    public FrameScheduler(int updatesPerSecond, int framesPerSecond) {
+        this.timePerUpdate = NANOSECONDS_IN_SEC / updatesPerSecond;
+        this.timePerFrame = NANOSECONDS_IN_SEC / framesPerSecond;
+        start();
+    }
+
+    /**
+     * This sets the first update and frame deadlines from the current time. It should be
+     * called right before the loop starts so that the time spent loading isn't counted as
+     * being behind.
+     */
+    public void start() {
+        final long currentTime = System.nanoTime();
+        nextUpdateTime = currentTime + timePerUpdate;
+        nextFrameTime = currentTime + timePerFrame;
+    }
+
+    /**
+     * This returns how many updates should be run right now. Normally this is 0 or 1, but if
+     * the game fell behind it can be more (never more than MAX_CATCH_UP_UPDATES).
+     * 
+     * @return the amount of updates that should be run before the next frame
+     */
+    public int updatesDue() {
+        final long currentTime = System.nanoTime();
+        int updates = 0;
+        // count every update deadline that has passed, up to the cap
+        while (currentTime >= nextUpdateTime && updates < MAX_CATCH_UP_UPDATES) {
+            nextUpdateTime += timePerUpdate;
+            updates++;
+        }
+        // if it is still behind after the cap, drop the rest of the missed updates
+        if (currentTime >= nextUpdateTime) {
+            final long missed = (currentTime - nextUpdateTime) / timePerUpdate + 1;
+            droppedUpdates += missed;
+            nextUpdateTime += missed * timePerUpdate;
+        }
+        return updates;
+    }
+
+    /**
+     * This checks if it is time to draw a new frame. Frames are never queued up, so if more
+     * than one frame was missed only one is drawn.
+     * 
+     * @return true if a frame should be drawn now, false if not
+     */
+    public boolean frameDue() {
+        final long currentTime = System.nanoTime();
+        if (currentTime < nextFrameTime) {
+            return false;
+        }
+        nextFrameTime += timePerFrame;
+        // if the frame is still late, start the frame timing over from now
+        if (currentTime >= nextFrameTime) {
+            nextFrameTime = currentTime + timePerFrame;
+        }
+        return true;
+    }
+
+    /**
+     * This will park the current thread until the next update or frame deadline, which ever
+     * comes first. It returns right away if that deadline has already passed.
+     */
+    public void waitForNextDeadline() {
+        final long deadline = Math.min(nextUpdateTime, nextFrameTime);
+        long remaining = deadline - System.nanoTime();
+        while (remaining > 0) {
+            if (remaining > PARK_MARGIN) {
+                // park for most of the time, parkNanos can wake up early so keep looping
+                LockSupport.parkNanos(remaining - PARK_MARGIN);
+            } else {
+                // close to the deadline, just give up the rest of this time slice
+                Thread.yield();
+            }
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * Getter for the amount of updates that were dropped because the game fell too far
+     * behind
+     * 
+     * @return the total amount of dropped updates
+     */
+    public long getDroppedUpdates() {
+        return droppedUpdates;
+    }
+}
@@ -3,11 +3,17 @@ package main;
 import java.awt.Graphics;
 
 import gameaudio.AudioPlayer;
+import levels.LevelFile;
+import levels.LevelRegistry;
 import states.GameStates;
 import states.Instructions;
+import states.Loading;
 import states.Menu;
 import states.Overworld;
 import states.Playing;
+import utils.AssetLoader;
+import utils.LoadSave;
+import utils.SpriteAtlas;
 
 /**
  * This class handle most logic pertaining to the game, including updates, FPS, level
@@ -39,6 +45,18 @@ public class Game implements Runnable {
      * This will show the options menu
      */
     private Instructions instructions;
+    /**
+     * This shows the progress while the assets are loading
+     */
+    private Loading loading;
+    /**
+     * This loads all of the assets in the background when the game starts
+     */
+    private final AssetLoader assetLoader = new AssetLoader();
+    /**
+     * When the assets started loading (from System.nanoTime), used to time the whole startup
+     */
+    private long loadStartTime;
 
     /**
      * The GamePanel where to draw the Game
@@ -61,12 +79,12 @@ public class Game implements Runnable {
      * This is how many Updates Per Second there will be in game, how often the update
      * function is called.
      */
-    private final int UPS_SET = 200;
+    public static final int UPS_SET = 200;
     /**
-     * This is the amount of nanoseconds in 1 second: 1 Billion nanoseconds. This is used in
-     * the run method instead of the real number so it is easier to read
+     * This keeps the timing of the main loop, it decides when to update and draw and parks
+     * the game thread in between so it doesn't use a whole CPU core
      */
-    private final double NANOSECONDS_IN_SEC = 1000000000.0;
+    private final FrameScheduler scheduler = new FrameScheduler(UPS_SET, FPS_SET);
 
     /*
      * All variables specific to the game: Game Scale and tiles and buffer
@@ -107,13 +125,30 @@ public class Game implements Runnable {
 
     /**
      * The constructor for this class, once this is called then the game will start running.
+     * The game will be drawn by Swing repainting the GamePanel.
      */
     public Game() {
-        initClasses();
-        gamePanel = new GamePanel(this);
-        gamePanel.setFocusable(true);
-        gamePanel.requestFocus();
+        this(false);
+    }
+
+    /**
+     * The constructor for this class, once this is called then the game will start running.
+     * 
+     * @param activeRendering - true to have the game thread draw every frame itself on a
+     *                        page-flipped canvas, false to have Swing repaint the GamePanel
+     */
+    public Game(boolean activeRendering) {
+        // show the loading screen while the assets load, the states are made once it is done
+        GameStates.state = GameStates.LOADING;
+        loading = new Loading(this, assetLoader);
+        startLoading();
+        if (activeRendering) {
+            gamePanel = new GamePanel(this, new GameCanvas(this, FPS_SET));
+        } else {
+            gamePanel = new GamePanel(this);
+        }
         new GameWindow(gamePanel);
+        gamePanel.requestGameFocus();
     }
 
     /**
@@ -128,6 +163,43 @@ public class Game implements Runnable {
         gameThread.start();// needs to be LAST
     }
 
+    /**
+     * This gives every asset to the AssetLoader so they are all loaded at the same time in
+     * the background. The images, level data, and fonts are cached in LoadSave, so when the
+     * states are made they don't have to be read again.
+     */
+    private void startLoading() {
+        loadStartTime = System.nanoTime();
+        for (String image : LoadSave.IMAGE_FILES) {
+            assetLoader.submit("image " + image, () -> LoadSave.getSpriteSheet(image));
+        }
+        // only the first level is needed to start, the rest are loaded when they are picked
+        final String firstLevel = LevelRegistry.getDefault().get(0).getMapFile();
+        assetLoader.submit("level " + firstLevel, () -> LevelFile.load(firstLevel));
+        assetLoader.submit("font " + LoadSave.FONT, () -> LoadSave.loadFont(LoadSave.FONT, 25));
+        assetLoader.submit("sprite atlas", SpriteAtlas::load);
+        // the AudioPlayer gives each of its clips to the AssetLoader
+        audioPlayer = new AudioPlayer(assetLoader);
+    }
+
+    /**
+     * This is called once all of the assets are loaded. It makes all of the states, prints
+     * how long everything took to load, and then goes to the main menu.
+     */
+    private void finishLoading() {
+        assetLoader.awaitAll();
+        assetLoader.shutdown();
+
+        final long statesStart = System.nanoTime();
+        initClasses();
+        assetLoader.record("game states", System.nanoTime() - statesStart);
+        assetLoader.printLoadTimes();
+        System.out.printf("Startup took %.2f ms%n", (System.nanoTime() - loadStartTime) / 1_000_000.0);
+
+        audioPlayer.playSong(AudioPlayer.MENU_1);
+        GameStates.state = GameStates.MENU;
+    }
+
     /**
      * Initializes each of the states in a specific order.
      */
@@ -137,52 +209,35 @@ public class Game implements Runnable {
         // overworld needs to be created AFTER the playing class since it uses the playing's
         // levelManager
         instructions = new Instructions(this);
-        audioPlayer = new AudioPlayer();
         overworld = new Overworld(this);
     }
 
     /**
      * Handles the update aspects of the game, such as updates to logical processes and frames
-     * per second
+     * per second. The updates happen at a fixed rate (UPS_SET) and if the game falls behind,
+     * it will do a few updates in a row to catch up. In between updates and frames the thread
+     * sleeps instead of constantly checking the time.
      */
     @Override
     public void run() {
-        // How long each frame/update should take in nanoseconds
-        double timePerFrame = NANOSECONDS_IN_SEC / FPS_SET;
-        double timePerUpdate = NANOSECONDS_IN_SEC / UPS_SET;
-        long previousTime = System.nanoTime();
-
-        // this is the time that it has been the last update
-        double deltaUpdates = 0;
-        // this is the time that it has been the last frame
-        double deltaFrames = 0;
+        // the time spent before the loop shouldn't count as being behind
+        scheduler.start();
 
         // while the game is running, so this should be an infinite loop
         while (true) {
-            // get the current time in nano seconds
-            long currentTime = System.nanoTime();
-            // add the time since the last check to the delta's
-            deltaUpdates += (currentTime - previousTime) / timePerUpdate;
-            deltaFrames += (currentTime - previousTime) / timePerFrame;
-            // this time is now the last checked time
-            previousTime = currentTime;
-
-            // if the delta update time is >= 1, then update the game
-            if (deltaUpdates >= 1) {
+            // run every update that is due, this is more than 1 if the game fell behind
+            final int updatesDue = scheduler.updatesDue();
+            for (int i = 0; i < updatesDue; i++) {
                 updateGameState();
-                // only subtract 1 from the updates, so if it is above 1, that extra time is accounted for
-                // in the next update
-                deltaUpdates--;
             }
 
-            // if the delta frame time is >= 1, then repaint the game
-            if (deltaFrames >= 1) {
-                gamePanel.repaint();
-                // only subtract 1 from the frame, so if it is above 1, that extra time is accounted for
-                // in the next frame
-                deltaFrames--;
+            // if it is time for a new frame, then draw the game
+            if (scheduler.frameDue()) {
+                gamePanel.renderFrame();
             }
 
+            // sleep until the next update or frame is due
+            scheduler.waitForNextDeadline();
         }
     }
 
@@ -195,6 +250,9 @@ public class Game implements Runnable {
     public void render(Graphics g) {
         // draw whatever the current GameStates is
         switch (GameStates.state) {
+        case LOADING:
+            loading.draw(g);
+            break;
         case MENU:
             menu.draw(g);
             break;
@@ -220,6 +278,13 @@ public class Game implements Runnable {
     public void updateGameState() {
         // update whatever the current GameState is
         switch (GameStates.state) {
+        case LOADING:
+            loading.update();
+            // once everything is loaded, the rest of the game can be made
+            if (assetLoader.isDone()) {
+                finishLoading();
+            }
+            break;
         case MENU:
             menu.update();
             break;
@@ -0,0 +1,160 @@
+package main;
+
+import static main.Game.GAME_HEIGHT;
+import static main.Game.GAME_WIDTH;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * This class is used for active rendering. Instead of asking Swing to repaint on its own
+ * thread, the game thread draws straight onto a back buffer and then flips it to the
+ * screen. This keeps drawing on the same thread as the updates and makes the frame timing
+ * predictable.
+ */
+public class GameCanvas extends Canvas {
+    /**
+     * This is to help prevent InvalidClassExceptions when serialized objects are
+     * deserialized. Suggested by IDE.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * How many buffers to use, 2 means there is 1 back buffer being drawn to while the other
+     * one is shown.
+     */
+    private static final int BUFFER_COUNT = 2;
+    /**
+     * How often to print how many frames were shown and missed, in nanoseconds
+     */
+    private static final long REPORT_INTERVAL = 5_000_000_000L;
+
+    /**
+     * This is the game that will be drawn onto this canvas
+     */
+    private final Game game;
+    /**
+     * How long each frame should take in nanoseconds, used to tell when a frame was missed
+     */
+    private final long timePerFrame;
+    /**
+     * The BufferStrategy that holds the back buffer. It can only be made once the canvas is on
+     * screen so it starts as null.
+     */
+    private BufferStrategy strategy;
+    /**
+     * The time (from System.nanoTime) that the last frame was shown on screen
+     */
+    private long lastShowTime = 0;
+    /**
+     * How many frames have been shown on screen
+     */
+    private long framesShown = 0;
+    /**
+     * How many frames were missed because a frame took too long to be shown
+     */
+    private long missedFrames = 0;
+    /**
+     * The time (from System.nanoTime) that the frames were last reported
+     */
+    private long lastReportTime = 0;
+    /**
+     * How many frames had been shown when the frames were last reported
+     */
+    private long framesShownAtReport = 0;
+    /**
+     * How many frames had been missed when the frames were last reported
+     */
+    private long missedFramesAtReport = 0;
+
+    /**
+     * Constructor for the GameCanvas
+     * 
+     * @param game            - the Game that will be drawn on this canvas
+     * @param framesPerSecond - how many frames should be shown each second
+     */
+    public GameCanvas(Game game, int framesPerSecond) {
+        this.game = game;
+        this.timePerFrame = 1_000_000_000L / framesPerSecond;
+        setPreferredSize(new Dimension(GAME_WIDTH, GAME_HEIGHT));
+        // all drawing is done by the game thread, so ignore repaints from the system
+        setIgnoreRepaint(true);
+        setBackground(Color.BLACK);
+    }
+
+    /**
+     * This will draw 1 frame of the game on the back buffer and then show it. This should be
+     * called from the game thread.
+     */
+    public void render() {
+        // the buffer strategy can only be made once the canvas is displayed
+        if (strategy == null) {
+            if (!isDisplayable()) {
+                return;
+            }
+            createBufferStrategy(BUFFER_COUNT);
+            strategy = getBufferStrategy();
+        }
+
+        // the contents of the buffers can be lost (like when the screen changes), if that
+        // happens the frame needs to be drawn again
+        do {
+            do {
+                final Graphics g = strategy.getDrawGraphics();
+                // clear the last frame since nothing else does it for us
+                g.setColor(getBackground());
+                g.fillRect(0, 0, getWidth(), getHeight());
+                game.render(g);
+                g.dispose();
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        // make sure the frame gets to the screen now instead of waiting in the OS queue
+        Toolkit.getDefaultToolkit().sync();
+
+        countMissedFrames();
+    }
+
+    /**
+     * This is a helper method that checks how long it has been since the last frame was
+     * shown. If it was longer than one and half frames, then the frames in between were
+     * missed. Every REPORT_INTERVAL the counts are printed, the same way the startup times
+     * are.
+     */
+    private void countMissedFrames() {
+        final long currentTime = System.nanoTime();
+        if (lastShowTime != 0) {
+            final long late = currentTime - lastShowTime - timePerFrame;
+            if (late > timePerFrame / 2) {
+                // round to the closest amount of whole frames
+                missedFrames += (late + timePerFrame / 2) / timePerFrame;
+            }
+        }
+        lastShowTime = currentTime;
+        framesShown++;
+
+        if (lastReportTime == 0) {
+            lastReportTime = currentTime;
+        } else if (currentTime - lastReportTime >= REPORT_INTERVAL) {
+            reportFrames(currentTime);
+        }
+    }
+
+    /**
+     * This is a helper method that prints how many frames were shown and missed since the
+     * last report, along with the totals since the game started
+     * 
+     * @param currentTime - the time (from System.nanoTime) of this report
+     */
+    private void reportFrames(long currentTime) {
+        System.out.printf("Frames in the last %.1f s: %d shown, %d missed (%d shown, %d missed in total)%n",
+                (currentTime - lastReportTime) / 1_000_000_000.0, framesShown - framesShownAtReport,
+                missedFrames - missedFramesAtReport, framesShown, missedFrames);
+        lastReportTime = currentTime;
+        framesShownAtReport = framesShown;
+        missedFramesAtReport = missedFrames;
+    }
+}
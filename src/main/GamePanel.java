@@ -3,6 +3,7 @@ package main;
 import static main.Game.GAME_HEIGHT;
 import static main.Game.GAME_WIDTH;
 
+import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.Graphics;
 
@@ -26,6 +27,11 @@ public class GamePanel extends JPanel {
      * This is the game where all of the mouseInputs should be directed to
      */
     private Game game;
+    /**
+     * The canvas that the game is drawn on when using active rendering. If it is null, then
+     * the game is drawn by Swing through paintComponent instead.
+     */
+    private GameCanvas canvas;
 
     /**
      * Creates a new panel to which the game will be drawn onto
@@ -33,18 +39,40 @@ public class GamePanel extends JPanel {
      * @param game - The Game instance to which the game will be drawn to
      */
     public GamePanel(Game game) {
+        this(game, null);
+    }
+
+    /**
+     * Creates a new panel to which the game will be drawn onto. If a canvas is given, the
+     * game will be actively rendered on that canvas instead of this panel.
+     * 
+     * @param game   - The Game instance to which the game will be drawn to
+     * @param canvas - the GameCanvas for active rendering, null to draw on this panel
+     */
+    public GamePanel(Game game, GameCanvas canvas) {
         /*
          * This is the MouseInputs handler for the Game. Unlike the keyboard listener, this needs
          * to be created outside of the addMouseListener commands because otherwise it would
          * create 2 different inputs
          */
         MouseInputs mouseInputs = new MouseInputs(this);
+        KeyboardInputs keyboardInputs = new KeyboardInputs(this);
         this.game = game;
+        this.canvas = canvas;
 
         setPanelSize();
-        addKeyListener(new KeyboardInputs(this));
+        addKeyListener(keyboardInputs);
         addMouseListener(mouseInputs);
         addMouseMotionListener(mouseInputs);
+
+        if (canvas != null) {
+            // the canvas covers the whole panel, so it is the one that gets all of the inputs
+            setLayout(new BorderLayout());
+            add(canvas, BorderLayout.CENTER);
+            canvas.addKeyListener(keyboardInputs);
+            canvas.addMouseListener(mouseInputs);
+            canvas.addMouseMotionListener(mouseInputs);
+        }
     }
 
     /**
@@ -64,7 +92,35 @@ public class GamePanel extends JPanel {
         // Calls the super class to clean everything and then draw.
         // This also makes the program use DoubleBuffering to load sprites faster.
         super.paintComponent(g);
-        game.render(g);
+        // when actively rendering, the canvas draws the game instead
+        if (canvas == null) {
+            game.render(g);
+        }
+    }
+
+    /**
+     * This will get the next frame on screen. When actively rendering, the frame is drawn
+     * right away on the calling thread. If not, a repaint is requested from Swing.
+     */
+    public void renderFrame() {
+        if (canvas != null) {
+            canvas.render();
+        } else {
+            repaint();
+        }
+    }
+
+    /**
+     * This will give the keyboard focus to whatever the game is drawn on
+     */
+    public void requestGameFocus() {
+        if (canvas != null) {
+            canvas.setFocusable(true);
+            canvas.requestFocus();
+        } else {
+            setFocusable(true);
+            requestFocus();
+        }
     }
 
     /**
@@ -75,4 +131,13 @@ public class GamePanel extends JPanel {
     public Game getGame() {
         return game;
     }
+
+    /**
+     * Getter for the canvas used for active rendering
+     * 
+     * @return the GameCanvas, or null if the game is not actively rendered
+     */
+    public GameCanvas getCanvas() {
+        return canvas;
+    }
 }
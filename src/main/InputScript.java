@@ -0,0 +1,165 @@
+package main;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An InputScript is the buttons held on every tick of a Simulation, along with any arrows
+ * shot. It can be built up in code or read from a string where each token is either the
+ * buttons to hold and for how many ticks, or an arrow to shoot on the next tick:
+ * 
+ * <pre>
+ * R*120 RJ*1 R*40 -*10 S900,400 D*1
+ * </pre>
+ * 
+ * The buttons are L (left), R (right), J (jump), and D (dash), and - holds nothing.
+ */
+public class InputScript {
+    /**
+     * The button for moving left
+     */
+    public static final int LEFT = 1;
+    /**
+     * The button for moving right
+     */
+    public static final int RIGHT = 2;
+    /**
+     * The button for jumping
+     */
+    public static final int JUMP = 4;
+    /**
+     * The button for dashing
+     */
+    public static final int DASH = 8;
+
+    /**
+     * The buttons held on each tick, only the first length are used
+     */
+    private int[] buttons = new int[16];
+    /**
+     * How many ticks are in the script
+     */
+    private int length = 0;
+    /**
+     * Where an arrow is shot on a tick, by tick. The points are on the screen, like the mouse.
+     */
+    private final Map<Integer, Point> shots = new HashMap<>();
+
+    /**
+     * This will hold some buttons for a number of ticks
+     * 
+     * @param held  - the buttons to hold, added together like LEFT | JUMP
+     * @param ticks - how many ticks to hold them for
+     * @return this InputScript so more can be added
+     */
+    public InputScript hold(int held, int ticks) {
+        if (length + ticks > buttons.length) {
+            buttons = Arrays.copyOf(buttons, Math.max(buttons.length * 2, length + ticks));
+        }
+        Arrays.fill(buttons, length, length + ticks, held);
+        length += ticks;
+        return this;
+    }
+
+    /**
+     * This will shoot an arrow towards a point on the screen on the next tick that is added
+     * 
+     * @param x - the x coordinate on the screen to shoot at
+     * @param y - the y coordinate on the screen to shoot at
+     * @return this InputScript so more can be added
+     */
+    public InputScript shoot(int x, int y) {
+        shots.put(length, new Point(x, y));
+        return this;
+    }
+
+    /**
+     * This will read an InputScript from a string, see the class description for the format
+     * 
+     * @param script - the script to read
+     * @return the InputScript that was read
+     * @throws IllegalArgumentException if a token can't be read
+     */
+    public static InputScript parse(String script) {
+        final InputScript input = new InputScript();
+        for (String token : script.trim().split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            try {
+                if (token.charAt(0) == 'S') {
+                    // S<x>,<y> shoots at a point
+                    final String[] point = token.substring(1).split(",");
+                    input.shoot(Integer.parseInt(point[0]), Integer.parseInt(point[1]));
+                    continue;
+                }
+                // <buttons>*<ticks> holds buttons, the ticks are 1 if they are left out
+                final int star = token.indexOf('*');
+                final String keys = star < 0 ? token : token.substring(0, star);
+                final int ticks = star < 0 ? 1 : Integer.parseInt(token.substring(star + 1));
+                input.hold(parseButtons(keys), ticks);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Bad input script token: " + token);
+            }
+        }
+        return input;
+    }
+
+    /**
+     * This is a helper method that reads the buttons of 1 token
+     * 
+     * @param keys - the letters of the buttons, or - for none
+     * @return the buttons added together
+     * @throws IllegalArgumentException if a letter isn't a button
+     */
+    private static int parseButtons(String keys) {
+        int held = 0;
+        for (char key : keys.toCharArray()) {
+            switch (key) {
+            case 'L' -> held |= LEFT;
+            case 'R' -> held |= RIGHT;
+            case 'J' -> held |= JUMP;
+            case 'D' -> held |= DASH;
+            case '-' -> {
+                // nothing is held
+            }
+            default -> throw new IllegalArgumentException("Unknown input script button: " + key);
+            }
+        }
+        return held;
+    }
+
+    /**
+     * Getter for the buttons held on a tick
+     * 
+     * @param tick - the tick, starting at 0
+     * @return the buttons held, or 0 if the tick is past the end of the script
+     */
+    public int getButtons(int tick) {
+        if (tick < 0 || tick >= length) {
+            return 0;
+        }
+        return buttons[tick];
+    }
+
+    /**
+     * Getter for where an arrow is shot on a tick
+     * 
+     * @param tick - the tick, starting at 0
+     * @return the point on the screen to shoot at, or null if nothing is shot
+     */
+    public Point getShot(int tick) {
+        return shots.get(tick);
+    }
+
+    /**
+     * Getter for how many ticks are in the script
+     * 
+     * @return the length of the script in ticks
+     */
+    public int getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,202 @@
+package main;
+
+import java.awt.Point;
+
+import entities.EnemyStore;
+import entities.Player;
+import states.Playing;
+
+/**
+ * A Simulation runs the Playing state's game logic with no window, no audio, and no images.
+ * Each step is 1 fixed update of the game (1 / Game.UPS_SET seconds), so the same level and
+ * the same InputScript always end the same way no matter how fast the computer is. This can
+ * run thousands of ticks a second, so it is useful for testing levels and timing updates.<br>
+ * <br>
+ * It can also be run on its own: <code>java main.Simulation [level] [ticks] [script]</code>
+ * prints how fast the ticks ran and a checksum of where everything ended up.
+ */
+public class Simulation {
+    /**
+     * How many ticks are run from the command line if it isn't given
+     */
+    private static final int DEFAULT_TICKS = 10_000;
+
+    /**
+     * The headless Playing state that is being simulated
+     */
+    private final Playing playing;
+    /**
+     * How many ticks have been run
+     */
+    private int ticks = 0;
+    /**
+     * The buttons that were held on the last tick, so pressing and releasing can be found
+     */
+    private int lastButtons = 0;
+
+    /**
+     * Constructor for a Simulation, this loads the level and puts the Player at its start
+     * 
+     * @param levelIndex - the index of the level to simulate, starting at 0
+     */
+    public Simulation(int levelIndex) {
+        this.playing = new Playing(null, true);
+        playing.nextLevel(levelIndex);
+    }
+
+    /**
+     * This runs 1 tick of the game with some buttons held. Nothing is run once the level is
+     * over.
+     * 
+     * @param buttons - the InputScript buttons held this tick, added together
+     * @param shot    - where on the screen to shoot an arrow this tick, or null to not shoot
+     * @return true if the level is still going after this tick, false if it is over
+     */
+    public boolean step(int buttons, Point shot) {
+        if (!playing.isRunning()) {
+            return false;
+        }
+        applyInput(buttons, shot);
+        playing.update();
+        ticks++;
+        return playing.isRunning();
+    }
+
+    /**
+     * This runs every tick of an InputScript, or until the level is over
+     * 
+     * @param script - the buttons and shots for each tick
+     * @return how many ticks were run
+     */
+    public int run(InputScript script) {
+        final int start = ticks;
+        for (int i = 0; i < script.getLength(); i++) {
+            // the tick that ends the level still counts, but nothing after it runs
+            if (!step(script.getButtons(i), script.getShot(i))) {
+                break;
+            }
+        }
+        return ticks - start;
+    }
+
+    /**
+     * This is a helper method that gives the Player the input for 1 tick, the same way the
+     * keyboard and mouse would. Jumping and dashing only happen when their button is first
+     * pressed.
+     * 
+     * @param buttons - the buttons held this tick
+     * @param shot    - where on the screen to shoot an arrow, or null
+     */
+    private void applyInput(int buttons, Point shot) {
+        final Player player = playing.getPlayer();
+        final int pressed = buttons & ~lastButtons;
+        final int released = lastButtons & ~buttons;
+        player.setLeft((buttons & InputScript.LEFT) != 0);
+        player.setRight((buttons & InputScript.RIGHT) != 0);
+        if ((pressed & InputScript.JUMP) != 0) {
+            player.setJump(true);
+            player.incJumpCount();
+        } else if ((released & InputScript.JUMP) != 0) {
+            player.setJump(false);
+        }
+        if ((pressed & InputScript.DASH) != 0) {
+            player.setDash(true);
+        }
+        if (shot != null) {
+            player.setNextAttack(shot);
+            player.shoot(shot);
+        }
+        lastButtons = buttons;
+    }
+
+    /**
+     * This makes a checksum of where the Player and every Enemy are and what they are doing.
+     * 2 runs with the same level and the same InputScript should always have the same
+     * checksum.
+     * 
+     * @return the checksum of the current game
+     */
+    public long checksum() {
+        final Player player = playing.getPlayer();
+        long hash = ticks;
+        hash = mix(hash, player.getHitbox().x, player.getHitbox().y);
+        hash = hash * 31 + player.getHealth();
+        hash = hash * 31 + playing.getScore();
+        // every archetype's store, so a new type of Enemy is counted without changing this
+        for (EnemyStore store : playing.getEnemyManager().getStores()) {
+            for (int i = 0; i < store.getCount(); i++) {
+                hash = mix(hash, store.getX(i), store.getY(i));
+                hash = hash * 31 + store.getHealth(i);
+                hash = hash * 31 + store.getState(i);
+                hash = hash * 31 + store.getAniIndex(i);
+            }
+        }
+        hash = hash * 31 + playing.getProjectileManager().getLiveCount();
+        return hash;
+    }
+
+    /**
+     * This is a helper method that adds where something is to a checksum
+     * 
+     * @param hash - the checksum so far
+     * @param x    - the x coordinate to add
+     * @param y    - the y coordinate to add
+     * @return the new checksum
+     */
+    private static long mix(long hash, float x, float y) {
+        hash = hash * 31 + Float.floatToIntBits(x);
+        return hash * 31 + Float.floatToIntBits(y);
+    }
+
+    /**
+     * Getter for the headless Playing state being simulated
+     * 
+     * @return the Playing state
+     */
+    public Playing getPlaying() {
+        return playing;
+    }
+
+    /**
+     * Getter for how many ticks have been run
+     * 
+     * @return the amount of ticks
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Getter for how much game time has been simulated
+     * 
+     * @return the simulated time in seconds
+     */
+    public double getSimulatedSeconds() {
+        return ticks / (double) Game.UPS_SET;
+    }
+
+    /**
+     * This runs a Simulation from the command line and prints how fast it ran
+     * 
+     * @param args - the level index (default 0), the amount of ticks (default 10000), and an
+     *             InputScript (default holding nothing)
+     */
+    public static void main(String[] args) {
+        final int level = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        final int ticks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICKS;
+        final InputScript script = args.length > 2 ? InputScript.parse(args[2]) : new InputScript();
+        final Simulation simulation = new Simulation(level);
+        final long start = System.nanoTime();
+        // anything past the end of the script is holding nothing
+        for (int i = 0; i < ticks; i++) {
+            if (!simulation.step(script.getButtons(i), script.getShot(i))) {
+                break;
+            }
+        }
+        final int ran = simulation.getTicks();
+        final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("Simulated %d ticks (%.1f s of game time) in %.3f s, %.0f ticks/s%n", ran,
+                simulation.getSimulatedSeconds(), seconds, ran / seconds);
+        System.out.println("Checksum: " + simulation.checksum());
+    }
+}
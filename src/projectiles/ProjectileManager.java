@@ -1,20 +1,26 @@
 
 package projectiles;
 
+import static utils.Constants.ProjectileConstants.ARROW;
 import static utils.Constants.ProjectileConstants.ARROW_DAMAGE;
-import static utils.HelperMethods.canMoveHere;
+import static utils.Constants.ProjectileConstants.ARROW_DRAW_OFFSET_X;
+import static utils.Constants.ProjectileConstants.ARROW_DRAW_OFFSET_Y;
+import static utils.Constants.ProjectileConstants.ARROW_WIDTH;
+import static utils.Constants.ProjectileConstants.MAX_PROJECTILES;
+import static utils.Constants.ProjectileConstants.getProjHeight;
+import static utils.Constants.ProjectileConstants.getProjWidth;
+import static utils.HelperMethods.sweepHitbox;
 
 import java.awt.Graphics;
 import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
 
 import entities.Enemy;
+import levels.CollisionMap;
 import main.Game;
 import states.Playing;
-import utils.LoadSave;
+import utils.SpatialHash;
+import utils.SpriteAtlas;
+import utils.TileHit;
 
 /**
  * This class will be a manager/factory for the Playing GameState. This allows all of the
@@ -24,85 +30,94 @@ import utils.LoadSave;
  */
 public class ProjectileManager {
     /**
-     * all of the images that the arrows will use
+     * The width of every Arrow's hitbox
      */
-    private final BufferedImage[] arrowImgs;
+    private static final int ARROW_HITBOX_W = getProjWidth(ARROW);
     /**
-     * a list containing all active Arrows
+     * The height of every Arrow's hitbox
      */
-    private final List<Arrow> arrowList;
+    private static final int ARROW_HITBOX_H = getProjHeight(ARROW);
+    /**
+     * How many buckets the arrowGrid hashes its cells into
+     */
+    private static final int GRID_BUCKETS = 1024;
+
+    /**
+     * every active Arrow, stored in primitive arrays so shooting doesn't allocate
+     */
+    private final ProjectileStore arrows;
+    /**
+     * The broad phase for hits: every live Arrow is put into the cells it overlaps, so an
+     * Enemy only has to be checked against the Arrows near it
+     */
+    private final SpatialHash arrowGrid;
+    /**
+     * The Arrows found near an Enemy by the arrowGrid, reused for every check
+     */
+    private final int[] candidates;
+    /**
+     * If the Arrows have moved, been added, or been removed since the arrowGrid was filled
+     */
+    private boolean gridDirty = true;
+    /**
+     * Where the last Arrow hit a wall, reused for every Arrow so checking walls doesn't
+     * allocate
+     */
+    private final TileHit tileHit = new TileHit();
+    /**
+     * The hitbox of the Enemy being checked for hits, reused for every Enemy so checking hits
+     * doesn't allocate
+     */
+    private final Rectangle2D.Float enemyBox = new Rectangle2D.Float();
 
     /**
-     * This is the constructor
+     * This is the constructor, it can hold up to MAX_PROJECTILES Arrows
      * 
-     * @param playing The playing GameState that is holding this class.
+     * @param playing - The playing GameState that is holding this class.
      */
     public ProjectileManager(Playing playing) {
-        // arrowList can be any type of List, LinkedList was chosen first
-        this.arrowList = new LinkedList<>();
-        this.arrowImgs = LoadSave.getArrowImgs();
+        this(playing, MAX_PROJECTILES);
     }
 
     /**
-     * This method updates each Projectile and checks their end-case (when they should
-     * de-spawn)
+     * This is the constructor with a custom limit on how many Arrows there can be
      * 
-     * @param levelData - the current Level represented as a 2D int array
-     */
-    public void update(int[][] levelData) {
-        // the following for loop is from StackOverflow and ChatGPT
-        // Create an iterator to safely iterate over the arrowList
-        final Iterator<Arrow> arrowIter = arrowList.iterator();
-        // Iterate over each arrow in the arrowList
-        while (arrowIter.hasNext()) {
-            // Get the next arrow from the iterator
-            Arrow a = arrowIter.next();
-            // update the arrow
-            a.update();
-            // check for collision
-            if (collisionCheck(a.getHitbox(), levelData, a.getSpeed(), a.getSpeed())) {
-                // if an Arrow collides with something it is destroyed
-                arrowIter.remove();
-            }
-        }
+     * @param playing  - The playing GameState that is holding this class.
+     * @param capacity - the most Arrows that can be in the game at one time
+     */
+    public ProjectileManager(Playing playing, int capacity) {
+        this.arrows = new ProjectileStore(capacity);
+        // the cells are the same size as the tiles, and there are enough buckets that most
+        // cells on screen get their own bucket
+        this.arrowGrid = new SpatialHash(Game.TILES_SIZE, GRID_BUCKETS);
+        this.candidates = new int[capacity];
     }
 
     /**
-     * Checks to see if the Projectile placed into the equation collides with the level or
-     * exceeds the bounds
-     * 
-     * @param hitbox    - the hitbox of the Projectile to check
-     * @param levelData - the current Level represented as a 2D int array
-     * @param xSpeed    - the horizontal speed of the Projectile
-     * @param ySpeed    - the vertical speed of the Projectile
+     * This method updates each Projectile and checks their end-case (when they should
+     * de-spawn)
      * 
-     * @return true if the arrow collides with anything, false if not.
+     * @param collisionMap - the CollisionMap of the current Level
      */
-    private boolean collisionCheck(Rectangle2D.Float hitbox, int[][] levelData, float xSpeed, float ySpeed) {
-        // bounds check
-        // checking if going below 0
-        if (hitbox.getX() < 0 || hitbox.getY() < 0) {
-            return true;
-        }
-        // checking if the hitbox other end of the hitbox is outside of the game.
-        // check the length and height of the level, must convert the array length to tiles.
-        if (hitbox.getX() + hitbox.getHeight() > levelData[0].length * Game.TILES_SIZE
-                || hitbox.getY() + hitbox.getHeight() > levelData.length * Game.TILES_SIZE) {
-            return true;
-        }
-
-        // checking that the arrow can move to the tile that is xSpeed away
-        if (!canMoveHere(hitbox.x + xSpeed, hitbox.y, hitbox.width, hitbox.height, levelData)) {
-            return true;
-        }
-
-        // checking that the arrow can move to the tile that is ySpeed away
-        if (!canMoveHere(hitbox.x, hitbox.y + ySpeed, hitbox.width, hitbox.height, levelData)) {
-            return true;
+    public void update(CollisionMap collisionMap) {
+        // get rid of the arrows that hit an enemy last update
+        arrows.removeSpent();
+        gridDirty = true;
+        int i = 0;
+        while (i < arrows.getLiveCount()) {
+            final float xSpeed = arrows.getSpeed(i);
+            // check the whole path the arrow will take this update for a wall
+            if (sweepHitbox(arrows.getX(i), arrows.getY(i), ARROW_HITBOX_W, ARROW_HITBOX_H, xSpeed,
+                    xSpeed * arrows.getSlope(i), collisionMap, tileHit)) {
+                // if an Arrow collides with something it is destroyed, the last arrow is moved into
+                // this index so don't move on to the next index
+                arrows.remove(i);
+            } else {
+                // update the arrow
+                arrows.advance(i);
+                i++;
+            }
         }
-
-        // if it has passed everything, nothing is collided with so return false
-        return false;
     }
 
     /**
@@ -110,15 +125,27 @@ public class ProjectileManager {
      * 
      * @param g            - the Graphics of where to draw the arrows
      * @param xLevelOffset - the offset from the screenscrolling horizontally
+     * @param yLevelOffset - the offset from the screenscrolling vertically
      */
-    public void draw(Graphics g, int xLevelOffset) {
-        // draw all arrows
-        for (Arrow a : arrowList) {
-            if (a.isColliding()) {
-                a.draw(g, xLevelOffset, arrowImgs[a.getAniIndex()]);
-            } else {
-                a.draw(g, xLevelOffset, arrowImgs[a.getAniIndex()]);
+    public void draw(Graphics g, int xLevelOffset, int yLevelOffset) {
+        // draw all live arrows
+        for (int i = 0; i < arrows.getLiveCount(); i++) {
+            // spent arrows already broke on an enemy
+            if (arrows.isSpent(i)) {
+                continue;
             }
+            final boolean left = arrows.isFacingLeft(i);
+            // arrows facing left are drawn from the other side of their hitbox
+            final float flipX = left ? ARROW_HITBOX_W : 0;
+            int drawX = (int) (arrows.getX(i) - xLevelOffset - ARROW_DRAW_OFFSET_X + flipX);
+            int sheet = SpriteAtlas.ARROW;
+            // a mirrored image starts one arrow width to the left of the flipped x
+            if (left) {
+                drawX -= ARROW_WIDTH;
+                sheet = SpriteAtlas.ARROW_LEFT;
+            }
+            SpriteAtlas.draw(g, sheet, 0, arrows.getAniIndex(i), drawX,
+                    (int) arrows.getY(i) - yLevelOffset - ARROW_DRAW_OFFSET_Y);
         }
     }
 
@@ -134,19 +161,27 @@ public class ProjectileManager {
         if (e.isHurting()) {
             return false;
         }
-        // check every Arrow on the screen
-        // Create an iterator to safely iterate over the arrowList
-        final Iterator<Arrow> arrowIter = arrowList.iterator();
-        // Iterate over each arrow in the arrowList
-        while (arrowIter.hasNext()) {
-            // Get the next arrow from the iterator
-            Arrow a = arrowIter.next();
-            if (e.getHitbox().intersects(a.getHitbox())) {
+        // only check the Arrows in the cells around the enemy
+        if (gridDirty) {
+            fillGrid();
+        }
+        // the Enemy's data is in its EnemyStore, so its hitbox is put into the reused box
+        final Rectangle2D.Float box = enemyBox;
+        box.setRect(e.getX(), e.getY(), e.getWidth(), e.getHeight());
+        final int found = arrowGrid.query(box.x, box.y, box.width, box.height, candidates);
+        for (int c = 0; c < found; c++) {
+            final int i = candidates[c];
+            // an arrow that already hit an enemy this update can't hit another one
+            if (arrows.isSpent(i)) {
+                continue;
+            }
+            if (box.intersects(arrows.getX(i), arrows.getY(i), ARROW_HITBOX_W, ARROW_HITBOX_H)) {
                 // if it does intersect, hurt them
                 e.hurt(ARROW_DAMAGE);
 
-                // the arrow breaks on contact with enemy and should be removed from screen
-                arrowList.remove(a);
+                // the arrow breaks on contact with enemy, it is removed on the next update so the
+                // other indexes in the grid stay the same
+                arrows.markSpent(i);
                 // return because the arrow can only hit 1 enemy at a time
                 return true;
             }
@@ -155,7 +190,22 @@ public class ProjectileManager {
     }
 
     /**
-     * This will create a new arrow in the arrowList here, so it can the arrow can be managed
+     * This is a helper method that puts every live Arrow into the arrowGrid. It only happens
+     * once per update, the first time an Enemy is checked.
+     */
+    private void fillGrid() {
+        arrowGrid.clear();
+        for (int i = 0; i < arrows.getLiveCount(); i++) {
+            if (!arrows.isSpent(i)) {
+                arrowGrid.insert(i, arrows.getX(i), arrows.getY(i), ARROW_HITBOX_W, ARROW_HITBOX_H);
+            }
+        }
+        gridDirty = false;
+    }
+
+    /**
+     * This will create a new arrow in the store here, so it can the arrow can be managed. If
+     * there are already as many Arrows as the store can hold, the new one is dropped.
      * 
      * @param x     - the x coordinate of the new Arrow, will be left-bounds of hitbox
      * @param y     - the y coordinate of the new Arrow, will be top-bounds of hitbox
@@ -164,7 +214,8 @@ public class ProjectileManager {
      *              if right)
      */
     public void newArrow(float x, float y, float slope, boolean left) {
-        arrowList.add(new Arrow(x, y, slope, left));
+        arrows.add(x, y, slope, left);
+        gridDirty = true;
     }
 
     /**
@@ -172,7 +223,26 @@ public class ProjectileManager {
      * starting/restarting a level.
      */
     public void reset() {
-        this.arrowList.clear();
+        arrows.clear();
+        gridDirty = true;
+    }
+
+    /**
+     * Getter for how many Arrows are currently in the game
+     * 
+     * @return the amount of live Arrows
+     */
+    public int getLiveCount() {
+        return arrows.getLiveCount();
+    }
+
+    /**
+     * Getter for the most Arrows that have been in the game at the same time
+     * 
+     * @return the peak amount of live Arrows
+     */
+    public int getPeakCount() {
+        return arrows.getPeakCount();
     }
 
 }
@@ -0,0 +1,310 @@
+package projectiles;
+
+import static utils.Constants.ProjectileConstants.ARROW;
+import static utils.Constants.ProjectileConstants.getProjSpeed;
+
+/**
+ * This class stores every Arrow in the game as columns of primitive arrays instead of as
+ * separate objects. Each Arrow is an index into the arrays, and the live Arrows are always
+ * packed into the front of them. When an Arrow is removed, the last Arrow is moved into its
+ * spot, so nothing has to be shifted or searched for. The arrays are made once at a fixed
+ * size, so shooting an Arrow never allocates anything.
+ */
+public class ProjectileStore {
+    /**
+     * There are a total of 5 sprite maximum for all arrow animations
+     */
+    public static final int MAX_SPRITES = 5;
+
+    /**
+     * The most Arrows that can be stored at one time
+     */
+    private final int capacity;
+    /**
+     * The left coordinate of each Arrow's hitbox
+     */
+    private final float[] x;
+    /**
+     * The top coordinate of each Arrow's hitbox
+     */
+    private final float[] y;
+    /**
+     * The horizontal speed of each Arrow, negative if it is moving left
+     */
+    private final float[] speed;
+    /**
+     * The slope of each Arrow's path
+     */
+    private final float[] slope;
+    /**
+     * The current animation frame of each Arrow
+     */
+    private final int[] aniIndex;
+    /**
+     * The animation tick counter of each Arrow
+     */
+    private final int[] aniTick;
+    /**
+     * If each Arrow is moving left (true) or right (false)
+     */
+    private final boolean[] left;
+    /**
+     * If each Arrow has hit something and is waiting to be removed
+     */
+    private final boolean[] spent;
+    /**
+     * How many Arrows are currently live, they are in indexes 0 to count - 1
+     */
+    private int count = 0;
+    /**
+     * The most Arrows that have been live at the same time
+     */
+    private int peakCount = 0;
+    /**
+     * How many Arrows could not be added because the store was full
+     */
+    private int droppedCount = 0;
+
+    /**
+     * Constructor for a ProjectileStore
+     * 
+     * @param capacity - the most Arrows that can be stored at one time
+     */
+    public ProjectileStore(int capacity) {
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.speed = new float[capacity];
+        this.slope = new float[capacity];
+        this.aniIndex = new int[capacity];
+        this.aniTick = new int[capacity];
+        this.left = new boolean[capacity];
+        this.spent = new boolean[capacity];
+    }
+
+    /**
+     * This adds a new Arrow to the end of the live Arrows. If the store is full, the Arrow is
+     * not added.
+     * 
+     * @param x     - the x coordinate of the new Arrow, will be left-bounds of hitbox
+     * @param y     - the y coordinate of the new Arrow, will be top-bounds of hitbox
+     * @param slope - the slope/path that the arrow will take
+     * @param left  - true if the Arrow is moving left, false if right
+     * @return true if the Arrow was added, false if the store was full
+     */
+    public boolean add(float x, float y, float slope, boolean left) {
+        if (count >= capacity) {
+            droppedCount++;
+            return false;
+        }
+        final int i = count;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.slope[i] = slope;
+        // the diagonal speed is the same no matter the slope
+        final float horizSpeed = calculateHorizontalSpeed(getProjSpeed(ARROW), slope);
+        this.speed[i] = left ? -horizSpeed : horizSpeed;
+        this.aniIndex[i] = 0;
+        this.aniTick[i] = 0;
+        this.left[i] = left;
+        this.spent[i] = false;
+        count++;
+        peakCount = Math.max(peakCount, count);
+        return true;
+    }
+
+    /**
+     * This updates the animation and moves the Arrow at an index
+     * 
+     * @param i - the index of the Arrow, must be less than getLiveCount
+     */
+    public void advance(int i) {
+        // updating the animation
+        aniTick[i]++;
+        if (aniTick[i] >= utils.Constants.ANISPEED) {
+            aniTick[i] = 0;
+            aniIndex[i]++;
+            // restart the animation when it reaches the end
+            if (aniIndex[i] >= MAX_SPRITES) {
+                aniIndex[i] = 0;
+            }
+        }
+        // update movement
+        x[i] += speed[i];
+        y[i] += speed[i] * slope[i];
+    }
+
+    /**
+     * This is a helper method to calculate the horizontal speed of an Arrow for the diagonal
+     * speed to be consistent with ARROW_SPEED no matter the slope. <br>
+     * This was calculated from using the pythagorean theorem (a^2 +b^2 = c^2). For Arrows, it
+     * is (xSpeed^2 + ySpeed = slopeSpeed, where ySpeed = xSpeed*slope).
+     * 
+     * @param slopeSpeed - the desired diagonal speed for the Arrow
+     * @param slope      - the slope of the Arrow
+     * @return - the horizontal speed for the Arrow to have a consistent speed
+     */
+    static float calculateHorizontalSpeed(float slopeSpeed, float slope) {
+        // xSpeed = square root of (slopeSpeed^2 / (1+slope^2)
+        return (float) Math.sqrt((slopeSpeed * slopeSpeed) / (1 + (slope * slope)));
+    }
+
+    /**
+     * This removes the Arrow at an index by moving the last live Arrow into its spot. After
+     * this, the index holds a different Arrow (or none if it was the last one), so it should
+     * be checked again.
+     * 
+     * @param i - the index of the Arrow to remove, must be less than getLiveCount
+     */
+    public void remove(int i) {
+        final int last = --count;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            speed[i] = speed[last];
+            slope[i] = slope[last];
+            aniIndex[i] = aniIndex[last];
+            aniTick[i] = aniTick[last];
+            left[i] = left[last];
+            spent[i] = spent[last];
+        }
+    }
+
+    /**
+     * This marks the Arrow at an index as spent. It stays at the same index until
+     * removeSpent is called, so indexes can still be used while checking hits.
+     * 
+     * @param i - the index of the Arrow, must be less than getLiveCount
+     */
+    public void markSpent(int i) {
+        spent[i] = true;
+    }
+
+    /**
+     * Getter for if the Arrow at an index is spent
+     * 
+     * @param i - the index of the Arrow
+     * @return true if the Arrow has hit something and is waiting to be removed
+     */
+    public boolean isSpent(int i) {
+        return spent[i];
+    }
+
+    /**
+     * This removes every spent Arrow
+     */
+    public void removeSpent() {
+        int i = 0;
+        while (i < count) {
+            if (spent[i]) {
+                // the last arrow is moved here, so check this index again
+                remove(i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * This removes every Arrow from the store. The arrays are kept so they can be reused.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Getter for the left coordinate of an Arrow's hitbox
+     * 
+     * @param i - the index of the Arrow
+     * @return the x coordinate of the Arrow
+     */
+    public float getX(int i) {
+        return x[i];
+    }
+
+    /**
+     * Getter for the top coordinate of an Arrow's hitbox
+     * 
+     * @param i - the index of the Arrow
+     * @return the y coordinate of the Arrow
+     */
+    public float getY(int i) {
+        return y[i];
+    }
+
+    /**
+     * Getter for the horizontal speed of an Arrow
+     * 
+     * @param i - the index of the Arrow
+     * @return the horizontal speed, negative if it is moving left
+     */
+    public float getSpeed(int i) {
+        return speed[i];
+    }
+
+    /**
+     * Getter for the slope of an Arrow's path
+     * 
+     * @param i - the index of the Arrow
+     * @return the slope, the Arrow moves slope pixels down for every pixel across
+     */
+    public float getSlope(int i) {
+        return slope[i];
+    }
+
+    /**
+     * Getter for the current animation frame of an Arrow
+     * 
+     * @param i - the index of the Arrow
+     * @return the animation index
+     */
+    public int getAniIndex(int i) {
+        return aniIndex[i];
+    }
+
+    /**
+     * Getter for which way an Arrow is facing
+     * 
+     * @param i - the index of the Arrow
+     * @return true if the Arrow is moving left, false if it is moving right
+     */
+    public boolean isFacingLeft(int i) {
+        return left[i];
+    }
+
+    /**
+     * Getter for how many Arrows are live
+     * 
+     * @return the amount of live Arrows
+     */
+    public int getLiveCount() {
+        return count;
+    }
+
+    /**
+     * Getter for the most Arrows that have been live at the same time
+     * 
+     * @return the peak amount of live Arrows
+     */
+    public int getPeakCount() {
+        return peakCount;
+    }
+
+    /**
+     * Getter for how many Arrows were not added because the store was full
+     * 
+     * @return the amount of dropped Arrows
+     */
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Getter for the most Arrows that can be stored at one time
+     * 
+     * @return the capacity of the store
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -9,6 +9,11 @@ package states;
  */
 public enum GameStates {
 
+    /**
+     * Represents the state when the game's assets are still being loaded.
+     */
+    LOADING,
+
     /**
      * Represents the state when the game is actively being played.
      */
@@ -36,8 +41,9 @@ public enum GameStates {
 
     /**
      * this is what the current state/screen of the game is. Every game starts on the main
-     * menu.
+     * menu (after loading). This is volatile since it is changed on the game thread and read
+     * when drawing on the Swing thread.
      */
-    public static GameStates state = MENU;
+    public static volatile GameStates state = MENU;
 
 }
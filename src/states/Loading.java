@@ -0,0 +1,117 @@
+package states;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+
+import main.Game;
+import utils.AssetLoader;
+
+/**
+ * Loading State is shown when the game first starts while the AssetLoader is loading all
+ * of the images, levels, fonts, and audio in the background. It only draws a progress bar,
+ * since none of the images are ready to be drawn yet.
+ */
+public class Loading extends State implements StateMethods {
+    /**
+     * How wide the progress bar is
+     */
+    private static final int BAR_WIDTH = Game.GAME_WIDTH / 2;
+    /**
+     * How tall the progress bar is
+     */
+    private static final int BAR_HEIGHT = (int) (20 * Game.SCALE);
+    /**
+     * The left side of the progress bar
+     */
+    private static final int BAR_X = (Game.GAME_WIDTH - BAR_WIDTH) / 2;
+    /**
+     * The top of the progress bar
+     */
+    private static final int BAR_Y = (Game.GAME_HEIGHT - BAR_HEIGHT) / 2;
+    /**
+     * The font for the loading text, the custom font isn't loaded yet so a default is used
+     */
+    private static final Font LOADING_FONT = new Font(Font.SANS_SERIF, Font.BOLD, (int) (16 * Game.SCALE));
+
+    /**
+     * The AssetLoader that is loading the assets, used to get the progress
+     */
+    private final AssetLoader loader;
+
+    /**
+     * This is the constructor for the Loading screen
+     * 
+     * @param game   - the Game that created and is managing this Class
+     * @param loader - the AssetLoader that is loading all of the assets
+     */
+    public Loading(Game game, AssetLoader loader) {
+        super(game);
+        this.loader = loader;
+    }
+
+    /**
+     * Nothing needs to be updated, the progress is read from the AssetLoader when drawing
+     */
+    @Override
+    public void update() {
+        // the AssetLoader updates itself in the background
+    }
+
+    /**
+     * Draws the loading text and a bar that fills up as the assets are loaded
+     * 
+     * @param g - Graphics
+     */
+    @Override
+    public void draw(Graphics g) {
+        final float progress = loader.getProgress();
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, Game.GAME_WIDTH, Game.GAME_HEIGHT);
+
+        g.setColor(Color.WHITE);
+        g.setFont(LOADING_FONT);
+        g.drawString("Loading... " + (int) (progress * 100) + "%", BAR_X, BAR_Y - BAR_HEIGHT / 2);
+        // the filled in part of the bar, then the outline around it
+        g.fillRect(BAR_X, BAR_Y, (int) (BAR_WIDTH * progress), BAR_HEIGHT);
+        g.drawRect(BAR_X, BAR_Y, BAR_WIDTH, BAR_HEIGHT);
+    }
+
+    @Override
+    public void mouseDragged(MouseEvent e) {
+        // no inputs while loading
+    }
+
+    @Override
+    public void mousePressed(MouseEvent e) {
+        // no inputs while loading
+    }
+
+    @Override
+    public void mouseClicked(MouseEvent e) {
+        // no inputs while loading
+    }
+
+    @Override
+    public void mouseReleased(MouseEvent e) {
+        // no inputs while loading
+    }
+
+    @Override
+    public void mouseMoved(MouseEvent e) {
+        // no inputs while loading
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        // no inputs while loading
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+        // no inputs while loading
+    }
+
+}
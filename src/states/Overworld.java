@@ -1,7 +1,5 @@
 package states;
 
-import static utils.Constants.OverworldButtonConstants.BUTTON_POINT_ARRAY;
-
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
@@ -11,8 +9,9 @@ import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 
 import gameaudio.AudioPlayer;
-import levels.Level;
+import levels.LevelInfo;
 import levels.LevelManager;
+import levels.LevelRegistry;
 import main.Game;
 import ui.MenuButton;
 import ui.OverworldButton;
@@ -30,29 +29,20 @@ public class Overworld extends State implements StateMethods {
      * The image that will be dispalyed in the background of the overworld menu
      */
     private final BufferedImage background;
-    /**
-     * The array of button locations that will be displayed on screen, it is the same array as
-     * the Constants.OverworldButtonConstants.BUTTON_POINT_ARRAY.
-     */
-    private final Point[] btnLocations = BUTTON_POINT_ARRAY;
     /**
      * This will be a button that will link back to the Instructions
      */
     private final MenuButton menu = new MenuButton(Game.GAME_WIDTH / 6, Game.GAME_HEIGHT - Game.GAME_HEIGHT / 4,
             MenuButton.INSTRUCTIONS_INDEX, GameStates.INSTRUCTIONS);
     /**
-     * The array of OverworldButtons that will be displayed on screen that match to the
-     * locations array
+     * The array of OverworldButtons that will be displayed on screen, 1 for each Level in the
+     * level manifest
      */
-    private OverworldButton[] buttonArr = new OverworldButton[btnLocations.length];
+    private OverworldButton[] buttonArr;
     /**
      * The level that was selected by the user
      */
     private OverworldButton selectedLvl = null;
-    /**
-     * All of the level names correlate to the buttonArr
-     */
-    private String[] lvlNames = { "DARRING DESCENT", "LAVA LAKE", "BURNING BADLANDS", "ROCKY RELIEF", "KILL THE KING" };
     /**
      * This should be the same LevelManager as the Game's Playing class. This allows it to
      * influence the current levels and what will be loaded next.
@@ -74,18 +64,20 @@ public class Overworld extends State implements StateMethods {
         background = LoadSave.getSpriteSheet(LoadSave.OVERWORLD_BG);
         // Font Initialization
         this.owFont = LoadSave.loadFont(LoadSave.FONT, 35);
-        initButtons();
         this.levelManager = game.getPlaying().getLevelManager();
+        initButtons();
     }
 
     /**
-     * This is where we load each of buttons. It uses a for loop that runs for the length of
-     * buttonArr.length to generate new buttons at the locations of matching indexes in
-     * btnLocations
+     * This is where we load each of buttons. There is 1 button for each Level in the level
+     * manifest, using the name and overworld position from its LevelInfo.
      */
     private void initButtons() {
-        for (int i = 0; i < buttonArr.length; i++) {
-            buttonArr[i] = new OverworldButton(btnLocations[i].x, btnLocations[i].y, lvlNames[i], 1, i);
+        final LevelRegistry registry = levelManager.getRegistry();
+        buttonArr = new OverworldButton[registry.size()];
+        for (LevelInfo info : registry.getAll()) {
+            final Point p = info.getOverworldPoint();
+            buttonArr[info.getIndex()] = new OverworldButton(p.x, p.y, info.getName(), 1, info.getIndex());
         }
     }
 
@@ -110,11 +102,11 @@ public class Overworld extends State implements StateMethods {
      */
     private void updateLevelBooleans() {
         // for each button, get the Level that is matched to that button. Then set the
-        // completed/hidden to the booleans from that Level
+        // completed/hidden to the booleans from that Level. This doesn't need the Levels to be
+        // loaded.
         for (OverworldButton ob : buttonArr) {
-            final Level currLevel = levelManager.getLevelAtIndex(ob.getStageNumber());
-            ob.setCompleted(currLevel.getCompleted());
-            ob.setHidden(currLevel.getHidden());
+            ob.setCompleted(levelManager.isLevelCompleted(ob.getStageNumber()));
+            ob.setHidden(levelManager.isLevelHidden(ob.getStageNumber()));
         }
     }
 
@@ -14,6 +14,7 @@ import entities.Player;
 import gameaudio.AudioPlayer;
 import levels.Level;
 import levels.LevelManager;
+import main.Camera;
 import main.Game;
 import projectiles.ProjectileManager;
 import ui.DeathOverlay;
@@ -51,6 +52,11 @@ public class Playing extends State implements StateMethods {
      * This will keep track of if the demo screen should be showing (true to show).
      */
     private boolean demoOver;
+    /**
+     * If this Playing only runs the game logic, with no images, HUD, overlays, or audio. This
+     * is used by the Simulation.
+     */
+    private final boolean headless;
 
     /**
      * The Player entity that travels between levels
@@ -64,11 +70,11 @@ public class Playing extends State implements StateMethods {
     /**
      * The overlay for when the game is paused
      */
-    private final PauseOverlay pauseOverlay = new PauseOverlay(game);
+    private final PauseOverlay pauseOverlay;
     /**
      * The manager that will load/handle each Level
      */
-    private final LevelManager levelManager = new LevelManager(game);
+    private final LevelManager levelManager;
     /**
      * The manager that will load/handle each enemy and if the level has been completed (every
      * enemy killed)
@@ -82,78 +88,21 @@ public class Playing extends State implements StateMethods {
     /**
      * The overlay for when the Player is killed
      */
-    private final DeathOverlay deathOverlay = new DeathOverlay(this);
+    private final DeathOverlay deathOverlay;
     /**
      * The overlay for when the level is completed
      */
-    private final WinOverlay winOverlay = new WinOverlay(this);
+    private final WinOverlay winOverlay;
     /**
      * The overlay for when all 5 Demo levels are completed
      */
-    private final DemoOverlay demoOverlay = new DemoOverlay(this);
-
-    // Level Expansion vars
-    /**
-     * X-Offset being added to and subtracted from to render the level itself.
-     */
-    private int xLevelOffset;
-
-    /**
-     * 50% of the screen is rendered, used as the left border for screen rendering.
-     */
-    private int borderLeft = (int) (0.5 * Game.GAME_WIDTH);
-
-    /**
-     * 50% of the screen is hidden, used as the right border for screen rendering.
-     */
-    private int borderRight = (int) (0.5 * Game.GAME_WIDTH);
-
-    /**
-     * The length of the level in tiles.
-     */
-    private int levelTilesWide = levelManager.getCurrentLevel().getLevelData()[0].length;
-
-    /**
-     * The maximum tiles offset that can occur from screen scrolling.
-     */
-    private int maxTileOffset = levelTilesWide - Game.TILES_IN_WIDTH;
-
-    /**
-     * The maximum pixels offset that can occur from screen scrolling.
-     */
-    private int maxXOffset = maxTileOffset * Game.TILES_SIZE;
-
-    /**
-     * Y-Offset being added to and subtracted from to render the level itself.
-     */
-    private int yLevelOffset;
-
-    /**
-     * 50% of the screen is rendered, used as the top border for screen rendering.
-     */
-    private int borderTop = (int) (0.5 * Game.GAME_HEIGHT);
-
-    /**
-     * 50% of the screen is hidden, used as the bottom border for screen rendering.
-     */
-    private int borderBottom = (int) (0.5 * Game.GAME_HEIGHT);
-
-    /**
-     * The height of the level in tiles.
-     */
-    private int levelTilesHigh = levelManager.getCurrentLevel().getLevelData().length;
+    private final DemoOverlay demoOverlay;
 
     /**
-     * The maximum tiles offset that can occur from screen scrolling in the vertical
-     * direction.
+     * The camera that follows the Player, everything in the level is drawn shifted by its x
+     * and y offsets
      */
-    private int maxYTileOffset = levelTilesHigh - Game.TILES_IN_HEIGHT;
-
-    /**
-     * The maximum pixels offset that can occur from screen scrolling in the vertical
-     * direction.
-     */
-    private int maxYOffset = maxYTileOffset * Game.TILES_SIZE;
+    private final Camera camera = new Camera();
 
     /**
      * the static image in the background
@@ -188,8 +137,33 @@ public class Playing extends State implements StateMethods {
      * @param game - Game
      */
     public Playing(Game game) {
+        this(game, false);
+    }
+
+    /**
+     * Runs the logic once the game state has switched to PLAYING. A headless Playing doesn't
+     * load any images or make any overlays, so it can only be updated, not drawn.
+     * 
+     * @param game     - Game, this can be null when headless
+     * @param headless - true to only run the game logic
+     */
+    public Playing(Game game, boolean headless) {
         super(game);
+        this.headless = headless;
+        this.levelManager = new LevelManager(game, LevelManager.DEFAULT_CACHE_SIZE, headless);
         player = new Player(200, 300, (int) (IMAGE_WIDTH * Game.SCALE), (int) (IMAGE_HEIGHT * Game.SCALE), this);
+        // the overlays and backgrounds are only images, so headless doesn't need them
+        if (headless) {
+            this.pauseOverlay = null;
+            this.deathOverlay = null;
+            this.winOverlay = null;
+            this.demoOverlay = null;
+            return;
+        }
+        this.pauseOverlay = new PauseOverlay(game);
+        this.deathOverlay = new DeathOverlay(this);
+        this.winOverlay = new WinOverlay(this);
+        this.demoOverlay = new DemoOverlay(this);
         initBackgroundAssets();
     }
 
@@ -224,14 +198,21 @@ public class Playing extends State implements StateMethods {
     private void loadCurrentLevel() {
         // don't create a new player, but "respawn" player
         player.spawnAt(200, 300);
-        player.loadLvlData(levelManager.getCurrentLevel().getLevelData());
+        player.loadLvlData(levelManager.getCurrentLevel().getLevelData(),
+                levelManager.getCurrentLevel().getCollisionMap());
         enemyManager.loadEnemies(levelManager.getCurrentLevel());
         projManager.reset();
-        hud = new HUD(this);
+        // the camera needs the size of the new level so it doesn't scroll past the edges
+        camera.setLevelSize(levelManager.getCurrentLevel().getLevelData().getWidth(),
+                levelManager.getCurrentLevel().getLevelData().getHeight());
+        camera.snapTo(player.getHitbox());
+        if (!headless) {
+            hud = new HUD(this);
+        }
         scoreFromEnemies = 0;
         levelComplete = levelManager.getCurrentLevel().getCompleted();
         if (game != null) {
-            game.getAudioPlayer().setLevelSong(levelManager.getCurrentLevelIndex());
+            game.getAudioPlayer().setLevelSong(levelManager.getCurrentLevelInfo().getSong());
         }
 
     }
@@ -246,9 +227,11 @@ public class Playing extends State implements StateMethods {
         for (int i = 0; i < mystPos.length; i++) {
             mystPos[i] = (int) (70 * Game.SCALE) + rnd.nextInt((int) (150 * Game.SCALE));
         }
-        // Load in background images
-        backgroundimg = LoadSave.getSpriteSheet(LoadSave.WORLD1_BG);
-        background_myst_img = LoadSave.getSpriteSheet(LoadSave.WORLD1_BG_MYST);
+        // Load in background images, scaled to the size they are drawn at
+        backgroundimg = LoadSave.scaleImage(LoadSave.getSpriteSheet(LoadSave.WORLD1_BG), Game.GAME_WIDTH,
+                Game.GAME_HEIGHT);
+        background_myst_img = LoadSave.scaleImage(LoadSave.getSpriteSheet(LoadSave.WORLD1_BG_MYST),
+                BackgroundStates.BGMYST_WIDTH, BackgroundStates.BGMYST_HEIGHT);
         background_rocks = LoadSave.getSpriteSheet(LoadSave.WORLD1_BG_ROCKS);
     }
 
@@ -259,6 +242,13 @@ public class Playing extends State implements StateMethods {
      */
     @Override
     public void update() {
+        // headless has no overlays, so it only updates while the level is being played
+        if (headless) {
+            if (isRunning()) {
+                updateLogic();
+            }
+            return;
+        }
         // update the playing screen depending on what state the it is in
         if (demoOver) {
             demoOverlay.update();
@@ -279,49 +269,21 @@ public class Playing extends State implements StateMethods {
             // Otherwise, the game is still being played,
             // so update everything else
         } else {
-            player.update(xLevelOffset);
-            enemyManager.update(levelManager.getCurrentLevel().getLevelData(), player);
-            projManager.update(levelManager.getCurrentLevel().getLevelData());
-            screenScroller();
+            updateLogic();
             hud.updateHUD();
         }
     }
 
     /**
-     * Pushes the screen once the player entity gets beyond a certain percentage of the
-     * currently drawn screen
+     * This is 1 tick of the game logic while the level is being played: the Player, the
+     * enemies, the projectiles, and then the camera. Nothing here draws or plays sounds on its
+     * own, so it is the same with or without a window.
      */
-    private void screenScroller() {
-        int playerX = (int) player.getHitbox().x;
-        int diffX = playerX - xLevelOffset;
-
-        if (diffX > borderRight) {
-            xLevelOffset += diffX - borderRight;
-        } else if (diffX < borderLeft) {
-            xLevelOffset += diffX - borderLeft;
-        }
-
-        if (xLevelOffset > maxXOffset) {
-            xLevelOffset = maxXOffset;
-        } else if (xLevelOffset < 0) {
-            xLevelOffset = 0;
-        }
-
-        // Y-Position Vars
-        int playerY = (int) player.getHitbox().y;
-        int diffY = playerY - yLevelOffset;
-        if (diffY > borderTop) {
-            yLevelOffset += diffY - borderTop;
-        } else if (diffY < borderBottom) {
-            yLevelOffset += diffY - borderBottom;
-        }
-
-        if (yLevelOffset > maxYOffset) {
-            yLevelOffset = maxYOffset;
-        } else if (yLevelOffset < 0) {
-            yLevelOffset = 0;
-        }
-
+    private void updateLogic() {
+        player.update(camera.getXOffset(), camera.getYOffset());
+        enemyManager.update(levelManager.getCurrentLevel().getCollisionMap(), player, camera);
+        projManager.update(levelManager.getCurrentLevel().getCollisionMap());
+        camera.follow(player.getHitbox());
     }
 
     /**
@@ -331,6 +293,10 @@ public class Playing extends State implements StateMethods {
      */
     @Override
     public void draw(Graphics g) {
+        // a headless Playing has nothing to draw with
+        if (headless) {
+            return;
+        }
         // if the demo is over, only draw the demo screen nothing else
         if (demoOver) {
             demoOverlay.draw(g);
@@ -352,10 +318,12 @@ public class Playing extends State implements StateMethods {
             winOverlay.update();
         } else {
             // if not paused, draw everything beneath this.
-            levelManager.draw(g, xLevelOffset);
+            final int xLevelOffset = camera.getXOffset();
+            final int yLevelOffset = camera.getYOffset();
+            levelManager.draw(g, xLevelOffset, yLevelOffset);
             hud.draw(g);
-            enemyManager.draw(g, xLevelOffset);
-            projManager.draw(g, xLevelOffset);
+            enemyManager.draw(g, xLevelOffset, yLevelOffset);
+            projManager.draw(g, xLevelOffset, yLevelOffset);
             player.renderPlayer(g);
         }
 
@@ -367,14 +335,14 @@ public class Playing extends State implements StateMethods {
      * @param g - Graphics
      */
     private void drawBackground(Graphics g) {
-        g.drawImage(backgroundimg, 0, 0, Game.GAME_WIDTH, Game.GAME_HEIGHT, null);
+        g.drawImage(backgroundimg, 0, 0, null);
         for (int i = 0; i < mystPos.length; i++) {
-            g.drawImage(background_myst_img, BackgroundStates.BGMYST_WIDTH * i - (int) (xLevelOffset * 0.7), mystPos[i],
-                    BackgroundStates.BGMYST_WIDTH, BackgroundStates.BGMYST_HEIGHT, null);
+            g.drawImage(background_myst_img, BackgroundStates.BGMYST_WIDTH * i - (int) (camera.getXOffset() * 0.7),
+                    mystPos[i], null);
         }
         for (int i = 0; i < 4; i++) {
             g.drawImage(background_rocks, i * BackgroundStates.BGROCKS_WIDTH, 0,
-                    Game.GAME_WIDTH - (int) (xLevelOffset * 0.3), Game.GAME_HEIGHT, null);
+                    Game.GAME_WIDTH - (int) (camera.getXOffset() * 0.3), Game.GAME_HEIGHT, null);
 
         }
 
@@ -427,7 +395,9 @@ public class Playing extends State implements StateMethods {
         // tell the playing that the level is completed
         this.levelComplete = true;
         // play the level complete sounds
-        game.getAudioPlayer().lvlCompleted();
+        if (game != null) {
+            game.getAudioPlayer().lvlCompleted();
+        }
         // add the score from completing the level, killing enemies, and health remaining
         player.changeScore(Level.SCORE_VALUE);
         player.changeScore(scoreFromEnemies);
@@ -541,7 +511,9 @@ public class Playing extends State implements StateMethods {
         case KeyEvent.VK_SPACE:
             player.setJump(true);
             player.incJumpCount();
-            game.getAudioPlayer().playEffect(AudioPlayer.JUMP);
+            if (game != null) {
+                game.getAudioPlayer().playEffect(AudioPlayer.JUMP);
+            }
             break;
         case KeyEvent.VK_P:
             paused = !paused;
@@ -598,6 +570,42 @@ public class Playing extends State implements StateMethods {
         }
     }
 
+    /**
+     * Getter for if the level is being played, meaning it isn't paused, over, or completed
+     * 
+     * @return true if the game logic should be updated
+     */
+    public boolean isRunning() {
+        return !demoOver && !levelComplete && !paused && !gameOver;
+    }
+
+    /**
+     * Getter for the gameOver boolean
+     * 
+     * @return true if the Player died in the current level
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Getter for the levelComplete boolean
+     * 
+     * @return true if the current level has been completed
+     */
+    public boolean isLevelComplete() {
+        return levelComplete;
+    }
+
+    /**
+     * Getter for the headless boolean
+     * 
+     * @return true if this Playing only runs the game logic
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
     /**
      * Getter for the current score
      * 
@@ -626,6 +634,15 @@ public class Playing extends State implements StateMethods {
         return levelManager;
     }
 
+    /**
+     * Getter for the camera that follows the Player
+     * 
+     * @return the Camera for the current level
+     */
+    public Camera getCamera() {
+        return camera;
+    }
+
     /**
      * Getter for the Enemy Manager
      * 
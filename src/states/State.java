@@ -61,7 +61,8 @@ public abstract class State {
         case MENU:
             game.getAudioPlayer().playSong(AudioPlayer.MENU_1);
         case PLAYING:
-            game.getAudioPlayer().setLevelSong(game.getPlaying().getLevelManager().getCurrentLevelIndex());
+            game.getAudioPlayer()
+                    .setLevelSong(game.getPlaying().getLevelManager().getCurrentLevelInfo().getSong());
         default:
             break;
         }
@@ -85,9 +85,10 @@ public class HUD {
      * Loads in the image assets for the HUD entity
      */
     private void loadAssets() {
-        portrait = LoadSave.getSpriteSheet(LoadSave.PLAYER_PORTRAIT);
-        hudbg = LoadSave.getSpriteSheet(LoadSave.HUDBG);
-        hearts = LoadSave.getSpriteSheet(LoadSave.HEART); // Get assets for hearts
+        // scale the images to the size they are drawn at so they are drawn 1:1
+        portrait = LoadSave.scaleImage(LoadSave.getSpriteSheet(LoadSave.PLAYER_PORTRAIT), width, height);
+        hudbg = LoadSave.scaleImage(LoadSave.getSpriteSheet(LoadSave.HUDBG), Game.GAME_WIDTH, Game.GAME_HEIGHT);
+        hearts = LoadSave.scaleImage(LoadSave.getSpriteSheet(LoadSave.HEART), width, height); // Get assets for hearts
 
         // Font Initialization
         this.hudFont = LoadSave.loadFont(LoadSave.FONT, 25);
@@ -154,11 +155,11 @@ public class HUD {
         // X-Position of multiple hearts
         int multipleHearts = 80;
 
-        g.drawImage(hudbg, 0, 0, Game.GAME_WIDTH, Game.GAME_HEIGHT, null);
-        g.drawImage(portrait, Game.GAME_WIDTH - xPos, yPos, width, height, null);
+        g.drawImage(hudbg, 0, 0, null);
+        g.drawImage(portrait, Game.GAME_WIDTH - xPos, yPos, null);
 
         for (int i = 0; i < updateHealth(); i++) {
-            g.drawImage(hearts, Game.GAME_WIDTH - heartsXpos - (i * multipleHearts), yPos, width, height, null);
+            g.drawImage(hearts, Game.GAME_WIDTH - heartsXpos - (i * multipleHearts), yPos, null);
         }
 
         g.setColor(Color.BLACK);
@@ -0,0 +1,169 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class loads assets (images, levels, fonts, and audio) at the same time on a small,
+ * fixed amount of background threads. It keeps track of how many assets are done so a
+ * loading screen can show the progress, and it times how long each asset took to load.
+ */
+public class AssetLoader {
+    /**
+     * The most threads that will be used to load assets. Loading is mostly reading files and
+     * decoding them, so a few threads is enough to overlap the waiting.
+     */
+    public static final int MAX_THREADS = 4;
+
+    /**
+     * The threads that will load the assets
+     */
+    private final ExecutorService executor;
+    /**
+     * The results of every submitted asset, used to wait for all of them to finish
+     */
+    private final List<Future<?>> futures = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * How many assets have been submitted to be loaded
+     */
+    private final AtomicInteger submitted = new AtomicInteger();
+    /**
+     * How many assets are done loading (even if they failed)
+     */
+    private final AtomicInteger completed = new AtomicInteger();
+    /**
+     * How long each asset took to load in nanoseconds, by the asset's name
+     */
+    private final Map<String, Long> loadTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the AssetLoader. It will use 1 thread per processor, between 2 and
+     * MAX_THREADS threads.
+     */
+    public AssetLoader() {
+        final int threads = Math.max(2, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread t = new Thread(r, "AssetLoader-" + threadCount.incrementAndGet());
+            // loading threads shouldn't keep the game open if it is closed while loading
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * This will load an asset on one of the loading threads. If the asset throws an exception
+     * while loading, it is printed and counted as done so the game doesn't get stuck on the
+     * loading screen.
+     * 
+     * @param name - the name of the asset, used for the load times
+     * @param task - what to run to load the asset
+     */
+    public void submit(String name, Runnable task) {
+        submitted.incrementAndGet();
+        futures.add(executor.submit(() -> {
+            final long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Failed to load " + name + ": " + e);
+            } finally {
+                record(name, System.nanoTime() - start);
+                completed.incrementAndGet();
+            }
+        }));
+    }
+
+    /**
+     * This saves how long an asset took to load. This can be used for things that are loaded
+     * outside of this class so they show up with the other load times.
+     * 
+     * @param name  - the name of the asset
+     * @param nanos - how long it took to load in nanoseconds
+     */
+    public void record(String name, long nanos) {
+        loadTimes.put(name, nanos);
+    }
+
+    /**
+     * This will block the current thread until every asset that was submitted is done
+     * loading.
+     */
+    public void awaitAll() {
+        final List<Future<?>> toWait;
+        synchronized (futures) {
+            toWait = new ArrayList<>(futures);
+        }
+        for (Future<?> f : toWait) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // the task already printed its own error
+            }
+        }
+    }
+
+    /**
+     * Checks if every submitted asset is done loading
+     * 
+     * @return true if all assets are done, false if some are still loading
+     */
+    public boolean isDone() {
+        return completed.get() >= submitted.get();
+    }
+
+    /**
+     * Getter for how much of the loading is done
+     * 
+     * @return a number from 0 to 1, where 1 means everything is loaded
+     */
+    public float getProgress() {
+        final int total = submitted.get();
+        if (total == 0) {
+            return 1f;
+        }
+        return (float) completed.get() / total;
+    }
+
+    /**
+     * Getter for how long each asset took to load, sorted from slowest to fastest
+     * 
+     * @return a map of each asset name to its load time in nanoseconds
+     */
+    public Map<String, Long> getLoadTimes() {
+        final Map<String, Long> sorted = new LinkedHashMap<>();
+        loadTimes.entrySet().stream().sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEachOrdered(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    /**
+     * This prints how long each asset took to load (slowest first) in milliseconds
+     */
+    public void printLoadTimes() {
+        System.out.println("Asset load times:");
+        for (Map.Entry<String, Long> e : getLoadTimes().entrySet()) {
+            System.out.printf("\t%8.2f ms  %s%n", e.getValue() / 1_000_000.0, e.getKey());
+        }
+    }
+
+    /**
+     * This stops the loading threads once all of the assets are loaded. No more assets can be
+     * submitted after this.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,7 +1,6 @@
 package utils;
 
 import java.awt.Color;
-import java.awt.Point;
 
 import main.Game;
 
@@ -145,45 +144,6 @@ public class Constants {
          */
         public static final Color OUTLINE = new Color(0, 0, 55);
 
-        /*
-         * Each point here represents one of the clickable buttons that map to different levels on
-         * the Overworld menu. The point is the top-right coordinate of each button.
-         * 
-         * all points were calculated on paper arbitrary points that look good on screen divide by
-         * 1.75f because that is the default scale, then multiple by scale
-         * 
-         */
-        /**
-         * The point on the overworld screen for level 1
-         */
-        private static final Point LEVEL_1 = new Point((int) (660 / 1.75f * Game.SCALE),
-                (int) (190 / 1.75f * Game.SCALE));
-        /**
-         * The point on the overworld screen for level 2
-         */
-        private static final Point LEVEL_2 = new Point((int) (620 / 1.75f * Game.SCALE),
-                (int) (250 / 1.75f * Game.SCALE));
-        /**
-         * The point on the overworld screen for level 3
-         */
-        private static final Point LEVEL_3 = new Point((int) (700 / 1.75f * Game.SCALE),
-                (int) (285 / 1.75f * Game.SCALE));
-        /**
-         * The point on the overworld screen for level 4
-         */
-        private static final Point LEVEL_4 = new Point((int) (580 / 1.75f * Game.SCALE),
-                (int) (350 / 1.75f * Game.SCALE));
-        /**
-         * The point on the overworld screen for level 5
-         */
-        private static final Point LEVEL_5 = new Point((int) (710 / 1.75f * Game.SCALE),
-                (int) (415 / 1.75f * Game.SCALE));
-        /**
-         * This is a final array of all 5 Levels, so that it can be easily access by the Overworld
-         * GameState
-         */
-        public static final Point[] BUTTON_POINT_ARRAY = new Point[] { LEVEL_1, LEVEL_2, LEVEL_3, LEVEL_4, LEVEL_5 };
-
     }
 
     /**
@@ -591,6 +551,10 @@ public class Constants {
 
         /** how much damage an entity will take if hit with an ARROW */
         public static final int ARROW_DAMAGE = 1;
+        /**
+         * The most Arrows that can be in the game at one time, any more shots are dropped
+         */
+        public static final int MAX_PROJECTILES = 512;
 
         /**
          * Get the specific height of a hitbox for a Projectile based on the constants above
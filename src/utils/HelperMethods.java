@@ -2,6 +2,7 @@ package utils;
 
 import java.awt.geom.Rectangle2D;
 
+import levels.CollisionMap;
 import main.Game;
 
 /**
@@ -18,21 +19,21 @@ public class HelperMethods {
      * 
      * The order of checks is: Top left, Bottom right, Top right, Bottom left.
      * 
-     * @param x         - X-Position of caller entity
-     * @param y         - Y-Position of caller entity
-     * @param width     - Width of the hitbox of caller entity
-     * @param height    - Height of the hitbox of caller entity
-     * @param levelData - 2D Array of data that represents the level
+     * @param x      - X-Position of caller entity
+     * @param y      - Y-Position of caller entity
+     * @param width  - Width of the hitbox of caller entity
+     * @param height - Height of the hitbox of caller entity
+     * @param map    - the CollisionMap of the current level
      * @return - True if the entity is able to move, false if it cannot
      */
-    public static boolean canMoveHere(float x, float y, float width, float height, int[][] levelData) {
+    public static boolean canMoveHere(float x, float y, float width, float height, CollisionMap map) {
         // check top left and bottom right first in case of arial movement
-        if (!isSolid(x, y, levelData)) { // Checks top left
-            if (!isSolid(x + width, y + height, levelData)) { // Checks bottom right
-                if (!isSolid(x + width, y, levelData)) { // checks top right
-                    if (!isSolid(x, y + height, levelData)) {
-                        if (!isSolid(x, y + height / 2, levelData)) {
-                            if (!isSolid(x + width, y + height / 2, levelData)) {
+        if (!isSolid(x, y, map)) { // Checks top left
+            if (!isSolid(x + width, y + height, map)) { // Checks bottom right
+                if (!isSolid(x + width, y, map)) { // checks top right
+                    if (!isSolid(x, y + height, map)) {
+                        if (!isSolid(x, y + height / 2, map)) {
+                            if (!isSolid(x + width, y + height / 2, map)) {
                                 return true;
                             }
                         }
@@ -46,48 +47,147 @@ public class HelperMethods {
     /**
      * Determines if a tile is solid enough to walk on
      * 
-     * @param x       - X-Position of the current entity
-     * @param y       - Y-Position of the current entity
-     * @param lvlData - Data of the level to be checked against
+     * @param x   - X-Position of the current entity
+     * @param y   - Y-Position of the current entity
+     * @param map - the CollisionMap of the current level
      * @return - True if it is able to be walked on, false otherwise
      */
-    private static boolean isSolid(float x, float y, int[][] lvlData) {
-        int maxWidth = lvlData[0].length * Game.TILES_SIZE;
-//        int maxHeight = lvlData[0].length * Game.TILES_SIZE; //Figure out how to make max HEIGHT for longer levels
+    private static boolean isSolid(float x, float y, CollisionMap map) {
+        int maxWidth = map.getWidth() * Game.TILES_SIZE;
+        // the bottom of the world is the bottom of the level, so taller levels can be used
+        int maxHeight = map.getHeight() * Game.TILES_SIZE;
         if (x < 0 || x >= maxWidth) {
             return true;
         }
 
-        if (y < 0 || y >= Game.GAME_HEIGHT) {
+        if (y < 0 || y >= maxHeight) {
             return true;
         }
 
         float xIndex = x / Game.TILES_SIZE;
         float yIndex = y / Game.TILES_SIZE;
 
-        return isTileSolid((int) xIndex, (int) (yIndex), lvlData);
+        return map.isSolid((int) xIndex, (int) (yIndex));
 
     }
 
     /**
-     * This method will check a specific index in the levelData passed in. If it is not in the
-     * tiles being used or is NOT a transparent tile, it is solid.
+     * This walks along a line through the level one tile at a time (a DDA grid traversal) and
+     * stops at the first solid tile. Only the tiles that the line actually crosses are
+     * checked, so a fast object can't skip over a thin wall. Anything outside of the level
+     * counts as solid.
      * 
-     * @param xIndex    - X-Position in the level index; Any drawn game tile on the X-Axis
-     * @param yIndex    - Y-Position in the level index; Any drawn game tile on the Y-Axis
-     * @param levelData - The data that makes up the level
-     * @return - Returns True if the tile is solid, false otherwise
+     * @param x0  - the x-coordinate of the start of the line
+     * @param y0  - the y-coordinate of the start of the line
+     * @param x1  - the x-coordinate of the end of the line
+     * @param y1  - the y-coordinate of the end of the line
+     * @param map - the CollisionMap of the current level
+     * @param hit - where the hit is saved, if there is one
+     * @return true if the line hits a solid tile, false if it is clear
      */
-    private static boolean isTileSolid(int xIndex, int yIndex, int[][] levelData) {
-        int value = levelData[(int) yIndex][(int) xIndex];
-
-        // 47 Sprites, 11th sprite in the Level sprite sheet is transparent, 45th is Lava
-        // if value is lava, kill
-        if (value >= 48 || value < 0 || value != 11) {
+    public static boolean raycastTiles(float x0, float y0, float x1, float y1, CollisionMap map, TileHit hit) {
+        final float dx = x1 - x0;
+        final float dy = y1 - y0;
+        int tileX = (int) Math.floor(x0 / Game.TILES_SIZE);
+        int tileY = (int) Math.floor(y0 / Game.TILES_SIZE);
+        // the line may start inside a solid tile
+        if (map.isSolid(tileX, tileY)) {
+            hit.set(x0, y0, tileX, tileY, 0);
             return true;
-        } else {
+        }
+
+        // which way to step through the tiles on each axis
+        final int stepX = dx > 0 ? 1 : -1;
+        final int stepY = dy > 0 ? 1 : -1;
+        // how far along the line (0 to 1) the next vertical and horizontal tile edges are
+        float tMaxX = Float.POSITIVE_INFINITY;
+        float tMaxY = Float.POSITIVE_INFINITY;
+        // how far along the line it takes to cross a whole tile on each axis
+        float tDeltaX = Float.POSITIVE_INFINITY;
+        float tDeltaY = Float.POSITIVE_INFINITY;
+        if (dx != 0) {
+            final float edgeX = (dx > 0 ? tileX + 1 : tileX) * Game.TILES_SIZE;
+            tMaxX = (edgeX - x0) / dx;
+            tDeltaX = Game.TILES_SIZE / Math.abs(dx);
+        }
+        if (dy != 0) {
+            final float edgeY = (dy > 0 ? tileY + 1 : tileY) * Game.TILES_SIZE;
+            tMaxY = (edgeY - y0) / dy;
+            tDeltaY = Game.TILES_SIZE / Math.abs(dy);
+        }
+
+        // step into whichever tile edge is closer until the end of the line
+        while (true) {
+            final float t;
+            if (tMaxX < tMaxY) {
+                t = tMaxX;
+                tileX += stepX;
+                tMaxX += tDeltaX;
+            } else {
+                t = tMaxY;
+                tileY += stepY;
+                tMaxY += tDeltaY;
+            }
+            if (t > 1) {
+                return false;
+            }
+            if (map.isSolid(tileX, tileY)) {
+                hit.set(x0 + dx * t, y0 + dy * t, tileX, tileY, t);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * This sweeps a hitbox along a movement and finds the first solid tile it would touch.
+     * A ray is cast from each corner on the leading side of the hitbox, and the closest hit
+     * is kept. This only works for hitboxes that are smaller than a tile, since then any tile
+     * the hitbox touches must be crossed by one of its corners.
+     * 
+     * @param x      - the left side of the hitbox
+     * @param y      - the top side of the hitbox
+     * @param width  - the width of the hitbox, must be smaller than a tile
+     * @param height - the height of the hitbox, must be smaller than a tile
+     * @param dx     - how far the hitbox moves horizontally
+     * @param dy     - how far the hitbox moves vertically
+     * @param map    - the CollisionMap of the current level
+     * @param hit    - where the closest hit is saved, if there is one. The point is where
+     *               the corner that hit first touched the tile.
+     * @return true if the hitbox would touch a solid tile, false if the path is clear
+     */
+    public static boolean sweepHitbox(float x, float y, float width, float height, float dx, float dy,
+            CollisionMap map, TileHit hit) {
+        // the closest hit so far
+        float closest = Float.POSITIVE_INFINITY;
+        float hitX = 0;
+        float hitY = 0;
+        int hitTileX = 0;
+        int hitTileY = 0;
+        // check every corner, but skip the ones that are trailing behind the movement
+        for (int corner = 0; corner < 4; corner++) {
+            final boolean right = (corner & 1) != 0;
+            final boolean bottom = (corner & 2) != 0;
+            final boolean leadsX = dx != 0 && right == (dx > 0);
+            final boolean leadsY = dy != 0 && bottom == (dy > 0);
+            if (!leadsX && !leadsY && (dx != 0 || dy != 0)) {
+                continue;
+            }
+            final float cornerX = right ? x + width : x;
+            final float cornerY = bottom ? y + height : y;
+            if (raycastTiles(cornerX, cornerY, cornerX + dx, cornerY + dy, map, hit)
+                    && hit.getFraction() < closest) {
+                closest = hit.getFraction();
+                hitX = hit.getX();
+                hitY = hit.getY();
+                hitTileX = hit.getTileX();
+                hitTileY = hit.getTileY();
+            }
+        }
+        if (closest == Float.POSITIVE_INFINITY) {
             return false;
         }
+        hit.set(hitX, hitY, hitTileX, hitTileY, closest);
+        return true;
     }
 
     /**
@@ -121,11 +221,26 @@ public class HelperMethods {
      * @return - Returns a float to displace the caller's hitbox.
      */
     public static float getYPosRoof(Rectangle2D.Float hitbox, float airSpeed, float hitboxOffset) {
-        int currentTile = (int) (hitbox.y / Game.TILES_SIZE);
+        return getYPosRoof(hitbox.y, hitbox.height, airSpeed, hitboxOffset);
+    }
+
+    /**
+     * Checks when a hitbox, given by its top and height, collides with something on the top
+     * or bottom. This is the same as the other getYPosRoof, for callers that don't keep a
+     * Rectangle.
+     * 
+     * @param y            - The top of the hitbox calling this collision check
+     * @param height       - How tall the hitbox is
+     * @param airSpeed     - The Y Speed of that hitbox
+     * @param hitboxOffset - How much the sprite is drawn off center from the hitbox
+     * @return - Returns a float to displace the caller's hitbox.
+     */
+    public static float getYPosRoof(float y, float height, float airSpeed, float hitboxOffset) {
+        int currentTile = (int) (y / Game.TILES_SIZE);
         if (airSpeed > 0) {
             // Collision on the Bottom
             int tileYPos = currentTile * Game.TILES_SIZE;
-            int yOffset = (int) ((Game.TILES_SIZE - hitbox.height) + hitboxOffset);
+            int yOffset = (int) ((Game.TILES_SIZE - height) + hitboxOffset);
             return tileYPos + yOffset;
         } else {
             // Collision on the top
@@ -136,88 +251,145 @@ public class HelperMethods {
     /**
      * Checks to see if the entity is on the floor
      * 
-     * @param hitbox  - The hitbox of the entity that called this method
-     * @param lvlData - The data of the floor
+     * @param hitbox - The hitbox of the entity that called this method
+     * @param map    - the CollisionMap of the current level
      * @return - Returns true if the entity is touching the floor, false if not
      */
-    public static boolean floorCheck(Rectangle2D.Float hitbox, int[][] lvlData) {
+    public static boolean floorCheck(Rectangle2D.Float hitbox, CollisionMap map) {
+        return floorCheck(hitbox.x, hitbox.y, hitbox.width, hitbox.height, map);
+    }
+
+    /**
+     * Checks to see if a hitbox, given by its coordinates and size, is on the floor
+     * 
+     * @param x      - The left of the hitbox
+     * @param y      - The top of the hitbox
+     * @param width  - How wide the hitbox is
+     * @param height - How tall the hitbox is
+     * @param map    - the CollisionMap of the current level
+     * @return - Returns true if the hitbox is touching the floor, false if not
+     */
+    public static boolean floorCheck(float x, float y, float width, float height, CollisionMap map) {
         // Check the pixel below bottomleft and bottomright
-        if (!isSolid(hitbox.x, hitbox.y + hitbox.height + 10, lvlData))
-            if (!isSolid(hitbox.x + hitbox.width, hitbox.y + hitbox.height + 1, lvlData))
+        if (!isSolid(x, y + height + 10, map))
+            if (!isSolid(x + width, y + height + 1, map))
                 return false;
 
         return true;
     }
 
     /**
-     * This determines if one Entity can see another Entity's hitbox in a Level. It will then
-     * determine if all of the tiles between the two points are walkable. If so, it will
-     * return true. If not, false.
+     * This determines if one Entity can see another Entity's hitbox in a Level. They can see
+     * each other if the middle of both hitboxes are on the same walkable span in the row the
+     * first Entity is standing in, so there are no gaps or walls between them. This is looked
+     * up from the CollisionMap's span index instead of checking every tile in between.
      * 
-     * @param levelData    - the current Level as a 2D int array
-     * @param firstHitbox  - the first Hitbox from one of the Entities to check
+     * @param map          - the CollisionMap of the current level
+     * @param firstHitbox  - the first Hitbox from one of the Entities to check, this should
+     *                     be standing on the ground
      * @param secondHitbox - the other Hitbox from the other Entity
-     * @param yTile        - the yTile of the first hitbox
      * @return true if there is a clear line of sight between both hitboxes
      */
-    public static boolean isSightClear(int[][] levelData, Rectangle2D.Float firstHitbox, Rectangle2D.Float secondHitbox,
-            int yTile) {
-        final int firstXTile = (int) (firstHitbox.x / Game.TILES_SIZE);
-        final int secondXTile = (int) (secondHitbox.x / Game.TILES_SIZE);
+    public static boolean isSightClear(CollisionMap map, Rectangle2D.Float firstHitbox,
+            Rectangle2D.Float secondHitbox) {
+        return isSightClear(map, firstHitbox.x, firstHitbox.y, firstHitbox.width, firstHitbox.height,
+                secondHitbox);
+    }
+
+    /**
+     * This is the same as the other isSightClear, but the first hitbox is given by its
+     * coordinates and size
+     * 
+     * @param map          - the CollisionMap of the current level
+     * @param x            - the left of the first hitbox, this should be standing on the
+     *                     ground
+     * @param y            - the top of the first hitbox
+     * @param width        - how wide the first hitbox is
+     * @param height       - how tall the first hitbox is
+     * @param secondHitbox - the other Hitbox from the other Entity
+     * @return true if there is a clear line of sight between both hitboxes
+     */
+    public static boolean isSightClear(CollisionMap map, float x, float y, float width, float height,
+            Rectangle2D.Float secondHitbox) {
+        final int firstXTile = (int) ((x + width / 2) / Game.TILES_SIZE);
+        final int secondXTile = (int) ((secondHitbox.x + secondHitbox.width / 2) / Game.TILES_SIZE);
 
         if (firstXTile == secondXTile)
             return true;
 
-        // make sure that all of the tiles are walkable between both points
-        if (firstXTile < secondXTile) {
-            // if the first hitbox is on the left, that is the start
-            return isAllTilesWalkable(firstXTile, secondXTile, yTile, levelData);
-        } else {
-            // if the second hitbox is on the left, that is the start
-            return isAllTilesWalkable(secondXTile, firstXTile, yTile, levelData);
-        }
+        // make sure that both points are on the same platform
+        return map.isSameSpan(firstXTile, secondXTile, getFeetTile(y, height));
+    }
+
+    /**
+     * Check if a tile is walkable based on the xSpeed given into the function. The tile at the
+     * front edge of the hitbox, xSpeed away, has to be on the same walkable span as the middle
+     * of the hitbox. This stops Entities at edges, walls, and lava.
+     * 
+     * @param hitbox - The hitbox of the caller entity
+     * @param xSpeed - The current X-Speed of the caller entity, negative is left
+     * @param map    - the CollisionMap of the current level
+     * @return true if the specific tile xSpeed away is walkable
+     */
+    public static boolean isTileWalkable(Rectangle2D.Float hitbox, float xSpeed, CollisionMap map) {
+        return isTileWalkable(hitbox.x, hitbox.y, hitbox.width, hitbox.height, xSpeed, map);
     }
 
     /**
-     * Check if a tile is walkable based on the xSpeed given into the function.
+     * This is the same as the other isTileWalkable, but the hitbox is given by its coordinates
+     * and size
      * 
-     * @param hitbox  - The hitbox of the caller entity
-     * @param xSpeed  - The current X-Speed of the caller entity
-     * @param lvlData - The data that makes up the current level
+     * @param x      - The left of the hitbox
+     * @param y      - The top of the hitbox
+     * @param width  - How wide the hitbox is
+     * @param height - How tall the hitbox is
+     * @param xSpeed - The current X-Speed of the caller entity, negative is left
+     * @param map    - the CollisionMap of the current level
      * @return true if the specific tile xSpeed away is walkable
      */
-    public static boolean isTileWalkable(Rectangle2D.Float hitbox, float xSpeed, int[][] lvlData) {
+    public static boolean isTileWalkable(float x, float y, float width, float height, float xSpeed,
+            CollisionMap map) {
+        final int middleTile = (int) ((x + width / 2) / Game.TILES_SIZE);
+        final float edge;
         if (xSpeed < 0) {
-            // moving left, x = x
-            return (isSolid(hitbox.x - xSpeed, hitbox.y + hitbox.height + 1, lvlData)
-                    && !isTileLava(hitbox.x - xSpeed, hitbox.y + hitbox.height + 1, lvlData));
+            // moving left, the front is the left side
+            edge = x + xSpeed;
         } else {
-            // moving right, x = x + width
-            return (isSolid(hitbox.x + hitbox.width + xSpeed, hitbox.y + hitbox.height + 1, lvlData)
-                    && !isTileLava(hitbox.x + hitbox.width + xSpeed, hitbox.y + hitbox.height, lvlData));
-
+            // moving right, the front is the right side
+            edge = x + width + xSpeed;
+        }
+        // past the left side of the level is never walkable
+        if (edge < 0) {
+            return false;
         }
+        return map.isSameSpan(middleTile, (int) (edge / Game.TILES_SIZE), getFeetTile(y, height));
     }
 
     /**
-     * Checking the row of tiles so make sure that all are walkable
+     * Checking the row of tiles so make sure that all are walkable. This is 1 lookup in the
+     * CollisionMap's span index instead of scanning every tile.
      * 
-     * @param xStart  - The starting X-Coordinate
-     * @param xEnd    - The ending X-Coordinate
-     * @param y       - The Y-Position of both entities
-     * @param lvlData - The data that makes up the current level
+     * @param xStart - The starting X-Coordinate
+     * @param xEnd   - The ending X-Coordinate
+     * @param y      - The row the entities are standing in, the ground is the row under it
+     * @param map    - the CollisionMap of the current level
      * @return return true if all of the tiles are walkable from xStart to xEnd
      */
-    public static boolean isAllTilesWalkable(int xStart, int xEnd, int y, int[][] lvlData) {
-        // check the tiles on same level and 1 down
-        for (int i = 0; i < xStart - xEnd; i++) {
-            if (isTileSolid(xStart + i, y, lvlData))
-                return false;
+    public static boolean isAllTilesWalkable(int xStart, int xEnd, int y, CollisionMap map) {
+        return map.isSameSpan(xStart, xEnd, y);
+    }
 
-            if (!isTileSolid(xStart + i, y + 1, lvlData))
-                return false;
-        }
-        return true;
+    /**
+     * This is a helper method that finds the row of tiles a hitbox is standing in, which is
+     * the row its bottom edge is in. The ground it is standing on is the row under this.
+     * 
+     * @param y      - the top of the hitbox to check
+     * @param height - how tall the hitbox is
+     * @return the row of the bottom of the hitbox
+     */
+    private static int getFeetTile(float y, float height) {
+        // take 1 off so a hitbox resting exactly on the ground is in the row above it
+        return (int) ((y + height - 1) / Game.TILES_SIZE);
     }
 
     /**
@@ -227,13 +399,13 @@ public class HelperMethods {
      *                added/not added depending on what direction the Entity is moving.
      * @param y_coord - the y-coordinate to check (not the tile). For entities, this should
      *                include the height.
-     * @param lvlData - The data of the level to be read in
+     * @param map     - the CollisionMap of the current level
      * @return true if the specific tile away is lava
      */
-    public static boolean isTileLava(float x_coord, float y_coord, int[][] lvlData) {
+    public static boolean isTileLava(float x_coord, float y_coord, CollisionMap map) {
         final int xTile = (int) (x_coord / Game.TILES_SIZE);
         // add 1 to the y_coord so the tile underneath the Entity is checked
         final int yTile = (int) ((y_coord + 1) / Game.TILES_SIZE);
-        return (lvlData[yTile][xTile] == 45);
+        return map.isLava(xTile, yTile);
     }
 }
@@ -1,25 +1,22 @@
 package utils;
 
-import static utils.Constants.EnemyConstants.SKELETON_HITBOX_HEIGHT;
-import static utils.Constants.EnemyConstants.SKELETON_HITBOX_WIDTH;
-import static utils.Constants.EnemyConstants.SKELETON_KING_HITBOX_HEIGHT;
-import static utils.Constants.EnemyConstants.SKELETON_KING_HITBOX_WIDTH;
-
-import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.imageio.ImageIO;
 
-import entities.Skeleton;
-import entities.SkeletonKing;
-import main.Game;
+import levels.LevelFile;
+import levels.TileGrid;
 
 /**
  * This class is focused on loading in sprite data, level data, and building levels. All
@@ -169,23 +166,96 @@ public class LoadSave {
     public static final String WORLD3_SPRITES = "/World3/World3Sprites.png";
 
     /**
-     * this is the green value used to determine which tiles have Skeletons on in from the RGB
-     * level data
+     * Every image that is drawn in the game, these are loaded ahead of time by the
+     * AssetLoader
+     */
+    public static final List<String> IMAGE_FILES = List.of(HUDBG, PLAYER_PORTRAIT, HEART, PLAYER_SPRITES,
+            SKELETON_SPRITES, SKELETON_KING_SPRITES, BLUE_PROJECTILE, OVERWORLD_BG, PAUSE_MENU, MENU_SCREEN,
+            INSTRUCTIONS_SCREEN, DEATHSCREEN, WINSCREEN, PAUSE_SOUND_BUTTONS, PAUSE_BUTTONS, MENU_BUTTONS, ENDBUTTONS,
+            WORLD1_SPRITES, WORLD1_BG, WORLD1_BG_MYST, WORLD1_BG_ROCKS);
+
+    /**
+     * Every image that has been loaded (already in the screen's format) by its file name, so
+     * each file is only read once no matter how many times it is asked for
+     */
+    private static final Map<String, BufferedImage> spriteCache = new ConcurrentHashMap<>();
+    /**
+     * Every level data image that has been read (exactly as stored) by its file name
      */
-    private static final int SKELETON_GREEN_VALUE = 50;
+    private static final Map<String, BufferedImage> rawImageCache = new ConcurrentHashMap<>();
     /**
-     * this is the green value used to determine which tiles have Skeleton King on in from the
-     * RGB level data
+     * Every font that has been loaded by its file name. The fonts are resized with deriveFont
+     * so the file only has to be read once.
      */
-    private static final int SKELETON_KING_GREEN_VALUE = 51;
+    private static final Map<String, Font> fontCache = new ConcurrentHashMap<>();
 
     /**
-     * Returns the specified sprite atlas for use in drawing the correct image to the screen
+     * Returns the specified sprite atlas for use in drawing the correct image to the screen.
+     * The image is converted to the screen's format so it can be drawn quickly.
      * 
      * @param filename - The name of the sprite sheet that is requested
      * @return - The specified image as a variable
      */
     public static BufferedImage getSpriteSheet(String filename) {
+        BufferedImage img = spriteCache.get(filename);
+        if (img == null) {
+            img = toCompatibleImage(decodeImage(filename));
+            // if another thread loaded it at the same time, use theirs so there is only 1 copy
+            if (img != null) {
+                final BufferedImage other = spriteCache.putIfAbsent(filename, img);
+                img = other == null ? img : other;
+            }
+        }
+        return img;
+    }
+
+    /**
+     * This drops a sprite sheet from the cache, so it can be freed once nothing else is using
+     * it. The next time it is asked for it will be read from the file again.
+     * 
+     * @param filename - the path of the sprite sheet
+     */
+    public static void unloadSpriteSheet(String filename) {
+        spriteCache.remove(filename);
+    }
+
+    /**
+     * Returns the RGB map of a level exactly as it is stored, so the colors can be read
+     * without being changed.
+     * 
+     * @param level - The path to the file containing the RGB data map for the specific level.
+     * @return the RGB map image, or null if it couldn't be read
+     */
+    public static BufferedImage getLevelImage(String level) {
+        return readImage(level);
+    }
+
+    /**
+     * This is a helper method that reads an image file exactly as it is stored. This is used
+     * for the level data since those images are only read, never drawn.
+     * 
+     * @param filename - The name of the image file that is requested
+     * @return the image from the file, or null if it couldn't be read
+     */
+    private static BufferedImage readImage(String filename) {
+        BufferedImage img = rawImageCache.get(filename);
+        if (img == null) {
+            img = decodeImage(filename);
+            if (img != null) {
+                final BufferedImage other = rawImageCache.putIfAbsent(filename, img);
+                img = other == null ? img : other;
+            }
+        }
+        return img;
+    }
+
+    /**
+     * This is a helper method that reads and decodes an image file, without using the caches
+     * 
+     * @param filename - The name of the image file that is requested
+     * @return the image from the file, or null if it couldn't be read
+     */
+    private static BufferedImage decodeImage(String filename) {
         // create it here so it can be returned
         BufferedImage img = null;
         // try with resources so it automatically closes
@@ -197,31 +267,137 @@ public class LoadSave {
         return img;
     }
 
+    /**
+     * Creates a new, empty (transparent) image that is in the same format as the screen. Images
+     * in the screen's format can be drawn much faster since they don't have to be converted
+     * each time they are drawn. If there is no screen, a regular ARGB image is made instead.
+     * 
+     * @param width  - how wide the image should be in pixels
+     * @param height - how tall the image should be in pixels
+     * @return the new empty image
+     */
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Copies an image into the screen's format so it doesn't have to be converted every time
+     * it is drawn.
+     * 
+     * @param img - the image to copy
+     * @return a copy of the image in the screen's format, or null if img was null
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage img) {
+        if (img == null) {
+            return null;
+        }
+        return scaleImage(img, img.getWidth(), img.getHeight());
+    }
+
+    /**
+     * Makes a copy of an image that is stretched to a new size. The copy is in the screen's
+     * format, so it can be drawn 1:1 without any scaling when the game is running.
+     * 
+     * @param img    - the image to copy
+     * @param width  - how wide the copy should be
+     * @param height - how tall the copy should be
+     * @return the scaled copy of the image
+     */
+    public static BufferedImage scaleImage(BufferedImage img, int width, int height) {
+        final BufferedImage scaled = createCompatibleImage(width, height);
+        final Graphics2D g2D = scaled.createGraphics();
+        g2D.drawImage(img, 0, 0, width, height, null);
+        g2D.dispose();
+        return scaled;
+    }
+
+    /**
+     * Makes a copy of an image that is mirrored horizontally, so a sprite facing right will
+     * face left. This is done once when loading so sprites don't have to be drawn with a
+     * negative width.
+     * 
+     * @param img - the image to mirror
+     * @return the mirrored copy of the image
+     */
+    public static BufferedImage flipImage(BufferedImage img) {
+        final BufferedImage flipped = createCompatibleImage(img.getWidth(), img.getHeight());
+        final Graphics2D g2D = flipped.createGraphics();
+        // drawing with a negative width from the right edge mirrors the image
+        g2D.drawImage(img, img.getWidth(), 0, -img.getWidth(), img.getHeight(), null);
+        g2D.dispose();
+        return flipped;
+    }
+
+    /**
+     * Cuts a sprite sheet up into each of its frames and scales every frame to the size it is
+     * drawn in the game.
+     * 
+     * @param sheet       - the sprite sheet where every row is an animation
+     * @param rows        - how many rows (animations) to cut out
+     * @param columns     - how many columns (frames) to cut out of each row
+     * @param frameWidth  - how wide a frame is on the sprite sheet
+     * @param frameHeight - how tall a frame is on the sprite sheet
+     * @param drawWidth   - how wide a frame is drawn in the game
+     * @param drawHeight  - how tall a frame is drawn in the game
+     * @return a 2D array of frames, where [row][column] is the frame from that spot in the
+     *         sheet
+     */
+    public static BufferedImage[][] getScaledFrames(BufferedImage sheet, int rows, int columns, int frameWidth,
+            int frameHeight, int drawWidth, int drawHeight) {
+        final BufferedImage[][] frames = new BufferedImage[rows][columns];
+        for (int j = 0; j < rows; j++) {
+            for (int i = 0; i < columns; i++) {
+                frames[j][i] = scaleImage(
+                        sheet.getSubimage(i * frameWidth, j * frameHeight, frameWidth, frameHeight), drawWidth,
+                        drawHeight);
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Makes a mirrored copy of every image in an array
+     * 
+     * @param imgs - the images to mirror
+     * @return an array of the same size where each image is mirrored
+     */
+    public static BufferedImage[] flipImages(BufferedImage[] imgs) {
+        final BufferedImage[] flipped = new BufferedImage[imgs.length];
+        for (int i = 0; i < imgs.length; i++) {
+            flipped[i] = flipImage(imgs[i]);
+        }
+        return flipped;
+    }
+
+    /**
+     * Makes a mirrored copy of every frame in a 2D array of frames
+     * 
+     * @param frames - the frames to mirror
+     * @return a 2D array of the same size where each frame is mirrored
+     */
+    public static BufferedImage[][] flipImages(BufferedImage[][] frames) {
+        final BufferedImage[][] flipped = new BufferedImage[frames.length][];
+        for (int j = 0; j < frames.length; j++) {
+            flipped[j] = flipImages(frames[j]);
+        }
+        return flipped;
+    }
+
     /**
      * Uses RGB values to generate a tiled level. Red Value sets the tile, Green Value sets
      * the enemy, Blue value sets the object 50 Green Value = Skeleton 51 Green Value =
-     * Skeleton KING
+     * Skeleton KING. The enemies are kept in the LevelFile, use Level.getSpawns for them.
      * 
      * @param level - The path to the file containing the RGB data map for the specific level.
-     * @return - A 2D array that is representative of tiles making up the level
-     */
-    public static int[][] getLevelData(String level) {
-        // get the image containing the RGB values
-        BufferedImage img = getSpriteSheet(level);
-        // the level data will represent every pixel in the RBG map
-        int[][] lvlData = new int[img.getHeight()][img.getWidth()];
-        // for reach point in the RBG map, assign the value to a
-        for (int j = 0; j < img.getHeight(); j++)
-            for (int i = 0; i < img.getWidth(); i++) {
-                Color color = new Color(img.getRGB(i, j));
-                int value = color.getRed();
-                if (value >= 48) {
-                    value = 0;
-                }
-                lvlData[j][i] = value;
-            }
-        return lvlData;
-
+     * @return - A TileGrid that is representative of tiles making up the level
+     */
+    public static TileGrid getLevelData(String level) {
+        // the tiles and spawns are decoded together in 1 pass over the RGB map
+        return LevelFile.fromImage(readImage(level)).toTileGrid();
     }
 
     /**
@@ -232,6 +408,11 @@ public class LoadSave {
      * @return The loaded Font object.
      */
     public static Font loadFont(String path, float size) {
+        // if the font was already loaded, just resize it
+        final Font cached = fontCache.get(path);
+        if (cached != null) {
+            return cached.deriveFont(size);
+        }
         Font customFont = null;
         try {
             // Load the font file
@@ -243,7 +424,9 @@ public class LoadSave {
                 return new Font("Lucida Handwriting", Font.BOLD, 20);
             }
             // otherwise, load in the Font
-            customFont = Font.createFont(Font.TRUETYPE_FONT, fontFile).deriveFont(size);
+            final Font baseFont = Font.createFont(Font.TRUETYPE_FONT, fontFile);
+            fontCache.putIfAbsent(path, baseFont);
+            customFont = baseFont.deriveFont(size);
         } catch (IOException | FontFormatException e) {
             return new Font("Lucida Handwriting", Font.BOLD, 20);
         }
@@ -251,7 +434,8 @@ public class LoadSave {
     }
 
     /**
-     * This returns an array of the sprites that will be used for Player's Arrows.
+     * This returns an array of the sprites that will be used for Player's Arrows. The sprites
+     * are already scaled to the size the Arrows are drawn at.
      * 
      * @return an array of BufferedImages containing all the sprites
      */
@@ -265,55 +449,12 @@ public class LoadSave {
 
         // get the sprite img at each point above with the Arrow's width and height
         for (int i = 0; i < arrowImgX.length; i++) {
-            arrowSprites[i] = allBlueSprites.getSubimage(arrowImgX[i], arrowImgY,
-                    Constants.ProjectileConstants.ARROW_IMG_WIDTH, Constants.ProjectileConstants.ARROW_IMG_HEIGHT);
+            arrowSprites[i] = scaleImage(
+                    allBlueSprites.getSubimage(arrowImgX[i], arrowImgY, Constants.ProjectileConstants.ARROW_IMG_WIDTH,
+                            Constants.ProjectileConstants.ARROW_IMG_HEIGHT),
+                    Constants.ProjectileConstants.ARROW_WIDTH, Constants.ProjectileConstants.ARROW_HEIGHT);
         }
         return arrowSprites;
     }
 
-    /**
-     * This method gets all of the Skeletons contained in a specific level inside of a List
-     * 
-     * @param level - the level to get the Skeletons from
-     * @return a List containing all Skeletons from that level
-     */
-    public static List<Skeleton> getSkeletons(String level) {
-        List<Skeleton> skelList = new ArrayList<>();
-        BufferedImage img = getSpriteSheet(level);
-        // for reach point in the RBG map, assign the value to a
-        for (int j = 0; j < img.getHeight(); j++)
-            for (int i = 0; i < img.getWidth(); i++) {
-                Color color = new Color(img.getRGB(i, j));
-                int value = color.getGreen();
-                if (value == SKELETON_GREEN_VALUE) {
-                    skelList.add(new Skeleton(i * Game.TILES_SIZE, j * Game.TILES_SIZE - SKELETON_HITBOX_HEIGHT,
-                            SKELETON_HITBOX_WIDTH, SKELETON_HITBOX_HEIGHT));
-                }
-            }
-        return skelList;
-    }
-
-    /**
-     * This method gets all of the Skeleton King contained in a specific level inside of a
-     * List
-     * 
-     * @param level - the level to get the Skeleton King from
-     * @return a List containing all Skeleton Kings from that level
-     */
-    public static List<SkeletonKing> getSkeletonKings(String level) {
-        List<SkeletonKing> skelList = new ArrayList<>();
-        BufferedImage img = getSpriteSheet(level);
-        // for reach point in the RBG map, assign the value to a
-        for (int j = 0; j < img.getHeight(); j++)
-            for (int i = 0; i < img.getWidth(); i++) {
-                Color color = new Color(img.getRGB(i, j));
-                int value = color.getGreen();
-                if (value == SKELETON_KING_GREEN_VALUE) {
-                    skelList.add(new SkeletonKing(i * Game.TILES_SIZE, j * Game.TILES_SIZE, SKELETON_KING_HITBOX_WIDTH,
-                            SKELETON_KING_HITBOX_HEIGHT));
-                }
-            }
-        return skelList;
-    }
-
 }
\ No newline at end of file
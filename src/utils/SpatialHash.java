@@ -0,0 +1,188 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * This is a uniform grid that is stored as a hash table, used to quickly find things that
+ * are close to an area. The world is split into square cells, and every rectangle that is
+ * inserted is put into each cell that it overlaps. A query only looks at the cells that
+ * overlap the area being checked, so things far away are never looked at.<br>
+ * <br>
+ * Each cell is hashed into one of a fixed amount of buckets, so the world can be any size.
+ * Two cells may share a bucket, which only means a query may return some extra candidates,
+ * so the results should still be checked exactly. Everything is stored in int arrays that
+ * are reused, so clearing and filling the grid every update doesn't allocate.
+ */
+public class SpatialHash {
+    /**
+     * The value used for "no entry" in the linked lists
+     */
+    private static final int NONE = -1;
+
+    /**
+     * How many pixels wide and tall each cell is
+     */
+    private final int cellSize;
+    /**
+     * One less than the amount of buckets, the amount of buckets is a power of 2 so this can
+     * be used to wrap the hash
+     */
+    private final int bucketMask;
+    /**
+     * The first entry in each bucket, or NONE if the bucket is empty
+     */
+    private final int[] head;
+    /**
+     * The next entry in the same bucket for each entry, or NONE if it is the last one
+     */
+    private int[] next = new int[64];
+    /**
+     * The id that was inserted for each entry
+     */
+    private int[] ids = new int[64];
+    /**
+     * How many entries are being used
+     */
+    private int entryCount = 0;
+    /**
+     * The last query that returned each id, used so an id in multiple cells is only returned
+     * once per query
+     */
+    private int[] stamps = new int[64];
+    /**
+     * The number of the current query, it goes up by 1 each query
+     */
+    private int queryNumber = 0;
+
+    /**
+     * Constructor for the SpatialHash
+     * 
+     * @param cellSize    - how many pixels wide and tall each cell is
+     * @param bucketCount - how many buckets the cells are hashed into, this is rounded up to a
+     *                    power of 2
+     */
+    public SpatialHash(int cellSize, int bucketCount) {
+        this.cellSize = cellSize;
+        final int buckets = Integer.highestOneBit(Math.max(1, bucketCount - 1)) << 1;
+        this.bucketMask = buckets - 1;
+        this.head = new int[buckets];
+        Arrays.fill(head, NONE);
+    }
+
+    /**
+     * This removes everything from the grid. The arrays are kept so they can be filled again.
+     */
+    public void clear() {
+        Arrays.fill(head, NONE);
+        entryCount = 0;
+    }
+
+    /**
+     * This inserts a rectangle into every cell that it overlaps
+     * 
+     * @param id     - the id to return from queries, must be 0 or more
+     * @param x      - the left side of the rectangle
+     * @param y      - the top side of the rectangle
+     * @param width  - how wide the rectangle is
+     * @param height - how tall the rectangle is
+     */
+    public void insert(int id, float x, float y, float width, float height) {
+        if (id >= stamps.length) {
+            stamps = Arrays.copyOf(stamps, Math.max(id + 1, stamps.length * 2));
+        }
+        final int firstCol = cell(x);
+        final int lastCol = cell(x + width);
+        final int firstRow = cell(y);
+        final int lastRow = cell(y + height);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                // make more room if every entry is used
+                if (entryCount == ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                    next = Arrays.copyOf(next, next.length * 2);
+                }
+                // add the entry to the front of the bucket's list
+                final int bucket = bucket(col, row);
+                ids[entryCount] = id;
+                next[entryCount] = head[bucket];
+                head[bucket] = entryCount;
+                entryCount++;
+            }
+        }
+    }
+
+    /**
+     * This finds every id that was inserted into a cell that the area overlaps. Each id is
+     * only returned once, but it may not actually overlap the area, so it should be checked.
+     * 
+     * @param x       - the left side of the area
+     * @param y       - the top side of the area
+     * @param width   - how wide the area is
+     * @param height  - how tall the area is
+     * @param results - where the ids are put, if there are more ids than fit the rest are
+     *                left out
+     * @return how many ids were put in results
+     */
+    public int query(float x, float y, float width, float height, int[] results) {
+        queryNumber++;
+        // the stamps would be wrong once the counter wraps around, so start them over
+        if (queryNumber == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            queryNumber = 1;
+        }
+        int found = 0;
+        final int firstCol = cell(x);
+        final int lastCol = cell(x + width);
+        final int firstRow = cell(y);
+        final int lastRow = cell(y + height);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                for (int e = head[bucket(col, row)]; e != NONE; e = next[e]) {
+                    final int id = ids[e];
+                    // skip ids that were already found in another cell
+                    if (stamps[id] == queryNumber) {
+                        continue;
+                    }
+                    stamps[id] = queryNumber;
+                    if (found == results.length) {
+                        return found;
+                    }
+                    results[found++] = id;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * This is a helper method that finds which cell a coordinate is in
+     * 
+     * @param coordinate - the x or y coordinate in pixels
+     * @return the column or row of the cell
+     */
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * This is a helper method that hashes a cell into a bucket
+     * 
+     * @param col - the column of the cell
+     * @param row - the row of the cell
+     * @return the index of the bucket
+     */
+    private int bucket(int col, int row) {
+        // large primes spread neighbouring cells across different buckets
+        return ((col * 73856093) ^ (row * 19349663)) & bucketMask;
+    }
+
+    /**
+     * Getter for how many entries are in the grid, a rectangle that overlaps multiple cells
+     * has 1 entry for each cell
+     * 
+     * @return the amount of entries
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+}
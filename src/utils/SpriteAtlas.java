@@ -0,0 +1,393 @@
+package utils;
+
+import static utils.Constants.EnemyConstants.SKELETON_HEIGHT;
+import static utils.Constants.EnemyConstants.SKELETON_HEIGHT_DEFAULT;
+import static utils.Constants.EnemyConstants.SKELETON_KING_HEIGHT;
+import static utils.Constants.EnemyConstants.SKELETON_KING_WIDTH;
+import static utils.Constants.EnemyConstants.SKELETON_WIDTH;
+import static utils.Constants.EnemyConstants.SKELETON_WIDTH_DEFAULT;
+import static utils.Constants.PlayerStates.IMAGE_HEIGHT;
+import static utils.Constants.PlayerStates.IMAGE_WIDTH;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import main.Game;
+
+/**
+ * This class holds every animation frame in the game inside of a few large images (pages).
+ * Each frame is found by its sheet, state, and frame, and all of the renderers draw
+ * through the draw method here instead of keeping their own arrays of images. Frames are
+ * scaled and mirrored when they are packed, and the see-through border around each frame
+ * is cut off so the pages take up less memory.
+ */
+public class SpriteAtlas {
+    // SHEETS
+    /**
+     * The Player facing right. States are the PlayerStates actions.
+     */
+    public static final int PLAYER = 0;
+    /**
+     * The Player facing left. States are the PlayerStates actions.
+     */
+    public static final int PLAYER_LEFT = 1;
+    /**
+     * The Skeleton facing right. States are the EnemyConstants states.
+     */
+    public static final int SKELETON = 2;
+    /**
+     * The Skeleton facing left. States are the EnemyConstants states.
+     */
+    public static final int SKELETON_LEFT = 3;
+    /**
+     * The Skeleton King facing right. States are the EnemyConstants states.
+     */
+    public static final int SKELETON_KING = 4;
+    /**
+     * The Skeleton King facing left. States are the EnemyConstants states.
+     */
+    public static final int SKELETON_KING_LEFT = 5;
+    /**
+     * The Arrow facing right. There is only state 0.
+     */
+    public static final int ARROW = 6;
+    /**
+     * The Arrow facing left. There is only state 0.
+     */
+    public static final int ARROW_LEFT = 7;
+    /**
+     * How many sheets there are, every sheet above must be less than this
+     */
+    private static final int SHEET_COUNT = 8;
+
+    /**
+     * How wide and tall each page is. 2048 is small enough for any graphics card to hold.
+     */
+    public static final int PAGE_SIZE = 2048;
+    /**
+     * How many pixels to leave between frames so that they don't bleed into each other
+     */
+    private static final int PADDING = 1;
+
+    /**
+     * The pages that all of the frames are packed into
+     */
+    private static volatile BufferedImage[] pages;
+    /**
+     * Where each sheet's first frame is in the frame arrays below
+     */
+    private static final int[] sheetStart = new int[SHEET_COUNT];
+    /**
+     * How many frames are in each state (row) of each sheet
+     */
+    private static final int[] sheetColumns = new int[SHEET_COUNT];
+    /**
+     * How many states (rows) each sheet has
+     */
+    private static final int[] sheetRows = new int[SHEET_COUNT];
+    /**
+     * Which page each frame is on, -1 if the frame is completely see-through
+     */
+    private static int[] framePage;
+    /**
+     * Where each frame is on its page (left, top, width, height)
+     */
+    private static int[] frameX, frameY, frameW, frameH;
+    /**
+     * How far each frame is from the left and top of the original frame, since the
+     * see-through border was cut off
+     */
+    private static int[] frameOffsetX, frameOffsetY;
+
+    // INSTRUMENTATION
+    /**
+     * How many frames have been drawn since the stats were reset
+     */
+    private static long drawCount = 0;
+    /**
+     * How many times a draw used a different page than the draw before it
+     */
+    private static long pageSwitches = 0;
+    /**
+     * The page that was drawn from last
+     */
+    private static int lastPage = -1;
+
+    /**
+     * This will draw a single frame at the given spot on the screen. The spot is the top-left
+     * corner of the whole (uncut) frame, so the frame is drawn in the same place as the
+     * original image would have been.
+     * 
+     * @param g     - the Graphics to draw on
+     * @param sheet - which sheet the frame is from (one of the sheet constants)
+     * @param state - the state (row) of the frame
+     * @param frame - the frame (column) in that state
+     * @param x     - the x coordinate of the left of the frame
+     * @param y     - the y coordinate of the top of the frame
+     */
+    public static void draw(Graphics g, int sheet, int state, int frame, int x, int y) {
+        // only lock to load the first time
+        if (pages == null) {
+            load();
+        }
+        final int index = indexOf(sheet, state, frame);
+        final int page = framePage[index];
+        // completely see-through frames have nothing to draw
+        if (page < 0) {
+            return;
+        }
+        final int dx = x + frameOffsetX[index];
+        final int dy = y + frameOffsetY[index];
+        final int sx = frameX[index];
+        final int sy = frameY[index];
+        // this copies the frame's area from the page without scaling it
+        g.drawImage(pages[page], dx, dy, dx + frameW[index], dy + frameH[index], sx, sy, sx + frameW[index],
+                sy + frameH[index], null);
+
+        drawCount++;
+        if (page != lastPage) {
+            pageSwitches++;
+            lastPage = page;
+        }
+    }
+
+    /**
+     * Getter for how many frames are in each state of a sheet
+     * 
+     * @param sheet - which sheet to check (one of the sheet constants)
+     * @return the amount of frames in each state of that sheet
+     */
+    public static int getFrameCount(int sheet) {
+        load();
+        return sheetColumns[sheet];
+    }
+
+    /**
+     * This is a helper method that finds where a frame is in the frame arrays
+     * 
+     * @param sheet - which sheet the frame is from
+     * @param state - the state (row) of the frame
+     * @param frame - the frame (column) in that state
+     * @return the index of the frame in the frame arrays
+     */
+    private static int indexOf(int sheet, int state, int frame) {
+        if (state < 0 || state >= sheetRows[sheet] || frame < 0 || frame >= sheetColumns[sheet]) {
+            throw new IndexOutOfBoundsException(
+                    "No frame " + frame + " in state " + state + " of sprite sheet " + sheet);
+        }
+        return sheetStart[sheet] + state * sheetColumns[sheet] + frame;
+    }
+
+    /**
+     * This will load every sheet and pack them into the pages. It only does this the first
+     * time it is called, after that it does nothing.
+     */
+    public static synchronized void load() {
+        if (pages != null) {
+            return;
+        }
+        // load and scale every sheet, the mirrored sheets are made from the ones facing right
+        final BufferedImage[][][] sheets = new BufferedImage[SHEET_COUNT][][];
+        sheets[PLAYER] = LoadSave.getScaledFrames(LoadSave.getSpriteSheet(LoadSave.PLAYER_SPRITES), 10, 20,
+                IMAGE_WIDTH, IMAGE_HEIGHT, (int) (IMAGE_WIDTH * Game.SCALE), (int) (IMAGE_HEIGHT * Game.SCALE));
+        sheets[PLAYER_LEFT] = LoadSave.flipImages(sheets[PLAYER]);
+        sheets[SKELETON] = LoadSave.getScaledFrames(LoadSave.getSpriteSheet(LoadSave.SKELETON_SPRITES), 6, 18,
+                SKELETON_WIDTH_DEFAULT, SKELETON_HEIGHT_DEFAULT, SKELETON_WIDTH, SKELETON_HEIGHT);
+        sheets[SKELETON_LEFT] = LoadSave.flipImages(sheets[SKELETON]);
+        sheets[SKELETON_KING] = LoadSave.getScaledFrames(LoadSave.getSpriteSheet(LoadSave.SKELETON_KING_SPRITES), 6,
+                18, SKELETON_WIDTH_DEFAULT, SKELETON_HEIGHT_DEFAULT, SKELETON_KING_WIDTH, SKELETON_KING_HEIGHT);
+        sheets[SKELETON_KING_LEFT] = LoadSave.flipImages(sheets[SKELETON_KING]);
+        sheets[ARROW] = new BufferedImage[][] { LoadSave.getArrowImgs() };
+        sheets[ARROW_LEFT] = LoadSave.flipImages(sheets[ARROW]);
+        // the level tiles are not in the atlas, each world's tiles are in a Tileset instead
+
+        pack(sheets);
+    }
+
+    /**
+     * This is a helper method that cuts the see-through border off of every frame and packs
+     * them into pages. Frames are placed left to right in rows (shelves), and a new shelf is
+     * started when a frame doesn't fit. Taller frames are placed first so the shelves waste
+     * less space.
+     * 
+     * @param sheets - every sheet's frames, indexed by [sheet][state][frame]
+     */
+    private static void pack(BufferedImage[][][] sheets) {
+        // give every frame its index
+        int total = 0;
+        for (int s = 0; s < SHEET_COUNT; s++) {
+            sheetStart[s] = total;
+            sheetRows[s] = sheets[s].length;
+            sheetColumns[s] = sheets[s][0].length;
+            total += sheetRows[s] * sheetColumns[s];
+        }
+        final BufferedImage[] frames = new BufferedImage[total];
+        framePage = new int[total];
+        frameX = new int[total];
+        frameY = new int[total];
+        frameW = new int[total];
+        frameH = new int[total];
+        frameOffsetX = new int[total];
+        frameOffsetY = new int[total];
+
+        // cut off the see-through border of each frame
+        for (int s = 0; s < SHEET_COUNT; s++) {
+            for (int j = 0; j < sheetRows[s]; j++) {
+                for (int i = 0; i < sheetColumns[s]; i++) {
+                    final int index = sheetStart[s] + j * sheetColumns[s] + i;
+                    frames[index] = sheets[s][j][i];
+                    trim(index, frames[index]);
+                }
+            }
+        }
+
+        // sort the frames tallest first
+        final Integer[] order = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(frameH[b], frameH[a]));
+
+        // place every frame on a shelf
+        int page = 0, shelfX = 0, shelfY = 0, shelfHeight = 0;
+        for (int index : order) {
+            // see-through frames aren't placed on a page
+            if (frameW[index] == 0) {
+                framePage[index] = -1;
+                continue;
+            }
+            // start a new shelf if it doesn't fit on this one
+            if (shelfX + frameW[index] > PAGE_SIZE) {
+                shelfX = 0;
+                shelfY += shelfHeight + PADDING;
+                shelfHeight = 0;
+            }
+            // start a new page if it doesn't fit on this one
+            if (shelfY + frameH[index] > PAGE_SIZE) {
+                page++;
+                shelfX = 0;
+                shelfY = 0;
+                shelfHeight = 0;
+            }
+            framePage[index] = page;
+            frameX[index] = shelfX;
+            frameY[index] = shelfY;
+            shelfX += frameW[index] + PADDING;
+            shelfHeight = Math.max(shelfHeight, frameH[index]);
+        }
+
+        // the last page only needs to be as tall as what is on it
+        final int lastPageHeight = shelfY + shelfHeight;
+        final BufferedImage[] packed = new BufferedImage[page + 1];
+        final Graphics2D[] g2Ds = new Graphics2D[packed.length];
+        for (int p = 0; p < packed.length; p++) {
+            packed[p] = LoadSave.createCompatibleImage(PAGE_SIZE, p == page ? Math.max(1, lastPageHeight) : PAGE_SIZE);
+            g2Ds[p] = packed[p].createGraphics();
+        }
+        // copy every frame onto its page
+        for (int index = 0; index < total; index++) {
+            if (framePage[index] < 0) {
+                continue;
+            }
+            final int sx = frameOffsetX[index];
+            final int sy = frameOffsetY[index];
+            final int dx = frameX[index];
+            final int dy = frameY[index];
+            g2Ds[framePage[index]].drawImage(frames[index], dx, dy, dx + frameW[index], dy + frameH[index], sx, sy,
+                    sx + frameW[index], sy + frameH[index], null);
+        }
+        for (Graphics2D g2D : g2Ds) {
+            g2D.dispose();
+        }
+        pages = packed;
+    }
+
+    /**
+     * This is a helper method that finds the smallest box around the pixels of a frame that
+     * can be seen, and saves it as the frame's offset and size.
+     * 
+     * @param index - the index of the frame in the frame arrays
+     * @param img   - the frame's image
+     */
+    private static void trim(int index, BufferedImage img) {
+        final int w = img.getWidth();
+        final int h = img.getHeight();
+        final int[] argb = img.getRGB(0, 0, w, h, null, 0, w);
+        int left = w, right = -1, top = h, bottom = -1;
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                // the top byte is the alpha, 0 means it can't be seen
+                if ((argb[y * w + x] >>> 24) != 0) {
+                    left = Math.min(left, x);
+                    right = Math.max(right, x);
+                    top = Math.min(top, y);
+                    bottom = Math.max(bottom, y);
+                }
+            }
+        }
+        // nothing can be seen in this frame
+        if (right < 0) {
+            frameW[index] = 0;
+            frameH[index] = 0;
+            return;
+        }
+        frameOffsetX[index] = left;
+        frameOffsetY[index] = top;
+        frameW[index] = right - left + 1;
+        frameH[index] = bottom - top + 1;
+    }
+
+    /**
+     * Getter for how many pages the frames are packed into
+     * 
+     * @return the amount of pages
+     */
+    public static int getPageCount() {
+        load();
+        return pages.length;
+    }
+
+    /**
+     * Getter for about how much memory all of the pages use, assuming 4 bytes per pixel
+     * 
+     * @return the amount of bytes used by the pages
+     */
+    public static long getMemoryBytes() {
+        load();
+        long bytes = 0;
+        for (BufferedImage page : pages) {
+            bytes += 4L * page.getWidth() * page.getHeight();
+        }
+        return bytes;
+    }
+
+    /**
+     * Getter for how many frames have been drawn since the stats were last reset
+     * 
+     * @return the amount of frames drawn
+     */
+    public static long getDrawCount() {
+        return drawCount;
+    }
+
+    /**
+     * Getter for how many times drawing had to switch to a different page since the stats
+     * were last reset
+     * 
+     * @return the amount of page switches
+     */
+    public static long getPageSwitches() {
+        return pageSwitches;
+    }
+
+    /**
+     * This sets the draw count and the page switches back to 0
+     */
+    public static void resetStats() {
+        drawCount = 0;
+        pageSwitches = 0;
+        lastPage = -1;
+    }
+}
@@ -0,0 +1,90 @@
+package utils;
+
+/**
+ * This holds where a raycast hit a solid tile. The same TileHit can be passed into each
+ * raycast so nothing new is made every update.
+ */
+public class TileHit {
+    /**
+     * The x-coordinate of where the ray hit the tile
+     */
+    private float x;
+    /**
+     * The y-coordinate of where the ray hit the tile
+     */
+    private float y;
+    /**
+     * The column of the tile that was hit
+     */
+    private int tileX;
+    /**
+     * The row of the tile that was hit
+     */
+    private int tileY;
+    /**
+     * How far along the ray the hit was, 0 is the start and 1 is the end
+     */
+    private float fraction;
+
+    /**
+     * This saves a hit, it is used by the raycast in HelperMethods
+     * 
+     * @param x        - the x-coordinate of the hit
+     * @param y        - the y-coordinate of the hit
+     * @param tileX    - the column of the tile that was hit
+     * @param tileY    - the row of the tile that was hit
+     * @param fraction - how far along the ray the hit was, from 0 to 1
+     */
+    void set(float x, float y, int tileX, int tileY, float fraction) {
+        this.x = x;
+        this.y = y;
+        this.tileX = tileX;
+        this.tileY = tileY;
+        this.fraction = fraction;
+    }
+
+    /**
+     * Getter for the x-coordinate of the hit
+     * 
+     * @return the x-coordinate where the ray hit the tile
+     */
+    public float getX() {
+        return x;
+    }
+
+    /**
+     * Getter for the y-coordinate of the hit
+     * 
+     * @return the y-coordinate where the ray hit the tile
+     */
+    public float getY() {
+        return y;
+    }
+
+    /**
+     * Getter for the column of the tile that was hit
+     * 
+     * @return the x index of the tile in the level data
+     */
+    public int getTileX() {
+        return tileX;
+    }
+
+    /**
+     * Getter for the row of the tile that was hit
+     * 
+     * @return the y index of the tile in the level data
+     */
+    public int getTileY() {
+        return tileY;
+    }
+
+    /**
+     * Getter for how far along the ray the hit was
+     * 
+     * @return a number from 0 (the start of the ray) to 1 (the end of the ray)
+     */
+    public float getFraction() {
+        return fraction;
+    }
+}